@@ -41,9 +41,7 @@ public class AdminUserInitializer implements ApplicationListener<ApplicationRead
             return;
         }
 
-        User userExample = User.builder().email(email).build();
-
-        userRepository.findOne(userExample)
+        userRepository.findByEmail(email)
                 .switchIfEmpty(Mono.defer(() -> {
                     logger.info("Default {} not found. Creating one...", roleName);
                     User adminToCreate = User.builder()
@@ -2,8 +2,12 @@ package co.com.pragma.config;
 
 import co.com.pragma.model.logs.gateways.LoggerPort;
 import co.com.pragma.model.password.gateways.PasswordEncoderPort;
+import co.com.pragma.model.queue.gateways.SQSPort;
+import co.com.pragma.model.refreshtoken.gateways.RefreshTokenProviderPort;
+import co.com.pragma.model.refreshtoken.gateways.RefreshTokenRepository;
 import co.com.pragma.model.transaction.gateways.TransactionalPort;
 import co.com.pragma.model.role.gateways.RoleRepository;
+import co.com.pragma.model.task.gateways.BackgroundTaskPort;
 import co.com.pragma.model.user.gateways.UserRepository;
 import org.junit.jupiter.api.Test;
 import org.mockito.Mockito;
@@ -60,5 +64,25 @@ class UseCasesConfigTest {
         public TransactionalPort transactionalPort() {
             return Mockito.mock(TransactionalPort.class);
         }
+
+        @Bean
+        public SQSPort sqsPort() {
+            return Mockito.mock(SQSPort.class);
+        }
+
+        @Bean
+        public RefreshTokenRepository refreshTokenRepository() {
+            return Mockito.mock(RefreshTokenRepository.class);
+        }
+
+        @Bean
+        public RefreshTokenProviderPort refreshTokenProviderPort() {
+            return Mockito.mock(RefreshTokenProviderPort.class);
+        }
+
+        @Bean
+        public BackgroundTaskPort backgroundTaskPort() {
+            return Mockito.mock(BackgroundTaskPort.class);
+        }
     }
 }
\ No newline at end of file
@@ -24,6 +24,7 @@ import java.util.List;
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
 import static org.mockito.Mockito.*;
 
 @ExtendWith(MockitoExtension.class)
@@ -65,9 +66,8 @@ class AdminUserInitializerTest {
 
             User existingSuper = User.builder().userId(0).email("super@crediya.com").build();
             User existingAdmin = User.builder().userId(1).email("admin@crediya.com").build();
-            when(userRepository.findOne(any(User.class)))
-                    .thenReturn(Mono.just(existingSuper))
-                    .thenReturn(Mono.just(existingAdmin));
+            when(userRepository.findByEmail("super@crediya.com")).thenReturn(Mono.just(existingSuper));
+            when(userRepository.findByEmail("admin@crediya.com")).thenReturn(Mono.just(existingAdmin));
 
             adminUserInitializer.onApplicationEvent(mockEvent);
 
@@ -88,7 +88,7 @@ class AdminUserInitializerTest {
             when(superProps.getEmail()).thenReturn(superEmail);
             when(superProps.getPassword()).thenReturn(superPassword);
 
-            when(userRepository.findOne(any(User.class))).thenReturn(Mono.empty());
+            when(userRepository.findByEmail(anyString())).thenReturn(Mono.empty());
 
             User createdSuperUser = userBuilder.userId(1).email(superEmail).build();
             User createdAdminUser = userBuilder.userId(2).email(adminEmail).build();
@@ -133,7 +133,7 @@ class AdminUserInitializerTest {
             when(adminProps.getEmail()).thenReturn("admin@crediya.com");
             when(adminProps.getPassword()).thenReturn("password");
 
-            when(userRepository.findOne(any(User.class))).thenReturn(Mono.empty());
+            when(userRepository.findByEmail(anyString())).thenReturn(Mono.empty());
 
             RuntimeException dbError = new RuntimeException("DB connection failed");
             when(userUseCase.saveUser(any(User.class))).thenReturn(Mono.error(dbError));
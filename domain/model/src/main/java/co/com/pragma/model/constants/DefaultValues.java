@@ -1,5 +1,6 @@
 package co.com.pragma.model.constants;
 
+import co.com.pragma.model.user.filters.MatchMode;
 import lombok.AccessLevel;
 import lombok.NoArgsConstructor;
 
@@ -11,8 +12,6 @@ public class DefaultValues {
     public static final String SUPER_USER_ROLE_NAME = "SUPER_USER";
     public static final String ADMIN_ROLE_NAME = "ADMIN";
 
-    public static final boolean ID_NUMBER_UNIQUE = true;
-
     public static final String DEFAULT_ROLE_NAME = "CLIENTE";
     public static final int DEFAULT_ROLE_ID = 3;
     public static final String DEFAULT_ROLE_DESCRIPTION = "Cliente Solicitante";
@@ -30,6 +29,16 @@ public class DefaultValues {
     public static final int MAX_LENGTH_PASSWORD = 255;
     public static final int MIN_LENGTH_PASSWORD = 8;
 
+    public static final int DEFAULT_PAGE_SIZE = 20;
+    public static final int MAX_PAGE_SIZE = 100;
+
+    public static final int IMPORT_CHUNK_SIZE = 500;
+    public static final int IMPORT_HASHING_CONCURRENCY = 4;
+
+    public static final MatchMode ID_NUMBER_MATCH_MODE = MatchMode.PREFIX;
+    public static final MatchMode EMAIL_MATCH_MODE = MatchMode.PREFIX;
+    public static final MatchMode NAME_MATCH_MODE = MatchMode.CONTAINS;
+
     public static final String NAME_FIELD = "Name";
     public static final String LAST_NAME_FIELD = "Last Name";
     public static final String EMAIL_FIELD = "Email";
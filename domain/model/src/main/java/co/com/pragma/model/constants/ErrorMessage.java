@@ -8,6 +8,12 @@ public final class ErrorMessage {
 
     public static final String FILTER_IS_EMPTY_CODE = "F001";
     public static final String FILTER_IS_EMPTY = "Filter is empty.";
+    public static final String INVALID_CURSOR_CODE = "F002";
+    public static final String INVALID_CURSOR = "Invalid pagination cursor.";
+    public static final String INVALID_MATCH_MODE_CODE = "F003";
+    public static final String INVALID_MATCH_MODE = "Invalid match mode.";
+    public static final String INVALID_PAGE_SIZE_CODE = "F004";
+    public static final String INVALID_PAGE_SIZE = "Invalid page size.";
 
     public static final String USER_NOT_FOUND_CODE = "U001";
     public static final String USER_NOT_FOUND = "User not found.";
@@ -54,6 +60,9 @@ public final class ErrorMessage {
     public static final String INVALID_CREDENTIALS_CODE = "IC001";
     public static final String INVALID_CREDENTIALS = "Invalid credentials.";
 
+    public static final String INVALID_REFRESH_TOKEN_CODE = "IC002";
+    public static final String INVALID_REFRESH_TOKEN = "Invalid or expired refresh token.";
+
     public static final String INVALID_KEY_CODE = "K001";
     public static final String INVALID_KEY = "There was an error processing the cryptographic keys.";
 
@@ -62,4 +71,7 @@ public final class ErrorMessage {
 
     public static final String ACCESS_DENIED_CODE = "AD001";
     public static final String ACCESS_DENIED = "Access denied. You do not have the necessary permissions to access this resource.";
+
+    public static final String TOO_MANY_REQUESTS_CODE = "TM001";
+    public static final String TOO_MANY_REQUESTS = "The service is busy right now. Please retry later.";
 }
@@ -7,6 +7,10 @@ import lombok.NoArgsConstructor;
 public class LogMessages {
     public static final String START_SAVING_USER_PROCESS = "Start saving user process";
     public static final String SAVED_USER = "Saved user";
+    public static final String START_IMPORTING_USERS = "Start importing users";
+    public static final String IMPORTED_USERS_CHUNK = "Imported chunk of {} rows, {} users saved";
+    public static final String IMPORTED_USERS_CHUNK_CONFLICT = "Chunk of {} users collided with concurrent registrations, saving them one by one";
+    public static final String ERROR_IMPORTING_USERS = "Error importing users";
     public static final String FINDING_USER_BY_ID_NUMBER = "Finding user by ID number: {}";
     public static final String USER_WITH_ID_NUMBER_FOUND = "User with ID number found: {}";
     public static final String ERROR_FINDING_USER_BY_ID_NUMBER = "Error finding user by ID number: {}";
@@ -20,4 +24,20 @@ public class LogMessages {
     public static final String ERROR_FINDING_USERS = "Error finding users by example";
     public static final String FINDING_USER_EMAILS = "Finding user emails";
     public static final String ERROR_FINDING_USER_EMAILS = "Error finding user emails";
+    public static final String PASSWORD_REHASHED = "Password re-hashed with the current parameters for user ID: {}";
+    public static final String ERROR_REHASHING_PASSWORD = "Error re-hashing password for user ID: {}";
+    public static final String PASSWORD_REHASH_SKIPPED = "Password re-hash skipped for user ID: {}, too many running in the background";
+    public static final String ERROR_RUNNING_BACKGROUND_TASK = "Error running a background task";
+    public static final String BCRYPT_COST_CALIBRATED = "BCrypt cost calibrated to {} ({} ms per hash, budget {} ms)";
+    public static final String REFRESH_TOKEN_REUSE_DETECTED = "Refresh token reuse detected, revoking family {} of user ID: {}";
+    public static final String JWT_SIGNING_KEY_ROTATED = "JWT signing key rotated, active kid: {}, next kid: {}, retiring keys: {}";
+    public static final String CONNECTION_POOL_WARMED_UP = "Connection pool {} warmed up with {} connections in {} ms";
+    public static final String CONNECTION_POOL_WARMUP_FAILED = "Connection pool {} could not be warmed up, connections will be opened on demand";
+    public static final String REPLICA_LAG_CHECK_FAILED = "Replica lag check failed, routing reads to the primary: {}";
+    public static final String REPLICA_OUT_OF_TOLERANCE = "Replica lag above {} s, routing reads to the primary";
+    public static final String REPLICA_BACK_IN_TOLERANCE = "Replica lag back within {} s, routing reads to the replica";
+    public static final String ROLE_CATALOG_LOADED = "Role catalog loaded with {} roles";
+    public static final String ROLE_CATALOG_REFRESH_FAILED = "Role catalog could not be refreshed, lookups fall back to the database";
+    public static final String USER_SEARCH_INDEX_BUILT = "User search index built with {} users in {} ms";
+    public static final String USER_SEARCH_INDEX_BUILD_FAILED = "User search index could not be built, searches fall back to the database";
 }
@@ -0,0 +1,9 @@
+package co.com.pragma.model.exceptions;
+
+import co.com.pragma.model.constants.ErrorMessage;
+
+public class InvalidCursorException extends CustomException {
+    public InvalidCursorException() {
+        super(ErrorMessage.INVALID_CURSOR, ErrorMessage.INVALID_CURSOR_CODE);
+    }
+}
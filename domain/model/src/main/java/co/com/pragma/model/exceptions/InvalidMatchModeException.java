@@ -0,0 +1,9 @@
+package co.com.pragma.model.exceptions;
+
+import co.com.pragma.model.constants.ErrorMessage;
+
+public class InvalidMatchModeException extends CustomException {
+    public InvalidMatchModeException() {
+        super(ErrorMessage.INVALID_MATCH_MODE, ErrorMessage.INVALID_MATCH_MODE_CODE);
+    }
+}
@@ -0,0 +1,9 @@
+package co.com.pragma.model.exceptions;
+
+import co.com.pragma.model.constants.ErrorMessage;
+
+public class InvalidPageSizeException extends CustomException {
+    public InvalidPageSizeException() {
+        super(ErrorMessage.INVALID_PAGE_SIZE, ErrorMessage.INVALID_PAGE_SIZE_CODE);
+    }
+}
@@ -0,0 +1,12 @@
+package co.com.pragma.model.exceptions;
+
+import co.com.pragma.model.constants.ErrorMessage;
+
+import java.net.HttpURLConnection;
+
+public class InvalidRefreshTokenException extends CustomException {
+
+    public InvalidRefreshTokenException() {
+        super(ErrorMessage.INVALID_REFRESH_TOKEN, ErrorMessage.INVALID_REFRESH_TOKEN_CODE, HttpURLConnection.HTTP_UNAUTHORIZED);
+    }
+}
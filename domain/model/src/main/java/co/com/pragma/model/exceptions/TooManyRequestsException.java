@@ -0,0 +1,17 @@
+package co.com.pragma.model.exceptions;
+
+import co.com.pragma.model.constants.ErrorMessage;
+import lombok.Getter;
+
+@Getter
+public class TooManyRequestsException extends CustomException {
+
+    private static final int HTTP_TOO_MANY_REQUESTS = 429;
+
+    private final long retryAfterSeconds;
+
+    public TooManyRequestsException(long retryAfterSeconds) {
+        super(ErrorMessage.TOO_MANY_REQUESTS, ErrorMessage.TOO_MANY_REQUESTS_CODE, HTTP_TOO_MANY_REQUESTS);
+        this.retryAfterSeconds = retryAfterSeconds;
+    }
+}
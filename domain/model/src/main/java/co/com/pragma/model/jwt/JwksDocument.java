@@ -0,0 +1,4 @@
+package co.com.pragma.model.jwt;
+
+public record JwksDocument(byte[] content, String etag, long maxAgeSeconds) {
+}
@@ -1,4 +1,11 @@
 package co.com.pragma.model.jwt;
 
-public record JwtData (String subject, String role, Integer roleId, String name, String idNumber){
-}
\ No newline at end of file
+import java.time.Instant;
+
+public record JwtData (String subject, String role, Integer roleId, String name, String idNumber,
+                       Instant issuedAt, Instant expiresAt, String algorithm){
+
+    public JwtData(String subject, String role, Integer roleId, String name, String idNumber) {
+        this(subject, role, roleId, name, idNumber, null, null, null);
+    }
+}
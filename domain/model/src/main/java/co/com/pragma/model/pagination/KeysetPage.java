@@ -0,0 +1,14 @@
+package co.com.pragma.model.pagination;
+
+import java.util.List;
+
+/**
+ * {@code nextAfterId} is the id to resume from, or null on the last page. {@code totalCount} is only computed when
+ * requested, as it costs a count over the whole filter.
+ */
+public record KeysetPage<T>(List<T> items, Integer nextAfterId, Long totalCount) {
+
+    public boolean hasNext() {
+        return nextAfterId != null;
+    }
+}
@@ -0,0 +1,12 @@
+package co.com.pragma.model.pagination;
+
+/**
+ * Page of a keyset (seek) pagination: the rows after {@code afterId} in id order, at most {@code size} of them.
+ * {@code afterId} is null for the first page and {@code size} is capped by the use case.
+ */
+public record KeysetPageRequest(Integer afterId, Integer size, boolean includeTotal) {
+
+    public static KeysetPageRequest first() {
+        return new KeysetPageRequest(null, null, false);
+    }
+}
@@ -1,7 +1,10 @@
 package co.com.pragma.model.password.gateways;
 
+import reactor.core.publisher.Mono;
+
 public interface PasswordEncoderPort {
 
-    String encode(String rawPassword);
-    boolean matches(String rawPassword, String encodedPassword);
-}
\ No newline at end of file
+    Mono<String> encode(String rawPassword);
+    Mono<Boolean> matches(String rawPassword, String encodedPassword);
+    boolean upgradeEncoding(String encodedPassword);
+}
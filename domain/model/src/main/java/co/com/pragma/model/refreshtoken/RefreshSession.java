@@ -0,0 +1,6 @@
+package co.com.pragma.model.refreshtoken;
+
+import co.com.pragma.model.user.User;
+
+public record RefreshSession(User user, String refreshToken) {
+}
@@ -0,0 +1,20 @@
+package co.com.pragma.model.refreshtoken;
+
+import lombok.*;
+
+import java.time.Instant;
+
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder(toBuilder = true)
+public class RefreshToken {
+    private Long tokenId;
+    private String tokenHash;
+    private String familyId;
+    private Integer userId;
+    private Instant createdAt;
+    private Instant expiresAt;
+    private Instant revokedAt;
+}
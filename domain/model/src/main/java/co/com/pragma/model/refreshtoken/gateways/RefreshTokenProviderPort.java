@@ -0,0 +1,12 @@
+package co.com.pragma.model.refreshtoken.gateways;
+
+import java.time.Duration;
+
+public interface RefreshTokenProviderPort {
+
+    String generateToken();
+
+    String hash(String token);
+
+    Duration getTimeToLive();
+}
@@ -0,0 +1,17 @@
+package co.com.pragma.model.refreshtoken.gateways;
+
+import co.com.pragma.model.refreshtoken.RefreshToken;
+import reactor.core.publisher.Mono;
+
+import java.time.Instant;
+
+public interface RefreshTokenRepository {
+
+    Mono<RefreshToken> save(RefreshToken refreshToken);
+
+    Mono<RefreshToken> findByTokenHash(String tokenHash);
+
+    Mono<Boolean> revoke(Long tokenId, Instant revokedAt);
+
+    Mono<Void> revokeFamily(String familyId, Instant revokedAt);
+}
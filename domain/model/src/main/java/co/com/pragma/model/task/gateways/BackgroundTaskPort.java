@@ -0,0 +1,12 @@
+package co.com.pragma.model.task.gateways;
+
+import reactor.core.publisher.Mono;
+
+public interface BackgroundTaskPort {
+
+    /**
+     * Runs {@code task} detached from the caller, which does not wait for it. The number of tasks running at once is
+     * bounded: {@code false} when the task was dropped because the bound was reached.
+     */
+    boolean submit(Mono<Void> task);
+}
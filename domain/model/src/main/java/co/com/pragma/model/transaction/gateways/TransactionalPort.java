@@ -6,4 +6,11 @@ import reactor.core.publisher.Mono;
 public interface TransactionalPort {
     <T> Mono<T> transactional(Mono<T> mono);
     <T> Flux<T> transactional(Flux<T> flux);
-}
\ No newline at end of file
+
+    /**
+     * Marks the pipeline as read-only so it can be served by a read replica. Results may lag behind the latest
+     * writes, so reads that must observe them (e.g. right after saving) should not use it.
+     */
+    <T> Mono<T> readOnly(Mono<T> mono);
+    <T> Flux<T> readOnly(Flux<T> flux);
+}
@@ -0,0 +1,22 @@
+package co.com.pragma.model.user;
+
+import co.com.pragma.model.exceptions.CustomException;
+
+/**
+ * Outcome of one row of a bulk import. {@code index} is the zero-based position of the row in the input. Imported
+ * rows carry the saved user, rejected rows the code and message of the error that rejected them.
+ */
+public record UserImportResult(long index, User user, String errorCode, String errorMessage) {
+
+    public static UserImportResult imported(long index, User user) {
+        return new UserImportResult(index, user, null, null);
+    }
+
+    public static UserImportResult rejected(long index, CustomException ex) {
+        return new UserImportResult(index, null, ex.getCode(), ex.getMessage());
+    }
+
+    public boolean isRejected() {
+        return errorCode != null;
+    }
+}
@@ -0,0 +1,15 @@
+package co.com.pragma.model.user.filters;
+
+/**
+ * How a text filter is compared with the stored value. {@code EXACT} and {@code PREFIX} can be served by an index,
+ * {@code CONTAINS} always scans.
+ * <p>
+ * {@code FULLTEXT} only applies to the name: every word must start a word of the name or last name, and results come
+ * ranked by relevance instead of in id order, so they are not paginated. Other filters treat it as {@code CONTAINS}.
+ */
+public enum MatchMode {
+    EXACT,
+    PREFIX,
+    CONTAINS,
+    FULLTEXT
+}
@@ -19,4 +19,7 @@ public class UserFilter {
     private String name;
     private BigDecimal salaryLowerThan;
     private BigDecimal salaryGreaterThan;
+    private MatchMode idNumberMatch;
+    private MatchMode emailMatch;
+    private MatchMode nameMatch;
 }
\ No newline at end of file
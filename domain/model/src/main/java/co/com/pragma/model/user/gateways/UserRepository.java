@@ -1,29 +1,78 @@
 package co.com.pragma.model.user.gateways;
 
+import co.com.pragma.model.exceptions.EmailTakenException;
+import co.com.pragma.model.exceptions.IdNumberTakenException;
 import co.com.pragma.model.user.User;
 import co.com.pragma.model.user.filters.UserFilter;
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 
+import java.util.Collection;
 import java.util.List;
 
 public interface UserRepository {
 
+    /**
+     * Fails with {@link EmailTakenException} or {@link IdNumberTakenException} when another user already has the email
+     * or the id number.
+     */
     Mono<User> save(User user);
 
-    Mono<Boolean> exists(User example);
+    /**
+     * Inserts {@code users} with a single batched statement and emits them with their generated ids, in the same
+     * order. Fails like {@link #save(User)} when any of them collides with an existing user.
+     */
+    Flux<User> saveAll(List<User> users);
 
-    Mono<User> findOne(User example);
+    Mono<Void> updatePassword(Integer userId, String encodedPassword);
 
+    /**
+     * Users holding any of {@code emails} or {@code idNumbers}, read with a single query.
+     */
+    Flux<User> findAllByEmailOrIdNumber(Collection<String> emails, Collection<String> idNumbers);
+
+    /**
+     * User with its fully populated role, read in a single statement.
+     */
+    Mono<User> findWithRoleById(Integer userId);
+
+    /**
+     * User with its fully populated role, read in a single statement.
+     */
+    Mono<User> findWithRoleByIdNumber(String idNumber);
+
+    /**
+     * User with its fully populated role and its password hash, read in a single statement.
+     */
     Mono<User> findWithPasswordByEmail(String email);
 
     Mono<User> findByEmail(String email);
 
     Flux<User> findAllByEmail(List<String> email);
 
-    Flux<User> findAllByRole(Integer roleId);
+    Flux<String> findEmailsByRole(Integer roleId);
+
+    /**
+     * Whether {@code filter} is answered in relevance order rather than in id order, which a cursor over the user id
+     * cannot page through. Only {@link co.com.pragma.model.user.filters.MatchMode#FULLTEXT} name searches can be, and
+     * only where the store supports ranking them.
+     */
+    boolean isRankedSearch(UserFilter filter);
+
+    /**
+     * Users matching {@code filter} with an id greater than {@code afterUserId} (all when null), in id order and at
+     * most {@code limit} of them. Ranked searches, see {@link #isRankedSearch(UserFilter)}, come in relevance order
+     * instead and ignore {@code afterUserId}.
+     */
+    Flux<User> findUsersByFilter(UserFilter filter, Integer afterUserId, int limit);
+
+    /**
+     * Every user matching {@code filter} with an id greater than {@code afterUserId} (all when null), in id order,
+     * emitted as the rows are read.
+     */
+    Flux<User> streamUsersByFilter(UserFilter filter, Integer afterUserId);
 
-    Flux<User> findUsersByFilter(UserFilter filter);
+    Mono<Long> countUsersByFilter(UserFilter filter);
 
     Flux<String> findUserEmailsByFilter(UserFilter filter);
 }
@@ -6,7 +6,7 @@ import co.com.pragma.model.exceptions.InvalidCredentialsException;
 import co.com.pragma.model.exceptions.RoleNotFoundException;
 import co.com.pragma.model.logs.gateways.LoggerPort;
 import co.com.pragma.model.password.gateways.PasswordEncoderPort;
-import co.com.pragma.model.role.gateways.RoleRepository;
+import co.com.pragma.model.task.gateways.BackgroundTaskPort;
 import co.com.pragma.model.user.User;
 import co.com.pragma.model.user.gateways.UserRepository;
 import lombok.RequiredArgsConstructor;
@@ -20,8 +20,8 @@ import static co.com.pragma.usecase.utils.ValidationUtils.validateCondition;
 public class AuthUseCase {
 
     private final UserRepository userRepository;
-    private final RoleRepository roleRepository;
     private final PasswordEncoderPort passwordEncoderPort;
+    private final BackgroundTaskPort backgroundTaskPort;
     private final LoggerPort logger;
 
     public Mono<User> authenticate(String email, String rawPassword) {
@@ -35,14 +35,39 @@ public class AuthUseCase {
         return inputValidation
                 .then(Mono.defer(() -> userRepository.findWithPasswordByEmail(email)))
                 .doOnError(ex -> logger.error(LogMessages.ERROR_FINDING_USER_BY_EMAIL, email, ex))
-                .flatMap(user -> validateCondition(passwordEncoderPort.matches(rawPassword, user.getPassword()), InvalidCredentialsException::new)
-                        .then(validateCondition(user.getRole() != null && user.getRole().getRolId() != null, RoleNotFoundException::new))
-                        .then(Mono.defer(() -> roleRepository.findById(user.getRole().getRolId())))
-                        .map(role -> user.toBuilder().role(role).password(null).build())
+                .flatMap(user -> passwordEncoderPort.matches(rawPassword, user.getPassword())
+                        .flatMap(matches -> validateCondition(matches, InvalidCredentialsException::new))
+                        .then(validateCondition(user.getRole() != null && user.getRole().getName() != null, RoleNotFoundException::new))
+                        .then(Mono.fromRunnable(() -> rehashIfOutdated(user, rawPassword)))
+                        .then(Mono.fromSupplier(() -> user.toBuilder().password(null).build()))
                 )
                 .switchIfEmpty(Mono.defer(() -> {
                     logger.warn(LogMessages.USER_NOT_FOUND_FOR_AUTH, email);
                     return Mono.error(new InvalidCredentialsException());
                 }));
     }
-}
\ No newline at end of file
+
+    // START Private methods ***********************************************************
+
+    /**
+     * Started once the login has succeeded and handed to the background, so the login does not wait for a second hash
+     * and the update. A rehash that fails or is dropped leaves the old hash, which is upgraded on a later login.
+     */
+    private void rehashIfOutdated(User user, String rawPassword) {
+        if (!passwordEncoderPort.upgradeEncoding(user.getPassword())) {
+            return;
+        }
+        Mono<Void> rehash = Mono.defer(() -> passwordEncoderPort.encode(rawPassword))
+                .flatMap(encodedPassword -> userRepository.updatePassword(user.getUserId(), encodedPassword))
+                .doOnSuccess(ignored -> logger.info(LogMessages.PASSWORD_REHASHED, user.getUserId()))
+                .onErrorResume(ex -> {
+                    logger.error(LogMessages.ERROR_REHASHING_PASSWORD, user.getUserId(), ex);
+                    return Mono.empty();
+                });
+        if (!backgroundTaskPort.submit(rehash)) {
+            logger.warn(LogMessages.PASSWORD_REHASH_SKIPPED, user.getUserId());
+        }
+    }
+
+    // END Private methods ***********************************************************
+}
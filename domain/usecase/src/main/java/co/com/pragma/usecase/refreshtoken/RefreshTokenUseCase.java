@@ -0,0 +1,96 @@
+package co.com.pragma.usecase.refreshtoken;
+
+import co.com.pragma.model.constants.LogMessages;
+import co.com.pragma.model.exceptions.InvalidRefreshTokenException;
+import co.com.pragma.model.exceptions.RoleNotFoundException;
+import co.com.pragma.model.logs.gateways.LoggerPort;
+import co.com.pragma.model.refreshtoken.RefreshSession;
+import co.com.pragma.model.refreshtoken.RefreshToken;
+import co.com.pragma.model.refreshtoken.gateways.RefreshTokenProviderPort;
+import co.com.pragma.model.refreshtoken.gateways.RefreshTokenRepository;
+import co.com.pragma.model.transaction.gateways.TransactionalPort;
+import co.com.pragma.model.user.User;
+import co.com.pragma.model.user.gateways.UserRepository;
+import lombok.RequiredArgsConstructor;
+import reactor.core.publisher.Mono;
+
+import java.time.Instant;
+import java.util.UUID;
+
+import static co.com.pragma.usecase.utils.ValidationUtils.validateCondition;
+
+@RequiredArgsConstructor
+public class RefreshTokenUseCase {
+
+    private final RefreshTokenRepository refreshTokenRepository;
+    private final RefreshTokenProviderPort refreshTokenProvider;
+    private final UserRepository userRepository;
+    private final TransactionalPort transactionalPort;
+    private final LoggerPort logger;
+
+    public Mono<String> issue(User user) {
+        return issue(user.getUserId(), UUID.randomUUID().toString());
+    }
+
+    public Mono<RefreshSession> refresh(String rawToken) {
+        return validateCondition(rawToken != null && !rawToken.isBlank(), InvalidRefreshTokenException::new)
+                .then(Mono.defer(() -> refreshTokenRepository.findByTokenHash(refreshTokenProvider.hash(rawToken))))
+                .switchIfEmpty(Mono.error(InvalidRefreshTokenException::new))
+                .flatMap(this::rotate);
+    }
+
+    // START Private methods ***********************************************************
+
+    private Mono<String> issue(Integer userId, String familyId) {
+        String rawToken = refreshTokenProvider.generateToken();
+        Instant now = Instant.now();
+        RefreshToken refreshToken = RefreshToken.builder()
+                .tokenHash(refreshTokenProvider.hash(rawToken))
+                .familyId(familyId)
+                .userId(userId)
+                .createdAt(now)
+                .expiresAt(now.plus(refreshTokenProvider.getTimeToLive()))
+                .build();
+        return refreshTokenRepository.save(refreshToken).thenReturn(rawToken);
+    }
+
+    /**
+     * Tokens are single use: the stored token is revoked atomically and its replacement issued in the same
+     * transaction, so a failure in between leaves the presented token usable for a retry. Presenting a token that was
+     * already used means it leaked, so the whole family is revoked, outside that transaction, and the legitimate
+     * holder has to log in.
+     */
+    private Mono<RefreshSession> rotate(RefreshToken stored) {
+        Instant now = Instant.now();
+        if (stored.getRevokedAt() != null) {
+            return revokeFamily(stored, now);
+        }
+        if (!stored.getExpiresAt().isAfter(now)) {
+            return Mono.error(new InvalidRefreshTokenException());
+        }
+        return refreshTokenRepository.revoke(stored.getTokenId(), now)
+                .filter(Boolean.TRUE::equals)
+                .flatMap(revoked -> findUser(stored.getUserId()))
+                .flatMap(user -> issue(user.getUserId(), stored.getFamilyId())
+                        .map(refreshToken -> new RefreshSession(user, refreshToken))
+                )
+                .as(transactionalPort::transactional)
+                .switchIfEmpty(Mono.defer(() -> revokeFamily(stored, now)));
+    }
+
+    private <T> Mono<T> revokeFamily(RefreshToken stored, Instant now) {
+        logger.warn(LogMessages.REFRESH_TOKEN_REUSE_DETECTED, stored.getFamilyId(), stored.getUserId());
+        return refreshTokenRepository.revokeFamily(stored.getFamilyId(), now)
+                .then(Mono.error(new InvalidRefreshTokenException()));
+    }
+
+    private Mono<User> findUser(Integer userId) {
+        return userRepository.findWithRoleById(userId)
+                .switchIfEmpty(Mono.error(InvalidRefreshTokenException::new))
+                .flatMap(user -> validateCondition(user.getRole() != null && user.getRole().getName() != null, RoleNotFoundException::new)
+                        .thenReturn(user)
+                );
+    }
+
+    // END Private methods ***********************************************************
+}
@@ -3,17 +3,21 @@ package co.com.pragma.usecase.user;
 import co.com.pragma.model.constants.DefaultValues;
 import co.com.pragma.model.constants.ErrorMessage;
 import co.com.pragma.model.constants.LogMessages;
+import co.com.pragma.model.exceptions.CustomException;
 import co.com.pragma.model.exceptions.EmailTakenException;
 import co.com.pragma.model.exceptions.IdNumberTakenException;
 import co.com.pragma.model.exceptions.RoleNotFoundException;
 import co.com.pragma.model.exceptions.UserNullException;
 import co.com.pragma.model.logs.gateways.LoggerPort;
+import co.com.pragma.model.pagination.KeysetPage;
+import co.com.pragma.model.pagination.KeysetPageRequest;
 import co.com.pragma.model.password.gateways.PasswordEncoderPort;
 import co.com.pragma.model.queue.gateways.SQSPort;
 import co.com.pragma.model.role.Role;
 import co.com.pragma.model.role.gateways.RoleRepository;
 import co.com.pragma.model.transaction.gateways.TransactionalPort;
 import co.com.pragma.model.user.User;
+import co.com.pragma.model.user.UserImportResult;
 import co.com.pragma.model.user.filters.UserFilter;
 import co.com.pragma.model.user.gateways.UserRepository;
 import co.com.pragma.usecase.user.utils.UserUtils;
@@ -21,9 +25,18 @@ import lombok.RequiredArgsConstructor;
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
 import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
 
 import static co.com.pragma.usecase.user.utils.UserUtils.validateFilter;
+import static co.com.pragma.usecase.utils.ValidationUtils.validateCondition;
 
 @RequiredArgsConstructor
 public class UserUseCase {
@@ -41,17 +54,41 @@ public class UserUseCase {
                 .flatMap(UserUtils::trim)
                 .flatMap(UserUtils::verifyUserData)
                 .map(UserUtils::assignDefaultRollIfMissing)
+                .flatMap(this::findAndValidateRole)
+                .flatMap(this::encodePassword)
                 .flatMap(this::saveUserTransaction)
                 .doFirst(() -> logger.info(LogMessages.START_SAVING_USER_PROCESS + " for email: {}", user != null ? user.getEmail() : "null"))
                 .doOnError(ex -> logger.error(ErrorMessage.ERROR_SAVING_USER + " for email: {}", (user != null ? user.getEmail() : "null"), ex))
-                .doOnSuccess(savedUser -> logger.info(LogMessages.SAVED_USER + " with ID: {}", savedUser.getUserId()))
-                .as(transactionalPort::transactional);
+                .doOnSuccess(savedUser -> logger.info(LogMessages.SAVED_USER + " with ID: {}", savedUser.getUserId()));
+    }
+
+    /**
+     * Registers every user of {@code users}, emitting one result per row in input order as each chunk of
+     * {@link DefaultValues#IMPORT_CHUNK_SIZE} rows is saved. Rows are validated as they arrive and each distinct role
+     * is looked up once per import. Per chunk, duplicates are found with a single query, passwords are hashed a few
+     * at a time on the bounded hashing pool and the remaining users go in with one batched insert. A rejected row
+     * does not stop the import.
+     */
+    public Flux<UserImportResult> importUsers(Flux<User> users) {
+        return Flux.defer(() -> {
+                    Map<Role, Mono<Role>> roles = new HashMap<>();
+                    Set<String> importedEmails = new HashSet<>();
+                    Set<String> importedIdNumbers = new HashSet<>();
+                    return users.index()
+                            .concatMap(row -> validateImportRow(row.getT1(), row.getT2(), roles))
+                            .buffer(DefaultValues.IMPORT_CHUNK_SIZE)
+                            .concatMap(chunk -> importChunk(chunk, importedEmails, importedIdNumbers));
+                })
+                .doFirst(() -> logger.info(LogMessages.START_IMPORTING_USERS))
+                .doOnError(ex -> logger.error(LogMessages.ERROR_IMPORTING_USERS, ex));
     }
 
     public Mono<User> findByIdNumber(String idNumber) {
-        return userRepository.findOne(User.builder().idNumber(idNumber).build())
+        return userRepository.findWithRoleByIdNumber(idNumber)
                 .flatMap(UserUtils::trim)
-                .flatMap(this::findAndValidateRole)
+                .flatMap(user -> validateCondition(user.getRole() != null && user.getRole().getName() != null, RoleNotFoundException::new)
+                        .thenReturn(user)
+                )
                 .doFirst(() -> logger.info(LogMessages.FINDING_USER_BY_ID_NUMBER, idNumber))
                 .doOnError(ex -> logger.error(LogMessages.ERROR_FINDING_USER_BY_ID_NUMBER, idNumber, ex))
                 .doOnNext(user -> logger.info(LogMessages.USER_WITH_ID_NUMBER_FOUND, user.getUserId()));
@@ -61,31 +98,65 @@ public class UserUseCase {
         return userRepository.findAllByEmail(emails)
                 .doFirst(() -> logger.info(LogMessages.FINDING_USERS_BY_EMAILS, emails))
                 .doOnError(ex -> logger.error(LogMessages.ERROR_FINDING_USERS_BY_EMAILS, emails, ex))
-                .doOnNext(user -> logger.info(LogMessages.USER_WITH_EMAIL_FOUND, user.getEmail()));
+                .doOnNext(user -> logger.info(LogMessages.USER_WITH_EMAIL_FOUND, user.getEmail()))
+                .as(transactionalPort::readOnly);
     }
 
-    public Flux<User> findUsersByFilter(UserFilter filter) {
+    /**
+     * One page of the users matching {@code filter}. A row beyond the page size is read to know whether another page
+     * follows, so memory stays bounded by the page size whatever the number of matching users.
+     * <p>
+     * Ranked searches return only their best {@code size} matches: the cursor is ignored and none is handed out.
+     */
+    public Mono<KeysetPage<User>> findUsersByFilter(UserFilter filter, KeysetPageRequest pageRequest) {
+        KeysetPageRequest page = pageRequest != null ? pageRequest : KeysetPageRequest.first();
+        int size = pageSize(page.size());
         return validateFilter(filter)
-                .flatMapMany(userRepository::findUsersByFilter)
+                .flatMap(validFilter -> {
+                    boolean ranked = userRepository.isRankedSearch(validFilter);
+                    return Mono.zip(
+                            userRepository.findUsersByFilter(validFilter, ranked ? null : page.afterId(),
+                                    ranked ? size : size + 1).collectList(),
+                            page.includeTotal()
+                                    ? userRepository.countUsersByFilter(validFilter).map(Optional::of)
+                                    : Mono.just(Optional.<Long>empty())
+                    );
+                })
+                .map(tuple -> toPage(tuple.getT1(), size, tuple.getT2().orElse(null)))
                 .doFirst(() -> logger.info(LogMessages.FINDING_USERS))
-                .doOnError(ex -> logger.error(LogMessages.ERROR_FINDING_USERS, ex));
+                .doOnError(ex -> logger.error(LogMessages.ERROR_FINDING_USERS, ex))
+                .as(transactionalPort::readOnly);
+    }
+
+    /**
+     * Every user matching {@code filter}, emitted as the rows are read so the caller can write them out without
+     * holding the whole result.
+     */
+    public Flux<User> streamUsersByFilter(UserFilter filter, Integer afterUserId) {
+        return validateFilter(filter)
+                .flatMapMany(validFilter -> userRepository.streamUsersByFilter(validFilter,
+                        userRepository.isRankedSearch(validFilter) ? null : afterUserId))
+                .doFirst(() -> logger.info(LogMessages.FINDING_USERS))
+                .doOnError(ex -> logger.error(LogMessages.ERROR_FINDING_USERS, ex))
+                .as(transactionalPort::readOnly);
     }
 
     public Mono<User> findByEmail(String email) {
-        return userRepository.findByEmail(email);
+        return userRepository.findByEmail(email)
+                .as(transactionalPort::readOnly);
     }
 
     public Flux<String> findUserEmailsByFilter(UserFilter filter) {
         return validateFilter(filter)
                 .flatMapMany(userRepository::findUserEmailsByFilter)
                 .doFirst(() -> logger.info(LogMessages.FINDING_USER_EMAILS))
-                .doOnError(ex -> logger.error(LogMessages.ERROR_FINDING_USER_EMAILS, ex));
+                .doOnError(ex -> logger.error(LogMessages.ERROR_FINDING_USER_EMAILS, ex))
+                .as(transactionalPort::readOnly);
     }
 
     public Mono<String> sendReportToAdmins(){
         return roleRepository.findOne(Role.builder().name(DefaultValues.ADMIN_ROLE_NAME).build())
-                .flatMapMany(role->userRepository.findAllByRole(role.getRolId()))
-                .map(User::getEmail)
+                .flatMapMany(role->userRepository.findEmailsByRole(role.getRolId()))
                 .collectList()
                 .flatMap(sqsPort::sendEmails)
                 .thenReturn("Sending emails");
@@ -93,40 +164,169 @@ public class UserUseCase {
 
     // START Private methods ***********************************************************
 
+    /**
+     * Hashing takes hundreds of milliseconds of CPU, so it runs before the transaction is opened; otherwise every
+     * registration would hold a pooled connection for the whole hash.
+     */
+    private Mono<User> encodePassword(User user) {
+        return passwordEncoderPort.encode(user.getPassword())
+                .map(hashedPassword -> user.toBuilder().password(hashedPassword).build());
+    }
+
+    /**
+     * Duplicated emails and id numbers are rejected by the insert itself, see {@link UserRepository#save(User)}, so no
+     * lookup precedes it and two concurrent registrations cannot both get through.
+     */
     private Mono<User> saveUserTransaction(User user) {
-        return findAndValidateRole(user)
-                .flatMap(userWithRole ->
-                        Mono.when(
-                                        checkEmail(userWithRole),
-                                        checkIdNumber(userWithRole)
-                                )
-                                .thenReturn(userWithRole)
-                )
-                .map(userTrimmed -> userTrimmed.toBuilder().password(passwordEncoderPort.encode(userTrimmed.getPassword())).build())
-                .flatMap(userRepository::save);
+        return Mono.defer(() -> userRepository.save(user))
+                .as(transactionalPort::transactional);
     }
 
-    private Mono<User> findAndValidateRole(User user) {
-        return roleRepository.findOne(user.getRole())
-                .switchIfEmpty(Mono.defer(() -> Mono.error(new RoleNotFoundException())))
-                .map(role -> user.toBuilder().role(role).build());
+    /**
+     * Rows that pass validation are carried as imported results holding the validated user until their chunk is
+     * saved. Lookups of the same role share one cached query.
+     */
+    private Mono<UserImportResult> validateImportRow(long index, User user, Map<Role, Mono<Role>> roles) {
+        return UserUtils.trim(user)
+                .flatMap(UserUtils::verifyUserData)
+                .map(UserUtils::assignDefaultRollIfMissing)
+                .flatMap(validUser -> roles.computeIfAbsent(validUser.getRole(), role -> findRole(role).cache())
+                        .map(role -> validUser.toBuilder().role(role).build()))
+                .map(validUser -> UserImportResult.imported(index, validUser))
+                .onErrorResume(CustomException.class, ex -> Mono.just(UserImportResult.rejected(index, ex)));
     }
 
-    private Mono<Void> checkEmail(User user) {
-        return userRepository.exists(User.builder().email(user.getEmail()).build())
-                .filter(exists -> !exists)
-                .switchIfEmpty(Mono.defer(() -> Mono.error(new EmailTakenException())))
-                .then();
+    private Flux<UserImportResult> importChunk(List<UserImportResult> chunk, Set<String> importedEmails,
+                                               Set<String> importedIdNumbers) {
+        List<User> pending = pendingUsers(chunk);
+        if (pending.isEmpty()) {
+            return Flux.fromIterable(chunk);
+        }
+        return userRepository.findAllByEmailOrIdNumber(
+                        pending.stream().map(User::getEmail).toList(),
+                        pending.stream().map(User::getIdNumber).toList())
+                .collectList()
+                .map(taken -> rejectDuplicates(chunk, taken, importedEmails, importedIdNumbers))
+                .flatMap(checked -> Flux.fromIterable(checked)
+                        .flatMapSequential(this::encodeImportPassword, DefaultValues.IMPORT_HASHING_CONCURRENCY)
+                        .collectList())
+                .flatMap(this::saveChunk)
+                .doOnNext(results -> logger.info(LogMessages.IMPORTED_USERS_CHUNK, results.size(),
+                        results.stream().filter(result -> !result.isRejected()).count()))
+                .flatMapMany(Flux::fromIterable);
+    }
+
+    /**
+     * Rejects the rows whose email or id number is already registered, or was already taken by an earlier row of the
+     * same import. Emails are compared case-insensitively, like the column collation.
+     */
+    private static List<UserImportResult> rejectDuplicates(List<UserImportResult> chunk, List<User> taken,
+                                                           Set<String> importedEmails, Set<String> importedIdNumbers) {
+        Set<String> takenEmails = new HashSet<>();
+        Set<String> takenIdNumbers = new HashSet<>();
+        taken.forEach(user -> {
+            takenEmails.add(emailKey(user.getEmail()));
+            takenIdNumbers.add(user.getIdNumber());
+        });
+        List<UserImportResult> checked = new ArrayList<>(chunk.size());
+        for (UserImportResult row : chunk) {
+            if (row.isRejected()) {
+                checked.add(row);
+                continue;
+            }
+            String email = emailKey(row.user().getEmail());
+            String idNumber = row.user().getIdNumber();
+            if (takenEmails.contains(email) || importedEmails.contains(email)) {
+                checked.add(UserImportResult.rejected(row.index(), new EmailTakenException()));
+            } else if (takenIdNumbers.contains(idNumber) || importedIdNumbers.contains(idNumber)) {
+                checked.add(UserImportResult.rejected(row.index(), new IdNumberTakenException()));
+            } else {
+                importedEmails.add(email);
+                importedIdNumbers.add(idNumber);
+                checked.add(row);
+            }
+        }
+        return checked;
     }
 
-    private Mono<Void> checkIdNumber(User user) {
-        if (!DefaultValues.ID_NUMBER_UNIQUE) {
-            return Mono.empty();
+    private Mono<UserImportResult> encodeImportPassword(UserImportResult row) {
+        if (row.isRejected()) {
+            return Mono.just(row);
         }
-        return userRepository.exists(User.builder().idNumber(user.getIdNumber()).build())
-                .filter(exists -> !exists)
-                .switchIfEmpty(Mono.defer(() -> Mono.error(new IdNumberTakenException())))
-                .then();
+        return encodePassword(row.user())
+                .map(user -> UserImportResult.imported(row.index(), user))
+                .onErrorResume(CustomException.class, ex -> Mono.just(UserImportResult.rejected(row.index(), ex)));
+    }
+
+    /**
+     * The chunk is inserted as a whole. When a concurrent registration took one of its emails or id numbers since
+     * the duplicate check, the chunk is saved again row by row so only the colliding rows are rejected.
+     */
+    private Mono<List<UserImportResult>> saveChunk(List<UserImportResult> rows) {
+        List<User> pending = pendingUsers(rows);
+        if (pending.isEmpty()) {
+            return Mono.just(rows);
+        }
+        return Mono.defer(() -> userRepository.saveAll(pending).collectList())
+                .as(transactionalPort::transactional)
+                .map(saved -> {
+                    Iterator<User> savedUsers = saved.iterator();
+                    return rows.stream()
+                            .map(row -> row.isRejected() ? row : UserImportResult.imported(row.index(), savedUsers.next()))
+                            .toList();
+                })
+                .onErrorResume(ex -> ex instanceof EmailTakenException || ex instanceof IdNumberTakenException, ex -> {
+                    logger.warn(LogMessages.IMPORTED_USERS_CHUNK_CONFLICT, pending.size());
+                    return Flux.fromIterable(rows)
+                            .concatMap(this::saveImportRow)
+                            .collectList();
+                });
+    }
+
+    private Mono<UserImportResult> saveImportRow(UserImportResult row) {
+        if (row.isRejected()) {
+            return Mono.just(row);
+        }
+        return saveUserTransaction(row.user())
+                .map(user -> UserImportResult.imported(row.index(), user))
+                .onErrorResume(CustomException.class, ex -> Mono.just(UserImportResult.rejected(row.index(), ex)));
+    }
+
+    private static List<User> pendingUsers(List<UserImportResult> rows) {
+        return rows.stream()
+                .filter(row -> !row.isRejected())
+                .map(UserImportResult::user)
+                .toList();
+    }
+
+    // The email column collation is case-insensitive
+    private static String emailKey(String email) {
+        return email.toLowerCase(Locale.ROOT);
+    }
+
+    private static int pageSize(Integer requested) {
+        if (requested == null) {
+            return DefaultValues.DEFAULT_PAGE_SIZE;
+        }
+        return Math.min(requested, DefaultValues.MAX_PAGE_SIZE);
+    }
+
+    private static KeysetPage<User> toPage(List<User> users, int size, Long totalCount) {
+        if (users.size() <= size) {
+            return new KeysetPage<>(users, null, totalCount);
+        }
+        List<User> items = users.subList(0, size);
+        return new KeysetPage<>(items, items.get(size - 1).getUserId(), totalCount);
+    }
+
+    private Mono<User> findAndValidateRole(User user) {
+        return findRole(user.getRole())
+                .map(role -> user.toBuilder().role(role).build());
+    }
+
+    private Mono<Role> findRole(Role role) {
+        return roleRepository.findOne(role)
+                .switchIfEmpty(Mono.defer(() -> Mono.error(new RoleNotFoundException())));
     }
 
     // END Private methods ***********************************************************
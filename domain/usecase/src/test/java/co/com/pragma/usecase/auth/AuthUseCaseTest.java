@@ -3,10 +3,11 @@ package co.com.pragma.usecase.auth;
 import co.com.pragma.model.constants.LogMessages;
 import co.com.pragma.model.exceptions.FieldBlankException;
 import co.com.pragma.model.exceptions.InvalidCredentialsException;
+import co.com.pragma.model.exceptions.RoleNotFoundException;
 import co.com.pragma.model.logs.gateways.LoggerPort;
 import co.com.pragma.model.password.gateways.PasswordEncoderPort;
 import co.com.pragma.model.role.Role;
-import co.com.pragma.model.role.gateways.RoleRepository;
+import co.com.pragma.model.task.gateways.BackgroundTaskPort;
 import co.com.pragma.model.user.User;
 import co.com.pragma.model.user.gateways.UserRepository;
 import org.junit.jupiter.api.BeforeEach;
@@ -22,6 +23,8 @@ import org.mockito.junit.jupiter.MockitoExtension;
 import reactor.core.publisher.Mono;
 import reactor.test.StepVerifier;
 
+import java.time.Duration;
+
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.mockito.Mockito.*;
 
@@ -31,31 +34,31 @@ class AuthUseCaseTest {
     @Mock
     private UserRepository userRepository;
     @Mock
-    private RoleRepository roleRepository;
-    @Mock
     private PasswordEncoderPort passwordEncoderPort;
     @Mock
+    private BackgroundTaskPort backgroundTaskPort;
+    @Mock
     private LoggerPort logger;
 
     @InjectMocks
     private AuthUseCase authUseCase;
 
     private User userFromRepo;
-    private Role roleFromRepo;
 
     @BeforeEach
     void setUp() {
         userFromRepo = User.builder()
                 .userId(1)
                 .email("test@example.com")
-                .role(Role.builder().rolId(1).build())
+                .role(Role.builder().rolId(1).name("ADMIN").description("description").build())
                 .password("hashed_password")
                 .build();
-        roleFromRepo = Role.builder()
-                .rolId(1)
-                .name("ADMIN")
-                .description("description")
-                .build();
+
+        // Runs the task right away, the login does not wait for it either way
+        lenient().when(backgroundTaskPort.submit(any())).thenAnswer(invocation -> {
+            invocation.<Mono<Void>>getArgument(0).subscribe();
+            return true;
+        });
     }
 
     @Nested
@@ -68,16 +71,140 @@ class AuthUseCaseTest {
             String rawPassword = "plain_password";
 
             when(userRepository.findWithPasswordByEmail(email)).thenReturn(Mono.just(userFromRepo));
-            when(passwordEncoderPort.matches(rawPassword, "hashed_password")).thenReturn(true);
-            when(roleRepository.findById(userFromRepo.getRole().getRolId())).thenReturn(Mono.just(roleFromRepo));
+            when(passwordEncoderPort.matches(rawPassword, "hashed_password")).thenReturn(Mono.just(true));
 
             StepVerifier.create(authUseCase.authenticate(email, rawPassword))
                     .assertNext(authenticatedUser -> {
                         assertThat(authenticatedUser.getUserId()).isEqualTo(userFromRepo.getUserId());
                         assertThat(authenticatedUser.getEmail()).isEqualTo(userFromRepo.getEmail());
                         assertThat(authenticatedUser.getPassword()).as("Password should be nullified after authentication").isNull();
+                        assertThat(authenticatedUser.getRole().getName()).isEqualTo("ADMIN");
                     })
                     .verifyComplete();
+
+            verify(userRepository).findWithPasswordByEmail(email);
+            verifyNoMoreInteractions(userRepository);
+        }
+    }
+
+    @Nested
+    @DisplayName("Password Rehash")
+    class RehashScenarios {
+        @Test
+        @DisplayName("should re-hash and persist the password when the stored hash is outdated")
+        void authenticate_whenHashIsOutdated_shouldRehashPassword() {
+            String email = "test@example.com";
+            String rawPassword = "plain_password";
+
+            when(userRepository.findWithPasswordByEmail(email)).thenReturn(Mono.just(userFromRepo));
+            when(passwordEncoderPort.matches(rawPassword, "hashed_password")).thenReturn(Mono.just(true));
+            when(passwordEncoderPort.upgradeEncoding("hashed_password")).thenReturn(true);
+            when(passwordEncoderPort.encode(rawPassword)).thenReturn(Mono.just("rehashed_password"));
+            when(userRepository.updatePassword(1, "rehashed_password")).thenReturn(Mono.empty());
+
+            StepVerifier.create(authUseCase.authenticate(email, rawPassword))
+                    .expectNextCount(1)
+                    .verifyComplete();
+
+            verify(userRepository).updatePassword(1, "rehashed_password");
+            verify(logger).info(LogMessages.PASSWORD_REHASHED, 1);
+        }
+
+        @Test
+        @DisplayName("should not fail the login when re-hashing fails")
+        void authenticate_whenRehashFails_shouldStillAuthenticate() {
+            String email = "test@example.com";
+            String rawPassword = "plain_password";
+            RuntimeException failure = new RuntimeException("db down");
+
+            when(userRepository.findWithPasswordByEmail(email)).thenReturn(Mono.just(userFromRepo));
+            when(passwordEncoderPort.matches(rawPassword, "hashed_password")).thenReturn(Mono.just(true));
+            when(passwordEncoderPort.upgradeEncoding("hashed_password")).thenReturn(true);
+            when(passwordEncoderPort.encode(rawPassword)).thenReturn(Mono.just("rehashed_password"));
+            when(userRepository.updatePassword(1, "rehashed_password")).thenReturn(Mono.error(failure));
+
+            StepVerifier.create(authUseCase.authenticate(email, rawPassword))
+                    .expectNextCount(1)
+                    .verifyComplete();
+
+            verify(logger).error(LogMessages.ERROR_REHASHING_PASSWORD, 1, failure);
+        }
+
+        @Test
+        @DisplayName("should return the user without waiting for the re-hash to be persisted")
+        void authenticate_whenHashIsOutdated_shouldNotWaitForTheRehash() {
+            String email = "test@example.com";
+            String rawPassword = "plain_password";
+
+            when(userRepository.findWithPasswordByEmail(email)).thenReturn(Mono.just(userFromRepo));
+            when(passwordEncoderPort.matches(rawPassword, "hashed_password")).thenReturn(Mono.just(true));
+            when(passwordEncoderPort.upgradeEncoding("hashed_password")).thenReturn(true);
+            when(passwordEncoderPort.encode(rawPassword)).thenReturn(Mono.just("rehashed_password"));
+            when(userRepository.updatePassword(1, "rehashed_password")).thenReturn(Mono.never());
+
+            StepVerifier.create(authUseCase.authenticate(email, rawPassword))
+                    .expectNextCount(1)
+                    .expectComplete()
+                    .verify(Duration.ofSeconds(1));
+
+            verify(backgroundTaskPort).submit(any());
+            verify(userRepository).updatePassword(1, "rehashed_password");
+            verify(logger, never()).info(LogMessages.PASSWORD_REHASHED, 1);
+        }
+
+        @Test
+        @DisplayName("should still log in when too many re-hashes are running in the background")
+        void authenticate_whenRehashIsDropped_shouldStillAuthenticate() {
+            String email = "test@example.com";
+            String rawPassword = "plain_password";
+
+            when(userRepository.findWithPasswordByEmail(email)).thenReturn(Mono.just(userFromRepo));
+            when(passwordEncoderPort.matches(rawPassword, "hashed_password")).thenReturn(Mono.just(true));
+            when(passwordEncoderPort.upgradeEncoding("hashed_password")).thenReturn(true);
+            doReturn(false).when(backgroundTaskPort).submit(any());
+
+            StepVerifier.create(authUseCase.authenticate(email, rawPassword))
+                    .expectNextCount(1)
+                    .verifyComplete();
+
+            verify(logger).warn(LogMessages.PASSWORD_REHASH_SKIPPED, 1);
+            verify(userRepository, never()).updatePassword(anyInt(), anyString());
+        }
+
+        @Test
+        @DisplayName("should not re-hash when the stored hash is current")
+        void authenticate_whenHashIsCurrent_shouldNotRehash() {
+            String email = "test@example.com";
+            String rawPassword = "plain_password";
+
+            when(userRepository.findWithPasswordByEmail(email)).thenReturn(Mono.just(userFromRepo));
+            when(passwordEncoderPort.matches(rawPassword, "hashed_password")).thenReturn(Mono.just(true));
+            when(passwordEncoderPort.upgradeEncoding("hashed_password")).thenReturn(false);
+
+            StepVerifier.create(authUseCase.authenticate(email, rawPassword))
+                    .expectNextCount(1)
+                    .verifyComplete();
+
+            verify(passwordEncoderPort, never()).encode(anyString());
+            verify(userRepository, never()).updatePassword(anyInt(), anyString());
+        }
+
+        @Test
+        @DisplayName("should not re-hash when the login fails after the password matched")
+        void authenticate_whenRoleIsMissing_shouldNotRehash() {
+            String email = "test@example.com";
+            String rawPassword = "plain_password";
+            User withoutRole = userFromRepo.toBuilder().role(null).build();
+
+            when(userRepository.findWithPasswordByEmail(email)).thenReturn(Mono.just(withoutRole));
+            when(passwordEncoderPort.matches(rawPassword, "hashed_password")).thenReturn(Mono.just(true));
+
+            StepVerifier.create(authUseCase.authenticate(email, rawPassword))
+                    .expectError(RoleNotFoundException.class)
+                    .verify();
+
+            verify(passwordEncoderPort, never()).upgradeEncoding(anyString());
+            verify(backgroundTaskPort, never()).submit(any());
         }
     }
 
@@ -107,7 +234,7 @@ class AuthUseCaseTest {
             String rawPassword = "wrong_password";
 
             when(userRepository.findWithPasswordByEmail(email)).thenReturn(Mono.just(userFromRepo));
-            when(passwordEncoderPort.matches(rawPassword, "hashed_password")).thenReturn(false);
+            when(passwordEncoderPort.matches(rawPassword, "hashed_password")).thenReturn(Mono.just(false));
 
             StepVerifier.create(authUseCase.authenticate(email, rawPassword))
                     .expectError(InvalidCredentialsException.class)
@@ -0,0 +1,237 @@
+package co.com.pragma.usecase.refreshtoken;
+
+import co.com.pragma.model.exceptions.InvalidRefreshTokenException;
+import co.com.pragma.model.logs.gateways.LoggerPort;
+import co.com.pragma.model.refreshtoken.RefreshToken;
+import co.com.pragma.model.refreshtoken.gateways.RefreshTokenProviderPort;
+import co.com.pragma.model.refreshtoken.gateways.RefreshTokenRepository;
+import co.com.pragma.model.role.Role;
+import co.com.pragma.model.transaction.gateways.TransactionalPort;
+import co.com.pragma.model.user.User;
+import co.com.pragma.model.user.gateways.UserRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.NullAndEmptySource;
+import org.junit.jupiter.params.provider.ValueSource;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+import java.time.Duration;
+import java.time.Instant;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.lenient;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class RefreshTokenUseCaseTest {
+
+    private static final String RAW_TOKEN = "raw-token";
+    private static final String TOKEN_HASH = "token-hash";
+    private static final String NEW_RAW_TOKEN = "new-raw-token";
+    private static final String NEW_TOKEN_HASH = "new-token-hash";
+    private static final String FAMILY_ID = "family-1";
+
+    @Mock
+    private RefreshTokenRepository refreshTokenRepository;
+    @Mock
+    private RefreshTokenProviderPort refreshTokenProvider;
+    @Mock
+    private UserRepository userRepository;
+    @Mock
+    private TransactionalPort transactionalPort;
+    @Mock
+    private LoggerPort logger;
+
+    @InjectMocks
+    private RefreshTokenUseCase refreshTokenUseCase;
+
+    private User user;
+
+    @BeforeEach
+    void setUp() {
+        user = User.builder()
+                .userId(1)
+                .email("test@example.com")
+                .role(Role.builder().rolId(2).name("ADMIN").build())
+                .build();
+
+        lenient().when(transactionalPort.transactional(any(Mono.class))).thenAnswer(invocation -> invocation.getArgument(0));
+    }
+
+    @Nested
+    @DisplayName("Issue")
+    class IssueScenarios {
+
+        @Test
+        @DisplayName("should store only the hash of a new token in a new family")
+        void issue_shouldStoreHashAndReturnRawToken() {
+            when(refreshTokenProvider.generateToken()).thenReturn(NEW_RAW_TOKEN);
+            when(refreshTokenProvider.hash(NEW_RAW_TOKEN)).thenReturn(NEW_TOKEN_HASH);
+            when(refreshTokenProvider.getTimeToLive()).thenReturn(Duration.ofDays(7));
+            when(refreshTokenRepository.save(any())).thenAnswer(invocation -> Mono.just(invocation.getArgument(0)));
+
+            StepVerifier.create(refreshTokenUseCase.issue(user))
+                    .expectNext(NEW_RAW_TOKEN)
+                    .verifyComplete();
+
+            ArgumentCaptor<RefreshToken> captor = ArgumentCaptor.forClass(RefreshToken.class);
+            verify(refreshTokenRepository).save(captor.capture());
+            RefreshToken saved = captor.getValue();
+            assertThat(saved.getTokenHash()).isEqualTo(NEW_TOKEN_HASH);
+            assertThat(saved.getUserId()).isEqualTo(1);
+            assertThat(saved.getFamilyId()).isNotBlank();
+            assertThat(saved.getExpiresAt()).isEqualTo(saved.getCreatedAt().plus(Duration.ofDays(7)));
+        }
+    }
+
+    @Nested
+    @DisplayName("Refresh")
+    class RefreshScenarios {
+
+        @Test
+        @DisplayName("should revoke the presented token and issue a new one in the same family")
+        void refresh_whenTokenIsValid_shouldRotate() {
+            RefreshToken stored = stored(Instant.now().plusSeconds(60), null);
+            when(refreshTokenProvider.hash(RAW_TOKEN)).thenReturn(TOKEN_HASH);
+            when(refreshTokenRepository.findByTokenHash(TOKEN_HASH)).thenReturn(Mono.just(stored));
+            when(refreshTokenRepository.revoke(eq(10L), any())).thenReturn(Mono.just(true));
+            when(userRepository.findWithRoleById(1)).thenReturn(Mono.just(user));
+            when(refreshTokenProvider.generateToken()).thenReturn(NEW_RAW_TOKEN);
+            when(refreshTokenProvider.hash(NEW_RAW_TOKEN)).thenReturn(NEW_TOKEN_HASH);
+            when(refreshTokenProvider.getTimeToLive()).thenReturn(Duration.ofDays(7));
+            when(refreshTokenRepository.save(any())).thenAnswer(invocation -> Mono.just(invocation.getArgument(0)));
+
+            StepVerifier.create(refreshTokenUseCase.refresh(RAW_TOKEN))
+                    .assertNext(session -> {
+                        assertThat(session.refreshToken()).isEqualTo(NEW_RAW_TOKEN);
+                        assertThat(session.user().getRole().getName()).isEqualTo("ADMIN");
+                        assertThat(session.user().getPassword()).isNull();
+                    })
+                    .verifyComplete();
+
+            ArgumentCaptor<RefreshToken> captor = ArgumentCaptor.forClass(RefreshToken.class);
+            verify(refreshTokenRepository).save(captor.capture());
+            assertThat(captor.getValue().getFamilyId()).isEqualTo(FAMILY_ID);
+            verify(transactionalPort).transactional(any(Mono.class));
+        }
+
+        @Test
+        @DisplayName("should revoke and issue in one transaction so a failed issue does not burn the token")
+        void refresh_whenIssueFails_shouldFailWithinTheTransaction() {
+            RuntimeException failure = new RuntimeException("DB is down");
+            // Stands in for the rollback: only what runs inside the transaction reports it
+            when(transactionalPort.transactional(any(Mono.class))).thenAnswer(invocation -> invocation.<Mono<?>>getArgument(0)
+                    .onErrorMap(ex -> new IllegalStateException("rolled back", ex)));
+            when(refreshTokenProvider.hash(RAW_TOKEN)).thenReturn(TOKEN_HASH);
+            when(refreshTokenRepository.findByTokenHash(TOKEN_HASH))
+                    .thenReturn(Mono.just(stored(Instant.now().plusSeconds(60), null)));
+            when(refreshTokenRepository.revoke(eq(10L), any())).thenReturn(Mono.just(true));
+            when(userRepository.findWithRoleById(1)).thenReturn(Mono.just(user));
+            when(refreshTokenProvider.generateToken()).thenReturn(NEW_RAW_TOKEN);
+            when(refreshTokenProvider.hash(NEW_RAW_TOKEN)).thenReturn(NEW_TOKEN_HASH);
+            when(refreshTokenProvider.getTimeToLive()).thenReturn(Duration.ofDays(7));
+            when(refreshTokenRepository.save(any())).thenReturn(Mono.error(failure));
+
+            StepVerifier.create(refreshTokenUseCase.refresh(RAW_TOKEN))
+                    .expectErrorSatisfies(ex -> assertThat(ex).isInstanceOf(IllegalStateException.class).hasCause(failure))
+                    .verify();
+
+            verify(refreshTokenRepository).revoke(eq(10L), any());
+            verify(refreshTokenRepository, never()).revokeFamily(any(), any());
+        }
+
+        @ParameterizedTest
+        @NullAndEmptySource
+        @ValueSource(strings = {"  "})
+        @DisplayName("should reject blank tokens without touching the store")
+        void refresh_whenTokenIsBlank_shouldFail(String rawToken) {
+            StepVerifier.create(refreshTokenUseCase.refresh(rawToken))
+                    .expectError(InvalidRefreshTokenException.class)
+                    .verify();
+
+            verify(refreshTokenRepository, never()).findByTokenHash(any());
+        }
+
+        @Test
+        @DisplayName("should reject unknown tokens")
+        void refresh_whenTokenIsUnknown_shouldFail() {
+            when(refreshTokenProvider.hash(RAW_TOKEN)).thenReturn(TOKEN_HASH);
+            when(refreshTokenRepository.findByTokenHash(TOKEN_HASH)).thenReturn(Mono.empty());
+
+            StepVerifier.create(refreshTokenUseCase.refresh(RAW_TOKEN))
+                    .expectError(InvalidRefreshTokenException.class)
+                    .verify();
+        }
+
+        @Test
+        @DisplayName("should reject expired tokens")
+        void refresh_whenTokenIsExpired_shouldFail() {
+            when(refreshTokenProvider.hash(RAW_TOKEN)).thenReturn(TOKEN_HASH);
+            when(refreshTokenRepository.findByTokenHash(TOKEN_HASH))
+                    .thenReturn(Mono.just(stored(Instant.now().minusSeconds(1), null)));
+
+            StepVerifier.create(refreshTokenUseCase.refresh(RAW_TOKEN))
+                    .expectError(InvalidRefreshTokenException.class)
+                    .verify();
+
+            verify(refreshTokenRepository, never()).revoke(any(), any());
+        }
+
+        @Test
+        @DisplayName("should revoke the whole family when a used token is presented again")
+        void refresh_whenTokenWasAlreadyUsed_shouldRevokeFamily() {
+            when(refreshTokenProvider.hash(RAW_TOKEN)).thenReturn(TOKEN_HASH);
+            when(refreshTokenRepository.findByTokenHash(TOKEN_HASH))
+                    .thenReturn(Mono.just(stored(Instant.now().plusSeconds(60), Instant.now().minusSeconds(5))));
+            when(refreshTokenRepository.revokeFamily(eq(FAMILY_ID), any())).thenReturn(Mono.empty());
+
+            StepVerifier.create(refreshTokenUseCase.refresh(RAW_TOKEN))
+                    .expectError(InvalidRefreshTokenException.class)
+                    .verify();
+
+            verify(refreshTokenRepository).revokeFamily(eq(FAMILY_ID), any());
+            verify(refreshTokenRepository, never()).save(any());
+        }
+
+        @Test
+        @DisplayName("should revoke the whole family when a concurrent request consumed the token first")
+        void refresh_whenTokenIsConsumedConcurrently_shouldRevokeFamily() {
+            when(refreshTokenProvider.hash(RAW_TOKEN)).thenReturn(TOKEN_HASH);
+            when(refreshTokenRepository.findByTokenHash(TOKEN_HASH))
+                    .thenReturn(Mono.just(stored(Instant.now().plusSeconds(60), null)));
+            when(refreshTokenRepository.revoke(eq(10L), any())).thenReturn(Mono.just(false));
+            when(refreshTokenRepository.revokeFamily(eq(FAMILY_ID), any())).thenReturn(Mono.empty());
+
+            StepVerifier.create(refreshTokenUseCase.refresh(RAW_TOKEN))
+                    .expectError(InvalidRefreshTokenException.class)
+                    .verify();
+
+            verify(refreshTokenRepository, never()).save(any());
+        }
+    }
+
+    private RefreshToken stored(Instant expiresAt, Instant revokedAt) {
+        return RefreshToken.builder()
+                .tokenId(10L)
+                .tokenHash(TOKEN_HASH)
+                .familyId(FAMILY_ID)
+                .userId(1)
+                .createdAt(Instant.now().minusSeconds(3600))
+                .expiresAt(expiresAt)
+                .revokedAt(revokedAt)
+                .build();
+    }
+}
@@ -2,19 +2,24 @@ package co.com.pragma.usecase.user;
 
 import co.com.pragma.model.constants.LogMessages;
 import co.com.pragma.model.constants.DefaultValues;
+import co.com.pragma.model.constants.ErrorMessage;
 import co.com.pragma.model.exceptions.*;
 import co.com.pragma.model.logs.gateways.LoggerPort;
+import co.com.pragma.model.pagination.KeysetPageRequest;
 import co.com.pragma.model.password.gateways.PasswordEncoderPort;
+import co.com.pragma.model.queue.gateways.SQSPort;
 import co.com.pragma.model.role.Role;
 import co.com.pragma.model.role.gateways.RoleRepository;
 import co.com.pragma.model.transaction.gateways.TransactionalPort;
 import co.com.pragma.model.user.User;
+import co.com.pragma.model.user.filters.MatchMode;
 import co.com.pragma.model.user.filters.UserFilter;
 import co.com.pragma.model.user.gateways.UserRepository;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Nested;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InOrder;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
@@ -25,6 +30,7 @@ import reactor.test.StepVerifier;
 import java.math.BigDecimal;
 import java.util.List;
 
+import static org.assertj.core.api.Assertions.assertThat;
 import static org.mockito.ArgumentMatchers.*;
 import static org.mockito.Mockito.*;
 
@@ -41,6 +47,8 @@ class UserUseCaseTest {
     private PasswordEncoderPort passwordEncoderPort;
     @Mock
     private TransactionalPort transactionalPort;
+    @Mock
+    private SQSPort sqsPort;
 
     @InjectMocks
     private UserUseCase userUseCase;
@@ -64,6 +72,8 @@ class UserUseCaseTest {
 
 
         lenient().when(transactionalPort.transactional(any(Mono.class))).thenAnswer(invocation -> invocation.getArgument(0));
+        lenient().when(transactionalPort.readOnly(any(Mono.class))).thenAnswer(invocation -> invocation.getArgument(0));
+        lenient().when(transactionalPort.readOnly(any(Flux.class))).thenAnswer(invocation -> invocation.getArgument(0));
     }
 
     @Nested
@@ -72,8 +82,7 @@ class UserUseCaseTest {
         @Test
         void saveUser_whenValid_shouldSucceed() {
             when(roleRepository.findOne(any(Role.class))).thenReturn(Mono.just(defaultRole));
-            when(userRepository.exists(any(User.class))).thenReturn(Mono.just(false));
-            when(passwordEncoderPort.encode(anyString())).thenReturn("hashed_password");
+            when(passwordEncoderPort.encode(anyString())).thenReturn(Mono.just("hashed_password"));
             when(userRepository.save(any(User.class))).thenAnswer(invocation -> {
                 User user = invocation.getArgument(0);
                 return Mono.just(user.toBuilder().userId(1).build());
@@ -95,6 +104,23 @@ class UserUseCaseTest {
                     .verify();
         }
 
+        @Test
+        @SuppressWarnings("unchecked")
+        void saveUser_shouldHashPasswordBeforeOpeningTheTransaction() {
+            when(roleRepository.findOne(any(Role.class))).thenReturn(Mono.just(defaultRole));
+            when(passwordEncoderPort.encode(anyString())).thenReturn(Mono.just("hashed_password"));
+            when(userRepository.save(any(User.class))).thenAnswer(invocation -> Mono.just(invocation.getArgument(0)));
+
+            StepVerifier.create(userUseCase.saveUser(userToSave))
+                    .expectNextCount(1)
+                    .verifyComplete();
+
+            InOrder inOrder = inOrder(passwordEncoderPort, transactionalPort, userRepository);
+            inOrder.verify(passwordEncoderPort).encode("plain_password");
+            inOrder.verify(transactionalPort).transactional(any(Mono.class));
+            inOrder.verify(userRepository).save(any(User.class));
+        }
+
         @Test
         void saveUser_whenRoleNotFound_shouldReturnError() {
             when(roleRepository.findOne(any(Role.class))).thenReturn(Mono.empty());
@@ -102,14 +128,15 @@ class UserUseCaseTest {
             StepVerifier.create(userUseCase.saveUser(userToSave))
                     .expectError(RoleNotFoundException.class)
                     .verify();
+
+            verify(passwordEncoderPort, never()).encode(anyString());
         }
 
         @Test
         void saveUser_whenEmailExists_shouldReturnError() {
             when(roleRepository.findOne(any(Role.class))).thenReturn(Mono.just(defaultRole));
-            when(userRepository.exists(any(User.class)))
-                    .thenReturn(Mono.just(true))
-                    .thenReturn(Mono.just(false));
+            when(passwordEncoderPort.encode(anyString())).thenReturn(Mono.just("hashed_password"));
+            when(userRepository.save(any(User.class))).thenReturn(Mono.error(new EmailTakenException()));
 
             StepVerifier.create(userUseCase.saveUser(userToSave))
                     .expectError(EmailTakenException.class)
@@ -119,14 +146,27 @@ class UserUseCaseTest {
         @Test
         void saveUser_whenIdNumberExists_shouldReturnError() {
             when(roleRepository.findOne(any(Role.class))).thenReturn(Mono.just(defaultRole));
-            when(userRepository.exists(any(User.class)))
-                    .thenReturn(Mono.just(false))
-                    .thenReturn(Mono.just(true));
+            when(passwordEncoderPort.encode(anyString())).thenReturn(Mono.just("hashed_password"));
+            when(userRepository.save(any(User.class))).thenReturn(Mono.error(new IdNumberTakenException()));
 
             StepVerifier.create(userUseCase.saveUser(userToSave))
                     .expectError(IdNumberTakenException.class)
                     .verify();
         }
+
+        @Test
+        void saveUser_shouldLeaveUniquenessToTheInsert() {
+            when(roleRepository.findOne(any(Role.class))).thenReturn(Mono.just(defaultRole));
+            when(passwordEncoderPort.encode(anyString())).thenReturn(Mono.just("hashed_password"));
+            when(userRepository.save(any(User.class))).thenAnswer(invocation -> Mono.just(invocation.getArgument(0)));
+
+            StepVerifier.create(userUseCase.saveUser(userToSave))
+                    .expectNextCount(1)
+                    .verifyComplete();
+
+            verify(userRepository).save(any(User.class));
+            verifyNoMoreInteractions(userRepository);
+        }
     }
 
     @Nested
@@ -134,17 +174,29 @@ class UserUseCaseTest {
 
         @Test
         void findByIdNumber_whenFound_shouldReturnUser() {
-            when(userRepository.findOne(any(User.class))).thenReturn(Mono.just(userToSave));
-            when(roleRepository.findOne(any(Role.class))).thenReturn(Mono.just(defaultRole));
+            when(userRepository.findWithRoleByIdNumber("123456789")).thenReturn(Mono.just(userToSave));
 
             StepVerifier.create(userUseCase.findByIdNumber("123456789"))
-                    .expectNextMatches(foundUser -> "123456789".equals(foundUser.getIdNumber()))
+                    .expectNextMatches(foundUser -> "123456789".equals(foundUser.getIdNumber())
+                            && defaultRole.equals(foundUser.getRole()))
                     .verifyComplete();
+
+            verifyNoInteractions(roleRepository);
+        }
+
+        @Test
+        void findByIdNumber_whenRoleIsMissing_shouldFail() {
+            User withoutRole = userToSave.toBuilder().role(Role.builder().rolId(99).build()).build();
+            when(userRepository.findWithRoleByIdNumber("123456789")).thenReturn(Mono.just(withoutRole));
+
+            StepVerifier.create(userUseCase.findByIdNumber("123456789"))
+                    .expectError(RoleNotFoundException.class)
+                    .verify();
         }
 
         @Test
         void findByIdNumber_whenNotFound_shouldReturnEmpty() {
-            when(userRepository.findOne(any(User.class))).thenReturn(Mono.empty());
+            when(userRepository.findWithRoleByIdNumber("123456789")).thenReturn(Mono.empty());
 
             StepVerifier.create(userUseCase.findByIdNumber("123456789"))
                     .verifyComplete();
@@ -154,7 +206,7 @@ class UserUseCaseTest {
         void findByIdNumber_whenRepositoryFails_shouldLogError() {
             String idNumber = "123456789";
             RuntimeException dbError = new RuntimeException("DB is down");
-            when(userRepository.findOne(any(User.class))).thenReturn(Mono.error(dbError));
+            when(userRepository.findWithRoleByIdNumber(idNumber)).thenReturn(Mono.error(dbError));
 
             StepVerifier.create(userUseCase.findByIdNumber(idNumber))
                     .expectError(RuntimeException.class)
@@ -202,12 +254,81 @@ class UserUseCaseTest {
     @Nested
     class FindUsersByFilterTests {
         @Test
-        void findUsersByFilter_shouldReturnFluxOfUsers() {
+        void findUsersByFilter_shouldReturnFirstPageWithoutNextCursorWhenEverythingFits() {
             UserFilter filter = UserFilter.builder().name("John").build();
-            when(userRepository.findUsersByFilter(filter)).thenReturn(Flux.just(userToSave));
+            when(userRepository.findUsersByFilter(filter, null, DefaultValues.DEFAULT_PAGE_SIZE + 1))
+                    .thenReturn(Flux.just(userToSave));
+
+            StepVerifier.create(userUseCase.findUsersByFilter(filter, KeysetPageRequest.first()))
+                    .assertNext(page -> {
+                        assertThat(page.items()).containsExactly(userToSave);
+                        assertThat(page.hasNext()).isFalse();
+                        assertThat(page.totalCount()).isNull();
+                    })
+                    .verifyComplete();
 
-            StepVerifier.create(userUseCase.findUsersByFilter(filter))
-                    .expectNext(userToSave)
+            verify(transactionalPort).readOnly(any(Mono.class));
+            verify(userRepository, never()).countUsersByFilter(any());
+        }
+
+        @Test
+        void findUsersByFilter_whenMoreRowsThanPageSize_shouldReturnCursorOfLastItem() {
+            UserFilter filter = UserFilter.builder().name("John").build();
+            User first = User.builder().userId(11).build();
+            User second = User.builder().userId(12).build();
+            User third = User.builder().userId(13).build();
+            when(userRepository.findUsersByFilter(filter, 10, 3)).thenReturn(Flux.just(first, second, third));
+            when(userRepository.countUsersByFilter(filter)).thenReturn(Mono.just(42L));
+
+            StepVerifier.create(userUseCase.findUsersByFilter(filter, new KeysetPageRequest(10, 2, true)))
+                    .assertNext(page -> {
+                        assertThat(page.items()).containsExactly(first, second);
+                        assertThat(page.nextAfterId()).isEqualTo(12);
+                        assertThat(page.totalCount()).isEqualTo(42L);
+                    })
+                    .verifyComplete();
+        }
+
+        @Test
+        void findUsersByFilter_whenRankedSearch_shouldReturnASinglePageWithoutCursor() {
+            UserFilter filter = UserFilter.builder().name("John").nameMatch(MatchMode.FULLTEXT).build();
+            User first = User.builder().userId(30).build();
+            User second = User.builder().userId(12).build();
+            when(userRepository.isRankedSearch(filter)).thenReturn(true);
+            when(userRepository.findUsersByFilter(filter, null, 2)).thenReturn(Flux.just(first, second));
+
+            StepVerifier.create(userUseCase.findUsersByFilter(filter, new KeysetPageRequest(10, 2, false)))
+                    .assertNext(page -> {
+                        assertThat(page.items()).containsExactly(first, second);
+                        assertThat(page.hasNext()).isFalse();
+                    })
+                    .verifyComplete();
+        }
+
+        @Test
+        void findUsersByFilter_whenFullTextSearchIsNotRanked_shouldKeepKeysetPaging() {
+            UserFilter filter = UserFilter.builder().name("Al").nameMatch(MatchMode.FULLTEXT).build();
+            User first = User.builder().userId(11).build();
+            User second = User.builder().userId(12).build();
+            User third = User.builder().userId(13).build();
+            when(userRepository.isRankedSearch(filter)).thenReturn(false);
+            when(userRepository.findUsersByFilter(filter, 10, 3)).thenReturn(Flux.just(first, second, third));
+
+            StepVerifier.create(userUseCase.findUsersByFilter(filter, new KeysetPageRequest(10, 2, false)))
+                    .assertNext(page -> {
+                        assertThat(page.items()).containsExactly(first, second);
+                        assertThat(page.nextAfterId()).isEqualTo(12);
+                    })
+                    .verifyComplete();
+        }
+
+        @Test
+        void findUsersByFilter_shouldCapPageSize() {
+            UserFilter filter = UserFilter.builder().name("John").build();
+            when(userRepository.findUsersByFilter(filter, null, DefaultValues.MAX_PAGE_SIZE + 1)).thenReturn(Flux.empty());
+
+            StepVerifier.create(userUseCase.findUsersByFilter(filter, new KeysetPageRequest(null, 100_000, false)))
+                    .assertNext(page -> assertThat(page.items()).isEmpty())
                     .verifyComplete();
         }
 
@@ -215,9 +336,10 @@ class UserUseCaseTest {
         void findUsersByFilter_whenRepositoryFails_shouldLogError() {
             UserFilter filter = UserFilter.builder().name("John").build();
             RuntimeException dbError = new RuntimeException("DB is down");
-            when(userRepository.findUsersByFilter(filter)).thenReturn(Flux.error(dbError));
+            when(userRepository.findUsersByFilter(filter, null, DefaultValues.DEFAULT_PAGE_SIZE + 1))
+                    .thenReturn(Flux.error(dbError));
 
-            StepVerifier.create(userUseCase.findUsersByFilter(filter))
+            StepVerifier.create(userUseCase.findUsersByFilter(filter, null))
                     .expectError(RuntimeException.class)
                     .verify();
 
@@ -225,6 +347,30 @@ class UserUseCaseTest {
         }
     }
 
+    @Nested
+    class StreamUsersByFilterTests {
+        @Test
+        void streamUsersByFilter_shouldEmitEveryUserAfterTheCursor() {
+            UserFilter filter = UserFilter.builder().name("John").build();
+            when(userRepository.streamUsersByFilter(filter, 10)).thenReturn(Flux.just(userToSave, userToSave));
+
+            StepVerifier.create(userUseCase.streamUsersByFilter(filter, 10))
+                    .expectNextCount(2)
+                    .verifyComplete();
+
+            verify(transactionalPort).readOnly(any(Flux.class));
+        }
+
+        @Test
+        void streamUsersByFilter_whenFilterIsEmpty_shouldFailWithoutQuerying() {
+            StepVerifier.create(userUseCase.streamUsersByFilter(UserFilter.builder().build(), null))
+                    .expectError(FilterEmptyException.class)
+                    .verify();
+
+            verify(userRepository, never()).streamUsersByFilter(any(), any());
+        }
+    }
+
     @Nested
     class FindByEmailTests {
         @Test
@@ -263,4 +409,119 @@ class UserUseCaseTest {
             verify(logger).error(LogMessages.ERROR_FINDING_USER_EMAILS, dbError);
         }
     }
-}
\ No newline at end of file
+
+    @Nested
+    class SendReportToAdminsTests {
+        @Test
+        void sendReportToAdmins_shouldSendTheEmailsOfTheAdminRole() {
+            when(roleRepository.findOne(Role.builder().name(DefaultValues.ADMIN_ROLE_NAME).build()))
+                    .thenReturn(Mono.just(Role.builder().rolId(1).name(DefaultValues.ADMIN_ROLE_NAME).build()));
+            when(userRepository.findEmailsByRole(1)).thenReturn(Flux.just("admin@example.com", "root@example.com"));
+            when(sqsPort.sendEmails(List.of("admin@example.com", "root@example.com"))).thenReturn(Mono.empty());
+
+            StepVerifier.create(userUseCase.sendReportToAdmins())
+                    .expectNext("Sending emails")
+                    .verifyComplete();
+        }
+    }
+
+    @Nested
+    class ImportUsersTests {
+
+        @BeforeEach
+        void setUp() {
+            lenient().when(roleRepository.findOne(any(Role.class))).thenReturn(Mono.just(defaultRole));
+            lenient().when(passwordEncoderPort.encode(anyString()))
+                    .thenAnswer(invocation -> Mono.just("hashed_" + invocation.getArgument(0)));
+            lenient().when(userRepository.findAllByEmailOrIdNumber(anyCollection(), anyCollection())).thenReturn(Flux.empty());
+            lenient().when(userRepository.saveAll(anyList())).thenAnswer(invocation -> {
+                List<User> users = invocation.getArgument(0);
+                return Flux.range(0, users.size())
+                        .map(i -> users.get(i).toBuilder().userId(100 + i).build());
+            });
+        }
+
+        @Test
+        void importUsers_shouldResolveTheRoleOnceAndInsertTheChunkInOneBatch() {
+            StepVerifier.create(userUseCase.importUsers(Flux.just(row("a"), row("b"), row("c"))))
+                    .assertNext(result -> {
+                        assertThat(result.index()).isZero();
+                        assertThat(result.user().getUserId()).isEqualTo(100);
+                        assertThat(result.user().getPassword()).isEqualTo("hashed_password_a");
+                        assertThat(result.isRejected()).isFalse();
+                    })
+                    .assertNext(result -> assertThat(result.user().getUserId()).isEqualTo(101))
+                    .assertNext(result -> assertThat(result.user().getUserId()).isEqualTo(102))
+                    .verifyComplete();
+
+            verify(roleRepository, times(1)).findOne(any(Role.class));
+            verify(userRepository, times(1)).findAllByEmailOrIdNumber(anyCollection(), anyCollection());
+            verify(userRepository, times(1)).saveAll(argThat(users -> users.size() == 3));
+            verify(userRepository, never()).save(any(User.class));
+        }
+
+        @Test
+        void importUsers_shouldRejectInvalidAndDuplicatedRowsWithoutStopping() {
+            User registered = User.builder().email("other@example.com").idNumber("id-d").build();
+            when(userRepository.findAllByEmailOrIdNumber(anyCollection(), anyCollection())).thenReturn(Flux.just(registered));
+            User blankName = row("b").toBuilder().name(" ").build();
+            User sameEmail = row("c").toBuilder().email("USER_A@example.com").build();
+
+            StepVerifier.create(userUseCase.importUsers(Flux.just(row("a"), blankName, sameEmail, row("d"), row("e"))))
+                    .assertNext(result -> assertThat(result.isRejected()).isFalse())
+                    .assertNext(result -> {
+                        assertThat(result.index()).isEqualTo(1);
+                        assertThat(result.errorCode()).isEqualTo(ErrorMessage.REQUIRED_FIELDS_CODE);
+                        assertThat(result.user()).isNull();
+                    })
+                    .assertNext(result -> assertThat(result.errorCode()).isEqualTo(ErrorMessage.EMAIL_TAKEN_CODE))
+                    .assertNext(result -> assertThat(result.errorCode()).isEqualTo(ErrorMessage.ID_NUMBER_TAKEN_CODE))
+                    .assertNext(result -> {
+                        assertThat(result.index()).isEqualTo(4);
+                        assertThat(result.user().getUserId()).isEqualTo(101);
+                    })
+                    .verifyComplete();
+
+            verify(passwordEncoderPort, times(2)).encode(anyString());
+        }
+
+        @Test
+        void importUsers_whenAConcurrentRegistrationCollides_shouldSaveTheChunkRowByRow() {
+            when(userRepository.saveAll(anyList())).thenReturn(Flux.error(new EmailTakenException()));
+            when(userRepository.save(any(User.class))).thenAnswer(invocation -> {
+                User user = invocation.getArgument(0);
+                return user.getEmail().startsWith("user_a")
+                        ? Mono.error(new EmailTakenException())
+                        : Mono.just(user.toBuilder().userId(7).build());
+            });
+
+            StepVerifier.create(userUseCase.importUsers(Flux.just(row("a"), row("b"))))
+                    .assertNext(result -> assertThat(result.errorCode()).isEqualTo(ErrorMessage.EMAIL_TAKEN_CODE))
+                    .assertNext(result -> assertThat(result.user().getUserId()).isEqualTo(7))
+                    .verifyComplete();
+
+            verify(logger).warn(LogMessages.IMPORTED_USERS_CHUNK_CONFLICT, 2);
+        }
+
+        @Test
+        void importUsers_shouldQueryAndInsertOncePerChunk() {
+            Flux<User> rows = Flux.range(0, DefaultValues.IMPORT_CHUNK_SIZE + 1).map(i -> row(String.valueOf(i)));
+
+            StepVerifier.create(userUseCase.importUsers(rows))
+                    .expectNextCount(DefaultValues.IMPORT_CHUNK_SIZE + 1L)
+                    .verifyComplete();
+
+            verify(userRepository, times(2)).findAllByEmailOrIdNumber(anyCollection(), anyCollection());
+            verify(userRepository).saveAll(argThat(users -> users.size() == DefaultValues.IMPORT_CHUNK_SIZE));
+            verify(userRepository).saveAll(argThat(users -> users.size() == 1));
+        }
+
+        private User row(String key) {
+            return userToSave.toBuilder()
+                    .email("user_" + key + "@example.com")
+                    .idNumber("id-" + key)
+                    .password("password_" + key)
+                    .build();
+        }
+    }
+}
@@ -0,0 +1,65 @@
+package co.com.pragma.jwtadapter;
+
+import co.com.pragma.jwtadapter.config.JwtConfig;
+import co.com.pragma.jwtadapter.config.JwtProperties;
+import co.com.pragma.jwtadapter.key.JwtAlgorithm;
+import co.com.pragma.jwtadapter.key.JwtKeys;
+import co.com.pragma.model.jwt.JwtData;
+import co.com.pragma.model.role.Role;
+import co.com.pragma.model.user.User;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.Base64;
+
+/**
+ * Token minting and verification cost per supported signature algorithm.
+ */
+@State(Scope.Benchmark)
+public class JwtAlgorithmBenchmark {
+
+    @Param({"RS256", "ES256", "EDDSA"})
+    private JwtAlgorithm algorithm;
+
+    private JwtProviderAdapter adapter;
+    private User user;
+    private String token;
+
+    @Setup
+    public void setUp() {
+        JwtKeys keys = JwtKeys.generate(algorithm, 2048);
+        JwtProperties properties = new JwtProperties();
+        properties.setAlgorithm(algorithm);
+        properties.setPrivateKey(toPem("PRIVATE KEY", keys.privateKey().getEncoded()));
+        properties.setPublicKey(toPem("PUBLIC KEY", keys.publicKey().getEncoded()));
+        adapter = new JwtProviderAdapter(properties, new JwtConfig().jwtKeyRing(properties));
+
+        user = User.builder()
+                .name("John")
+                .lastName("Doe")
+                .email("john.doe@example.com")
+                .idNumber("123456789")
+                .role(Role.builder().rolId(1).name("ADMIN").build())
+                .build();
+        token = adapter.generateToken(user);
+    }
+
+    @Benchmark
+    public String sign() {
+        return adapter.generateToken(user);
+    }
+
+    @Benchmark
+    public JwtData verify() {
+        return adapter.getClaims(token);
+    }
+
+    private static String toPem(String type, byte[] encoded) {
+        return "-----BEGIN " + type + "-----\n"
+                + Base64.getMimeEncoder(64, "\n".getBytes()).encodeToString(encoded)
+                + "\n-----END " + type + "-----";
+    }
+}
@@ -0,0 +1,46 @@
+package co.com.pragma.jwtadapter;
+
+import co.com.pragma.jwtadapter.config.JwtProperties;
+import co.com.pragma.jwtadapter.key.JwtKeyRing;
+import co.com.pragma.jwtadapter.key.JwtKeys;
+import co.com.pragma.jwtadapter.key.SigningKey;
+import co.com.pragma.model.logs.gateways.LoggerPort;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.Instant;
+
+import static co.com.pragma.model.constants.LogMessages.JWT_SIGNING_KEY_ROTATED;
+
+@Component
+@RequiredArgsConstructor
+@ConditionalOnProperty(prefix = "security.jwt.rotation", name = "enabled", havingValue = "true")
+public class JwtKeyRotationSchedule {
+
+    private final JwtKeyRing keyRing;
+    private final JwtProperties jwtProperties;
+    private final LoggerPort logger;
+
+    @Scheduled(
+            initialDelayString = "${security.jwt.rotation.interval:1d}",
+            fixedDelayString = "${security.jwt.rotation.interval:1d}"
+    )
+    public void rotate() {
+        JwtProperties.Rotation rotation = jwtProperties.getRotation();
+        JwtKeys upcoming = JwtKeys.generate(keyRing.algorithm(), rotation.getRsaKeySize());
+        keyRing.rotate(upcoming, Instant.now(), gracePeriod(rotation));
+        logger.info(JWT_SIGNING_KEY_ROTATED,
+                keyRing.active().kid(),
+                keyRing.next().map(SigningKey::kid).orElse(null),
+                keyRing.retiring().size());
+    }
+
+    private Duration gracePeriod(JwtProperties.Rotation rotation) {
+        Duration tokenLifetime = Duration.ofSeconds(jwtProperties.getExpiration());
+        Duration configured = rotation.getGracePeriod();
+        return configured == null || configured.compareTo(tokenLifetime) < 0 ? tokenLifetime : configured;
+    }
+}
@@ -0,0 +1,30 @@
+package co.com.pragma.jwtadapter.config;
+
+import co.com.pragma.jwtadapter.key.JwtAlgorithm;
+import co.com.pragma.jwtadapter.key.JwtKeyRing;
+import co.com.pragma.jwtadapter.key.JwtKeys;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+
+@Configuration
+@EnableConfigurationProperties(JwtProperties.class)
+public class JwtConfig {
+
+    @Bean
+    public JwtKeyRing jwtKeyRing(JwtProperties properties) {
+        JwtAlgorithm algorithm = properties.getAlgorithm();
+        JwtKeys configured = JwtKeys.fromPem(properties.getPrivateKey(), properties.getPublicKey(), algorithm);
+        JwtProperties.Rotation rotation = properties.getRotation();
+        if (!Boolean.TRUE.equals(rotation.getEnabled())) {
+            return new JwtKeyRing(algorithm, configured, null, properties.getJwksMaxAge());
+        }
+        // Consumers must refresh the JWKS at least once per interval to see the next key before it signs.
+        Duration maxAge = properties.getJwksMaxAge().compareTo(rotation.getInterval()) < 0
+                ? properties.getJwksMaxAge()
+                : rotation.getInterval();
+        return new JwtKeyRing(algorithm, configured, JwtKeys.generate(algorithm, rotation.getRsaKeySize()), maxAge);
+    }
+}
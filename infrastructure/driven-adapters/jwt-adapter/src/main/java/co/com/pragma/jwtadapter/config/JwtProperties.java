@@ -1,13 +1,38 @@
 package co.com.pragma.jwtadapter.config;
 
+import co.com.pragma.jwtadapter.key.JwtAlgorithm;
 import lombok.Data;
 import org.springframework.boot.context.properties.ConfigurationProperties;
 
+import java.time.Duration;
+
 @Data
 @ConfigurationProperties(prefix = "security.jwt")
 public class JwtProperties {
 
+    private JwtAlgorithm algorithm = JwtAlgorithm.RS256;
     private String privateKey;
     private String publicKey;
     private Long expiration = 3600L;
+    private Duration jwksMaxAge = Duration.ofMinutes(15);
+    private Rotation rotation = new Rotation();
+    private RefreshToken refreshToken = new RefreshToken();
+
+    /**
+     * In-memory key rotation. Generated keys are not shared between instances, so only enable it when a single
+     * instance mints tokens or every instance is reachable through the same JWKS.
+     */
+    @Data
+    public static class Rotation {
+        private Boolean enabled = false;
+        private Duration interval = Duration.ofDays(1);
+        private Duration gracePeriod;
+        private Integer rsaKeySize = 2048;
+    }
+
+    @Data
+    public static class RefreshToken {
+        private Duration timeToLive = Duration.ofDays(7);
+        private Integer length = 32;
+    }
 }
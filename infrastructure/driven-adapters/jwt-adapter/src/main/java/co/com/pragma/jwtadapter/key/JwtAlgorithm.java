@@ -0,0 +1,26 @@
+package co.com.pragma.jwtadapter.key;
+
+import com.nimbusds.jose.JWSAlgorithm;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.security.SecureDigestAlgorithm;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+import java.security.PrivateKey;
+import java.security.PublicKey;
+
+/**
+ * Supported token signature algorithms. ES256 and EdDSA (Ed25519) sign considerably faster than RS256 and produce
+ * smaller keys and signatures; RS256 remains the default for consumers that only understand RSA.
+ */
+@Getter
+@RequiredArgsConstructor
+public enum JwtAlgorithm {
+    RS256("RSA", JWSAlgorithm.RS256, Jwts.SIG.RS256),
+    ES256("EC", JWSAlgorithm.ES256, Jwts.SIG.ES256),
+    EDDSA("Ed25519", JWSAlgorithm.EdDSA, Jwts.SIG.EdDSA);
+
+    private final String keyAlgorithm;
+    private final JWSAlgorithm jwsAlgorithm;
+    private final SecureDigestAlgorithm<PrivateKey, PublicKey> signatureAlgorithm;
+}
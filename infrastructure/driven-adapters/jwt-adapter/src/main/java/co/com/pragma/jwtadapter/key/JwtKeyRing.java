@@ -0,0 +1,122 @@
+package co.com.pragma.jwtadapter.key;
+
+import co.com.pragma.model.exceptions.KeyException;
+import co.com.pragma.model.jwt.JwksDocument;
+import com.nimbusds.jose.jwk.JWK;
+import com.nimbusds.jose.jwk.JWKSet;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * Set of keys the service signs and verifies tokens with.
+ * <ul>
+ *     <li>{@code active}: signs every new token.</li>
+ *     <li>{@code next}: already published in the JWKS so consumers have it cached before it starts signing.</li>
+ *     <li>{@code retiring}: former active keys, kept for verification until the tokens they signed have expired.</li>
+ * </ul>
+ * The ring is swapped atomically on rotation and the JWKS document is serialized once per swap, so readers never
+ * lock nor rebuild anything on the request path.
+ */
+public class JwtKeyRing {
+
+    private static final String ETAG_DIGEST_ALGORITHM = "SHA-256";
+
+    private final JwtAlgorithm algorithm;
+    private final long jwksMaxAgeSeconds;
+    private volatile Snapshot snapshot;
+
+    public JwtKeyRing(JwtAlgorithm algorithm, JwtKeys active, JwtKeys next, Duration jwksMaxAge) {
+        this.algorithm = algorithm;
+        this.jwksMaxAgeSeconds = jwksMaxAge.toSeconds();
+        this.snapshot = snapshot(
+                SigningKey.of(active, algorithm),
+                next == null ? null : SigningKey.of(next, algorithm),
+                List.of()
+        );
+    }
+
+    public JwtAlgorithm algorithm() {
+        return algorithm;
+    }
+
+    public SigningKey active() {
+        return snapshot.active();
+    }
+
+    public Optional<SigningKey> next() {
+        return Optional.ofNullable(snapshot.next());
+    }
+
+    public List<SigningKey> retiring() {
+        return snapshot.retiring();
+    }
+
+    public Optional<SigningKey> find(String kid) {
+        return Optional.ofNullable(snapshot.byKid().get(kid));
+    }
+
+    public JwksDocument jwks() {
+        return snapshot.jwks();
+    }
+
+    /**
+     * Promotes the upcoming key to active, publishes {@code upcoming} as the new upcoming key and keeps the former
+     * active key for verification during {@code gracePeriod}. Retiring keys whose grace period is over are dropped.
+     */
+    public synchronized void rotate(JwtKeys upcoming, Instant now, Duration gracePeriod) {
+        Snapshot current = snapshot;
+        List<SigningKey> retiring = new ArrayList<>();
+        retiring.add(current.active().retireAt(now.plus(gracePeriod)));
+        current.retiring().stream()
+                .filter(key -> !key.isRetiredAt(now))
+                .forEach(retiring::add);
+
+        SigningKey upcomingKey = SigningKey.of(upcoming, algorithm);
+        SigningKey active = current.next() != null ? current.next() : upcomingKey;
+        SigningKey next = current.next() != null ? upcomingKey : null;
+        snapshot = snapshot(active, next, List.copyOf(retiring));
+    }
+
+    // START Private methods ****
+
+    private Snapshot snapshot(SigningKey active, SigningKey next, List<SigningKey> retiring) {
+        Map<String, SigningKey> byKid = new LinkedHashMap<>();
+        byKid.put(active.kid(), active);
+        if (next != null) {
+            byKid.put(next.kid(), next);
+        }
+        retiring.forEach(key -> byKid.putIfAbsent(key.kid(), key));
+
+        List<JWK> jwks = byKid.values().stream()
+                .map(key -> key.jwk().toPublicJWK())
+                .toList();
+        byte[] content = new JWKSet(jwks).toString(true).getBytes(StandardCharsets.UTF_8);
+        JwksDocument document = new JwksDocument(content, etag(content), jwksMaxAgeSeconds);
+        return new Snapshot(active, next, retiring, Map.copyOf(byKid), document);
+    }
+
+    private static String etag(byte[] content) {
+        try {
+            byte[] digest = MessageDigest.getInstance(ETAG_DIGEST_ALGORITHM).digest(content);
+            return "\"" + Base64.getUrlEncoder().withoutPadding().encodeToString(digest) + "\"";
+        } catch (NoSuchAlgorithmException ex) {
+            throw new KeyException();
+        }
+    }
+
+    private record Snapshot(SigningKey active, SigningKey next, List<SigningKey> retiring,
+                            Map<String, SigningKey> byKid, JwksDocument jwks) {
+    }
+
+    // END Private methods ****
+}
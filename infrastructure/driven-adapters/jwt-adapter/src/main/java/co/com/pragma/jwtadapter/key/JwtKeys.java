@@ -0,0 +1,57 @@
+package co.com.pragma.jwtadapter.key;
+
+import co.com.pragma.model.exceptions.KeyException;
+
+import java.security.GeneralSecurityException;
+import java.security.KeyFactory;
+import java.security.KeyPair;
+import java.security.KeyPairGenerator;
+import java.security.PrivateKey;
+import java.security.PublicKey;
+import java.security.spec.ECGenParameterSpec;
+import java.security.spec.PKCS8EncodedKeySpec;
+import java.security.spec.X509EncodedKeySpec;
+import java.util.Base64;
+import java.util.regex.Pattern;
+
+/**
+ * Immutable holder of a signing key pair, either parsed once from the configured PEM strings or generated in memory.
+ */
+public record JwtKeys(PrivateKey privateKey, PublicKey publicKey) {
+
+    private static final String EC_CURVE = "secp256r1";
+    private static final Pattern PEM_DECORATION = Pattern.compile("-----(BEGIN|END) [A-Z ]+-----|\\s");
+
+    public static JwtKeys fromPem(String privateKeyPem, String publicKeyPem, JwtAlgorithm algorithm) {
+        try {
+            KeyFactory keyFactory = KeyFactory.getInstance(algorithm.getKeyAlgorithm());
+            PrivateKey privateKey = keyFactory.generatePrivate(new PKCS8EncodedKeySpec(decodePem(privateKeyPem)));
+            PublicKey publicKey = keyFactory.generatePublic(new X509EncodedKeySpec(decodePem(publicKeyPem)));
+            return new JwtKeys(privateKey, publicKey);
+        } catch (GeneralSecurityException | IllegalArgumentException ex) {
+            throw new KeyException();
+        }
+    }
+
+    public static JwtKeys generate(JwtAlgorithm algorithm, int rsaKeySize) {
+        try {
+            KeyPairGenerator generator = KeyPairGenerator.getInstance(algorithm.getKeyAlgorithm());
+            if (algorithm == JwtAlgorithm.RS256) {
+                generator.initialize(rsaKeySize);
+            } else if (algorithm == JwtAlgorithm.ES256) {
+                generator.initialize(new ECGenParameterSpec(EC_CURVE));
+            }
+            KeyPair keyPair = generator.generateKeyPair();
+            return new JwtKeys(keyPair.getPrivate(), keyPair.getPublic());
+        } catch (GeneralSecurityException | IllegalArgumentException ex) {
+            throw new KeyException();
+        }
+    }
+
+    private static byte[] decodePem(String pem) {
+        if (pem == null) {
+            throw new KeyException();
+        }
+        return Base64.getDecoder().decode(PEM_DECORATION.matcher(pem).replaceAll(""));
+    }
+}
@@ -0,0 +1,71 @@
+package co.com.pragma.jwtadapter.key;
+
+import co.com.pragma.model.exceptions.KeyException;
+import com.nimbusds.jose.JOSEException;
+import com.nimbusds.jose.jwk.Curve;
+import com.nimbusds.jose.jwk.ECKey;
+import com.nimbusds.jose.jwk.JWK;
+import com.nimbusds.jose.jwk.KeyUse;
+import com.nimbusds.jose.jwk.OctetKeyPair;
+import com.nimbusds.jose.jwk.RSAKey;
+import com.nimbusds.jose.util.Base64URL;
+
+import java.security.PrivateKey;
+import java.security.PublicKey;
+import java.security.interfaces.ECPublicKey;
+import java.security.interfaces.RSAPublicKey;
+import java.time.Instant;
+import java.util.Arrays;
+
+/**
+ * A key pair of the ring identified by its RFC 7638 thumbprint, which is also used as the {@code kid} header.
+ * {@code retiresAt} is {@code null} while the key is active or upcoming.
+ */
+public record SigningKey(String kid, JwtAlgorithm algorithm, PrivateKey privateKey, PublicKey publicKey, JWK jwk,
+                         Instant retiresAt) {
+
+    // X.509 SubjectPublicKeyInfo of an Ed25519 key is a fixed 12 byte prefix followed by the raw 32 byte key
+    private static final int ED25519_KEY_LENGTH = 32;
+
+    public static SigningKey of(JwtKeys keys, JwtAlgorithm algorithm) {
+        try {
+            JWK thumbprintKey = publicJwk(keys.publicKey(), algorithm);
+            String kid = thumbprintKey.computeThumbprint().toString();
+            JWK jwk = withMetadata(thumbprintKey, algorithm, kid);
+            return new SigningKey(kid, algorithm, keys.privateKey(), keys.publicKey(), jwk, null);
+        } catch (JOSEException | ClassCastException | IllegalArgumentException ex) {
+            throw new KeyException();
+        }
+    }
+
+    public SigningKey retireAt(Instant instant) {
+        return new SigningKey(kid, algorithm, privateKey, publicKey, jwk, instant);
+    }
+
+    public boolean isRetiredAt(Instant instant) {
+        return retiresAt != null && !retiresAt.isAfter(instant);
+    }
+
+    private static JWK publicJwk(PublicKey publicKey, JwtAlgorithm algorithm) {
+        return switch (algorithm) {
+            case RS256 -> new RSAKey.Builder((RSAPublicKey) publicKey).build();
+            case ES256 -> new ECKey.Builder(Curve.P_256, (ECPublicKey) publicKey).build();
+            case EDDSA -> {
+                byte[] encoded = publicKey.getEncoded();
+                byte[] raw = Arrays.copyOfRange(encoded, encoded.length - ED25519_KEY_LENGTH, encoded.length);
+                yield new OctetKeyPair.Builder(Curve.Ed25519, Base64URL.encode(raw)).build();
+            }
+        };
+    }
+
+    private static JWK withMetadata(JWK jwk, JwtAlgorithm algorithm, String kid) {
+        return switch (algorithm) {
+            case RS256 -> new RSAKey.Builder((RSAKey) jwk)
+                    .keyUse(KeyUse.SIGNATURE).algorithm(algorithm.getJwsAlgorithm()).keyID(kid).build();
+            case ES256 -> new ECKey.Builder((ECKey) jwk)
+                    .keyUse(KeyUse.SIGNATURE).algorithm(algorithm.getJwsAlgorithm()).keyID(kid).build();
+            case EDDSA -> new OctetKeyPair.Builder((OctetKeyPair) jwk)
+                    .keyUse(KeyUse.SIGNATURE).algorithm(algorithm.getJwsAlgorithm()).keyID(kid).build();
+        };
+    }
+}
@@ -0,0 +1,51 @@
+package co.com.pragma.jwtadapter.refresh;
+
+import co.com.pragma.jwtadapter.config.JwtProperties;
+import co.com.pragma.model.exceptions.KeyException;
+import co.com.pragma.model.refreshtoken.gateways.RefreshTokenProviderPort;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.security.SecureRandom;
+import java.time.Duration;
+import java.util.Base64;
+import java.util.HexFormat;
+
+/**
+ * Opaque refresh tokens: random bytes encoded as base64url. Only their SHA-256 is stored, a slow hash is not needed
+ * because the tokens carry full entropy instead of user chosen secrets.
+ */
+@Component
+@RequiredArgsConstructor
+public class RefreshTokenProviderAdapter implements RefreshTokenProviderPort {
+
+    private static final String DIGEST_ALGORITHM = "SHA-256";
+
+    private final SecureRandom secureRandom = new SecureRandom();
+    private final JwtProperties jwtProperties;
+
+    @Override
+    public String generateToken() {
+        byte[] bytes = new byte[jwtProperties.getRefreshToken().getLength()];
+        secureRandom.nextBytes(bytes);
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(bytes);
+    }
+
+    @Override
+    public String hash(String token) {
+        try {
+            byte[] digest = MessageDigest.getInstance(DIGEST_ALGORITHM).digest(token.getBytes(StandardCharsets.UTF_8));
+            return HexFormat.of().formatHex(digest);
+        } catch (NoSuchAlgorithmException ex) {
+            throw new KeyException();
+        }
+    }
+
+    @Override
+    public Duration getTimeToLive() {
+        return jwtProperties.getRefreshToken().getTimeToLive();
+    }
+}
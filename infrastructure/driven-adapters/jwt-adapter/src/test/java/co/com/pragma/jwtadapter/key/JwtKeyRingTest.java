@@ -0,0 +1,140 @@
+package co.com.pragma.jwtadapter.key;
+
+import co.com.pragma.model.jwt.JwksDocument;
+import com.nimbusds.jose.jwk.JWK;
+import com.nimbusds.jose.jwk.JWKSet;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+
+import java.nio.charset.StandardCharsets;
+import java.text.ParseException;
+import java.time.Duration;
+import java.time.Instant;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class JwtKeyRingTest {
+
+    private static final Duration MAX_AGE = Duration.ofMinutes(15);
+    private static final Duration GRACE = Duration.ofHours(1);
+    private static final Instant NOW = Instant.parse("2026-01-01T00:00:00Z");
+
+    private static JwtKeys first;
+    private static JwtKeys second;
+    private static JwtKeys third;
+
+    @BeforeAll
+    static void generateKeys() {
+        first = JwtKeys.generate(JwtAlgorithm.RS256, 2048);
+        second = JwtKeys.generate(JwtAlgorithm.RS256, 2048);
+        third = JwtKeys.generate(JwtAlgorithm.RS256, 2048);
+    }
+
+    @Nested
+    @DisplayName("Without rotation")
+    class StaticRing {
+
+        private JwtKeyRing keyRing;
+
+        @BeforeEach
+        void setUp() {
+            keyRing = new JwtKeyRing(JwtAlgorithm.RS256, first, null, MAX_AGE);
+        }
+
+        @Test
+        void jwks_shouldPublishOnlyTheActiveKey() throws ParseException {
+            JWKSet jwkSet = parse(keyRing.jwks());
+
+            assertThat(jwkSet.getKeys()).hasSize(1);
+            assertThat(jwkSet.getKeys().get(0).getKeyID()).isEqualTo(keyRing.active().kid());
+            assertThat(jwkSet.getKeys().get(0).isPrivate()).isFalse();
+            assertThat(keyRing.jwks().maxAgeSeconds()).isEqualTo(MAX_AGE.toSeconds());
+        }
+
+        @Test
+        void jwks_shouldBeComputedOnce() {
+            assertThat(keyRing.jwks()).isSameAs(keyRing.jwks());
+            assertThat(keyRing.jwks().etag()).startsWith("\"").endsWith("\"");
+        }
+
+        @Test
+        void find_shouldResolveKeysByKid() {
+            assertThat(keyRing.find(keyRing.active().kid())).contains(keyRing.active());
+            assertThat(keyRing.find("unknown")).isEmpty();
+        }
+    }
+
+    @Nested
+    @DisplayName("With rotation")
+    class RotatingRing {
+
+        private JwtKeyRing keyRing;
+
+        @BeforeEach
+        void setUp() {
+            keyRing = new JwtKeyRing(JwtAlgorithm.RS256, first, second, MAX_AGE);
+        }
+
+        @Test
+        void jwks_shouldPublishTheNextKeyBeforeItSigns() throws ParseException {
+            String nextKid = keyRing.next().orElseThrow().kid();
+
+            assertThat(parse(keyRing.jwks()).getKeyByKeyId(nextKid)).isNotNull();
+        }
+
+        @Test
+        void rotate_shouldPromoteNextAndKeepFormerActiveForVerification() throws ParseException {
+            SigningKey formerActive = keyRing.active();
+            SigningKey formerNext = keyRing.next().orElseThrow();
+            String formerEtag = keyRing.jwks().etag();
+
+            keyRing.rotate(third, NOW, GRACE);
+
+            assertThat(keyRing.active().kid()).isEqualTo(formerNext.kid());
+            assertThat(keyRing.next()).isPresent();
+            assertThat(keyRing.find(formerActive.kid())).isPresent();
+            assertThat(keyRing.retiring()).singleElement()
+                    .satisfies(key -> assertThat(key.retiresAt()).isEqualTo(NOW.plus(GRACE)));
+            assertThat(parse(keyRing.jwks()).getKeys()).hasSize(3);
+            assertThat(keyRing.jwks().etag()).isNotEqualTo(formerEtag);
+        }
+
+        @Test
+        void rotate_shouldDropRetiringKeysOnceTheirGracePeriodIsOver() {
+            SigningKey formerActive = keyRing.active();
+
+            keyRing.rotate(third, NOW, GRACE);
+            keyRing.rotate(JwtKeys.generate(JwtAlgorithm.RS256, 2048), NOW.plus(GRACE), GRACE);
+
+            assertThat(keyRing.find(formerActive.kid())).isEmpty();
+            assertThat(keyRing.retiring()).hasSize(1);
+        }
+    }
+
+    @Nested
+    @DisplayName("Per algorithm")
+    class Algorithms {
+
+        @ParameterizedTest
+        @CsvSource({"RS256, RSA", "ES256, EC", "EDDSA, OKP"})
+        void jwks_shouldPublishTheKeyTypeOfTheAlgorithm(JwtAlgorithm algorithm, String keyType) throws ParseException {
+            JwtKeyRing keyRing = new JwtKeyRing(algorithm, JwtKeys.generate(algorithm, 2048), null, MAX_AGE);
+
+            JWK jwk = parse(keyRing.jwks()).getKeys().get(0);
+
+            assertThat(jwk.getKeyType().getValue()).isEqualTo(keyType);
+            assertThat(jwk.getAlgorithm()).isEqualTo(algorithm.getJwsAlgorithm());
+            assertThat(jwk.getKeyID()).isEqualTo(keyRing.active().kid());
+            assertThat(jwk.isPrivate()).isFalse();
+        }
+    }
+
+    private static JWKSet parse(JwksDocument document) throws ParseException {
+        return JWKSet.parse(new String(document.content(), StandardCharsets.UTF_8));
+    }
+}
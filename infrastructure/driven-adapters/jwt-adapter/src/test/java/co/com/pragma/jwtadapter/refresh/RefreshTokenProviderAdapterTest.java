@@ -0,0 +1,42 @@
+package co.com.pragma.jwtadapter.refresh;
+
+import co.com.pragma.jwtadapter.config.JwtProperties;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.Base64;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class RefreshTokenProviderAdapterTest {
+
+    private RefreshTokenProviderAdapter adapter;
+
+    @BeforeEach
+    void setUp() {
+        adapter = new RefreshTokenProviderAdapter(new JwtProperties());
+    }
+
+    @Test
+    void generateToken_shouldReturnUniqueUrlSafeTokensOfTheConfiguredLength() {
+        String first = adapter.generateToken();
+        String second = adapter.generateToken();
+
+        assertThat(first).isNotEqualTo(second).doesNotContain("+", "/", "=");
+        assertThat(Base64.getUrlDecoder().decode(first)).hasSize(32);
+    }
+
+    @Test
+    void hash_shouldReturnStableSha256Hex() {
+        assertThat(adapter.hash("token"))
+                .isEqualTo(adapter.hash("token"))
+                .isEqualTo("3c469e9d6c5875d37a43f353d4f88e61fcf812c66eee3457465a40b0da4153e0")
+                .isNotEqualTo(adapter.hash("other-token"));
+    }
+
+    @Test
+    void getTimeToLive_shouldDefaultToSevenDays() {
+        assertThat(adapter.getTimeToLive()).isEqualTo(Duration.ofDays(7));
+    }
+}
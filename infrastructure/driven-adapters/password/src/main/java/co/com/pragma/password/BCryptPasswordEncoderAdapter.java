@@ -1,22 +0,0 @@
-package co.com.pragma.password;
-
-import co.com.pragma.model.password.gateways.PasswordEncoderPort;
-import lombok.RequiredArgsConstructor;
-import org.springframework.security.crypto.password.PasswordEncoder;
-import org.springframework.stereotype.Component;
-
-@Component
-@RequiredArgsConstructor
-public class BCryptPasswordEncoderAdapter implements PasswordEncoderPort {
-    private final PasswordEncoder passwordEncoder;
-
-    @Override
-    public String encode(String rawPassword) {
-        return passwordEncoder.encode(rawPassword);
-    }
-
-    @Override
-    public boolean matches(String rawPassword, String encodedPassword) {
-        return passwordEncoder.matches(rawPassword, encodedPassword);
-    }
-}
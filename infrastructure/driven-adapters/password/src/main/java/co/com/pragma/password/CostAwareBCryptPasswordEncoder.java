@@ -0,0 +1,35 @@
+package co.com.pragma.password;
+
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * {@link BCryptPasswordEncoder} that asks for an upgrade when the stored cost is more than {@code tolerance} steps away
+ * from the configured one, in both directions, so hashes follow the calibrated cost instead of only ever going up.
+ * Every instance calibrates its own cost, and instances one step apart would otherwise rehash the same users back and
+ * forth on every login.
+ */
+public class CostAwareBCryptPasswordEncoder extends BCryptPasswordEncoder {
+
+    private static final Pattern BCRYPT_PATTERN = Pattern.compile("\\A\\$2[aby]?\\$(\\d\\d)\\$[./0-9A-Za-z]{53}");
+
+    private final int strength;
+    private final int tolerance;
+
+    public CostAwareBCryptPasswordEncoder(int strength, int tolerance) {
+        super(strength);
+        this.strength = strength;
+        this.tolerance = tolerance;
+    }
+
+    @Override
+    public boolean upgradeEncoding(String encodedPassword) {
+        if (encodedPassword == null) {
+            return false;
+        }
+        Matcher matcher = BCRYPT_PATTERN.matcher(encodedPassword);
+        return matcher.matches() && Math.abs(Integer.parseInt(matcher.group(1)) - strength) > tolerance;
+    }
+}
@@ -0,0 +1,51 @@
+package co.com.pragma.password;
+
+import co.com.pragma.model.exceptions.TooManyRequestsException;
+import co.com.pragma.model.password.gateways.PasswordEncoderPort;
+import co.com.pragma.password.config.SecurityConfig;
+import co.com.pragma.password.limiter.AdaptiveConcurrencyLimiter;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Scheduler;
+
+import java.util.concurrent.Callable;
+import java.util.concurrent.RejectedExecutionException;
+
+@Component
+public class PasswordEncoderAdapter implements PasswordEncoderPort {
+    private static final long REJECTED_RETRY_AFTER_SECONDS = 1L;
+
+    private final PasswordEncoder passwordEncoder;
+    private final Scheduler hashingScheduler;
+    private final AdaptiveConcurrencyLimiter limiter;
+
+    public PasswordEncoderAdapter(PasswordEncoder passwordEncoder,
+                                  @Qualifier(SecurityConfig.HASHING_SCHEDULER) Scheduler hashingScheduler,
+                                  AdaptiveConcurrencyLimiter limiter) {
+        this.passwordEncoder = passwordEncoder;
+        this.hashingScheduler = hashingScheduler;
+        this.limiter = limiter;
+    }
+
+    @Override
+    public Mono<String> encode(String rawPassword) {
+        return hash(() -> passwordEncoder.encode(rawPassword));
+    }
+
+    @Override
+    public Mono<Boolean> matches(String rawPassword, String encodedPassword) {
+        return hash(() -> passwordEncoder.matches(rawPassword, encodedPassword));
+    }
+
+    @Override
+    public boolean upgradeEncoding(String encodedPassword) {
+        return passwordEncoder.upgradeEncoding(encodedPassword);
+    }
+
+    private <T> Mono<T> hash(Callable<T> work) {
+        return limiter.execute(Mono.fromCallable(work).subscribeOn(hashingScheduler))
+                .onErrorMap(RejectedExecutionException.class, ex -> new TooManyRequestsException(REJECTED_RETRY_AFTER_SECONDS));
+    }
+}
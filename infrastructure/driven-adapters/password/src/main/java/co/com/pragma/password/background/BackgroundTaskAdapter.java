@@ -0,0 +1,38 @@
+package co.com.pragma.password.background;
+
+import co.com.pragma.model.constants.LogMessages;
+import co.com.pragma.model.logs.gateways.LoggerPort;
+import co.com.pragma.model.task.gateways.BackgroundTaskPort;
+import co.com.pragma.password.config.PasswordProperties;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Mono;
+
+import java.util.concurrent.Semaphore;
+
+/**
+ * Runs the password re-hashes started by logins once the response no longer waits for them. Their hashing still goes
+ * through the adaptive limiter, so at most {@code maxInFlight} of them run at once and the rest are dropped, leaving
+ * the limiter's permits to the logins themselves. A dropped re-hash is attempted again on a later login.
+ */
+@Component
+public class BackgroundTaskAdapter implements BackgroundTaskPort {
+
+    private final Semaphore permits;
+    private final LoggerPort logger;
+
+    public BackgroundTaskAdapter(PasswordProperties properties, LoggerPort logger) {
+        this.permits = new Semaphore(properties.getBackground().getMaxInFlight());
+        this.logger = logger;
+    }
+
+    @Override
+    public boolean submit(Mono<Void> task) {
+        if (!permits.tryAcquire()) {
+            return false;
+        }
+        Mono.defer(() -> task)
+                .doFinally(signal -> permits.release())
+                .subscribe(null, ex -> logger.error(LogMessages.ERROR_RUNNING_BACKGROUND_TASK, ex));
+        return true;
+    }
+}
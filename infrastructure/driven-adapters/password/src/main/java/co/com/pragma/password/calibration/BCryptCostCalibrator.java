@@ -0,0 +1,54 @@
+package co.com.pragma.password.calibration;
+
+import co.com.pragma.password.config.PasswordProperties;
+import lombok.RequiredArgsConstructor;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+
+import java.time.Duration;
+
+/**
+ * Picks the highest BCrypt cost whose hash time on the current hardware stays under the configured latency budget.
+ * Every extra cost round doubles the work, so the cost is extrapolated from a measurement at the minimum cost and
+ * then confirmed (and stepped down if needed) with a measurement at the chosen cost.
+ */
+@RequiredArgsConstructor
+public class BCryptCostCalibrator {
+
+    private static final String SAMPLE_PASSWORD = "calibration-sample-password";
+    private static final int SAMPLES = 3;
+
+    private final PasswordProperties.Bcrypt settings;
+
+    public Calibration calibrate() {
+        int minCost = settings.getMinCost();
+        long budget = settings.getTargetLatency().toNanos();
+
+        long minCostNanos = measure(minCost);
+        int cost = minCost;
+        while (cost < settings.getMaxCost() && (minCostNanos << (cost + 1 - minCost)) <= budget) {
+            cost++;
+        }
+
+        long measured = cost == minCost ? minCostNanos : measure(cost);
+        while (measured > budget && cost > minCost) {
+            cost--;
+            measured = measure(cost);
+        }
+        return new Calibration(cost, Duration.ofNanos(measured));
+    }
+
+    private long measure(int cost) {
+        BCryptPasswordEncoder encoder = new BCryptPasswordEncoder(cost);
+        String encoded = encoder.encode(SAMPLE_PASSWORD);
+        long best = Long.MAX_VALUE;
+        for (int i = 0; i < SAMPLES; i++) {
+            long start = System.nanoTime();
+            encoder.matches(SAMPLE_PASSWORD, encoded);
+            best = Math.min(best, System.nanoTime() - start);
+        }
+        return best;
+    }
+
+    public record Calibration(int cost, Duration hashLatency) {
+    }
+}
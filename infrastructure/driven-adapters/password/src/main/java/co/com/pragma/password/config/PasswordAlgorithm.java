@@ -0,0 +1,14 @@
+package co.com.pragma.password.config;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+@Getter
+@RequiredArgsConstructor
+public enum PasswordAlgorithm {
+    BCRYPT("bcrypt"),
+    ARGON2("argon2"),
+    PBKDF2("pbkdf2");
+
+    private final String id;
+}
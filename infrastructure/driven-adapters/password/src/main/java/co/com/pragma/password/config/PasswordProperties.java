@@ -0,0 +1,71 @@
+package co.com.pragma.password.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.security.crypto.password.Pbkdf2PasswordEncoder;
+
+import java.time.Duration;
+
+@Data
+@ConfigurationProperties(prefix = "security.password")
+public class PasswordProperties {
+
+    private static final int CORES = Runtime.getRuntime().availableProcessors();
+
+    private PasswordAlgorithm algorithm = PasswordAlgorithm.BCRYPT;
+    private Bcrypt bcrypt = new Bcrypt();
+    private Argon2 argon2 = new Argon2();
+    private Pbkdf2 pbkdf2 = new Pbkdf2();
+    private Hashing hashing = new Hashing();
+    private Limiter limiter = new Limiter();
+    private Background background = new Background();
+
+    @Data
+    public static class Bcrypt {
+        private Boolean calibrate = true;
+        private Duration targetLatency = Duration.ofMillis(250);
+        private Integer minCost = 10;
+        private Integer maxCost = 16;
+        private Integer cost = 12;
+        private Integer upgradeTolerance = 1;
+    }
+
+    @Data
+    public static class Argon2 {
+        private Integer saltLength = 16;
+        private Integer hashLength = 32;
+        private Integer parallelism = 1;
+        private Integer memory = 19456;
+        private Integer iterations = 2;
+    }
+
+    @Data
+    public static class Pbkdf2 {
+        private String secret = "";
+        private Integer saltLength = 16;
+        private Integer iterations = 310000;
+        private Pbkdf2PasswordEncoder.SecretKeyFactoryAlgorithm secretKeyFactoryAlgorithm =
+                Pbkdf2PasswordEncoder.SecretKeyFactoryAlgorithm.PBKDF2WithHmacSHA256;
+    }
+
+    @Data
+    public static class Hashing {
+        private Integer threads = CORES;
+        private Integer queueCapacity = 256;
+    }
+
+    @Data
+    public static class Limiter {
+        private Integer initialLimit = CORES;
+        private Integer minLimit = 1;
+        private Integer maxLimit = CORES * 4;
+        private Integer queueCapacity = 64;
+        private Double backoffRatio = 0.9;
+        private Double tolerance = 2.0;
+    }
+
+    @Data
+    public static class Background {
+        private Integer maxInFlight = CORES;
+    }
+}
@@ -1,14 +1,78 @@
 package co.com.pragma.password.config;
 
+import co.com.pragma.model.constants.LogMessages;
+import co.com.pragma.model.logs.gateways.LoggerPort;
+import co.com.pragma.password.CostAwareBCryptPasswordEncoder;
+import co.com.pragma.password.calibration.BCryptCostCalibrator;
+import co.com.pragma.password.limiter.AdaptiveConcurrencyLimiter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
-import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.argon2.Argon2PasswordEncoder;
+import org.springframework.security.crypto.password.DelegatingPasswordEncoder;
 import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.security.crypto.password.Pbkdf2PasswordEncoder;
+import reactor.core.scheduler.Scheduler;
+import reactor.core.scheduler.Schedulers;
+
+import java.util.Map;
 
 @Configuration
+@EnableConfigurationProperties(PasswordProperties.class)
 public class SecurityConfig {
+
+    public static final String HASHING_SCHEDULER = "passwordHashingScheduler";
+    private static final String HASHING_THREAD_PREFIX = "password-hashing";
+
     @Bean
-    public PasswordEncoder passwordEncoder() {
-        return new BCryptPasswordEncoder(16);
+    public PasswordEncoder passwordEncoder(PasswordProperties properties, LoggerPort logger) {
+        PasswordEncoder bcrypt = bcryptEncoder(properties, logger);
+        Map<String, PasswordEncoder> encoders = Map.of(
+                PasswordAlgorithm.BCRYPT.getId(), bcrypt,
+                PasswordAlgorithm.ARGON2.getId(), argon2Encoder(properties.getArgon2()),
+                PasswordAlgorithm.PBKDF2.getId(), pbkdf2Encoder(properties.getPbkdf2())
+        );
+
+        DelegatingPasswordEncoder passwordEncoder = new DelegatingPasswordEncoder(properties.getAlgorithm().getId(), encoders);
+        // Hashes stored before the {id} prefix was introduced are plain BCrypt.
+        passwordEncoder.setDefaultPasswordEncoderForMatches(bcrypt);
+        return passwordEncoder;
+    }
+
+    /**
+     * Dedicated scheduler for the CPU bound hashing work, sized to the available cores and with a bounded queue so
+     * a burst of logins is rejected instead of piling up or stalling the event loop.
+     */
+    @Bean(name = HASHING_SCHEDULER, destroyMethod = "dispose")
+    public Scheduler passwordHashingScheduler(PasswordProperties properties) {
+        PasswordProperties.Hashing hashing = properties.getHashing();
+        return Schedulers.newBoundedElastic(hashing.getThreads(), hashing.getQueueCapacity(), HASHING_THREAD_PREFIX);
+    }
+
+    @Bean
+    public AdaptiveConcurrencyLimiter passwordHashingLimiter(PasswordProperties properties, MeterRegistry meterRegistry) {
+        return new AdaptiveConcurrencyLimiter(properties.getLimiter(), meterRegistry);
+    }
+
+    private PasswordEncoder bcryptEncoder(PasswordProperties properties, LoggerPort logger) {
+        PasswordProperties.Bcrypt bcrypt = properties.getBcrypt();
+        int cost = bcrypt.getCost();
+        if (properties.getAlgorithm() == PasswordAlgorithm.BCRYPT && Boolean.TRUE.equals(bcrypt.getCalibrate())) {
+            BCryptCostCalibrator.Calibration calibration = new BCryptCostCalibrator(bcrypt).calibrate();
+            cost = calibration.cost();
+            logger.info(LogMessages.BCRYPT_COST_CALIBRATED, cost, calibration.hashLatency().toMillis(), bcrypt.getTargetLatency().toMillis());
+        }
+        return new CostAwareBCryptPasswordEncoder(cost, bcrypt.getUpgradeTolerance());
+    }
+
+    private PasswordEncoder argon2Encoder(PasswordProperties.Argon2 argon2) {
+        return new Argon2PasswordEncoder(argon2.getSaltLength(), argon2.getHashLength(), argon2.getParallelism(),
+                argon2.getMemory(), argon2.getIterations());
+    }
+
+    private PasswordEncoder pbkdf2Encoder(PasswordProperties.Pbkdf2 pbkdf2) {
+        return new Pbkdf2PasswordEncoder(pbkdf2.getSecret(), pbkdf2.getSaltLength(), pbkdf2.getIterations(),
+                pbkdf2.getSecretKeyFactoryAlgorithm());
     }
-}
\ No newline at end of file
+}
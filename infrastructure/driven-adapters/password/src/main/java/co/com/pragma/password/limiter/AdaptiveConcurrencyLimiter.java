@@ -0,0 +1,207 @@
+package co.com.pragma.password.limiter;
+
+import co.com.pragma.model.exceptions.TooManyRequestsException;
+import co.com.pragma.password.config.PasswordProperties;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.MonoSink;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.function.LongSupplier;
+
+/**
+ * AIMD concurrency limiter for the password hashing work.
+ * <p>
+ * The limit grows by one every time a full window of hashes completes close to the no-load latency and is cut by
+ * {@code backoffRatio} (at most once per observed latency window) when latency degrades past {@code tolerance} times
+ * that baseline or when the hashing scheduler rejects work. Callers above the limit wait in a bounded FIFO queue;
+ * once it is full they are rejected immediately with a {@link TooManyRequestsException}.
+ */
+public class AdaptiveConcurrencyLimiter {
+
+    private static final String METRIC_PREFIX = "password.hashing.limiter.";
+    private static final double LATENCY_SMOOTHING = 0.2;
+    private static final double BASELINE_DRIFT = 0.05;
+    private static final double NANOS_PER_SECOND = 1_000_000_000d;
+
+    private final Object lock = new Object();
+    private final Deque<Waiter> waiters = new ArrayDeque<>();
+    private final PasswordProperties.Limiter settings;
+    private final LongSupplier nanoClock;
+
+    private final Counter rejected;
+    private final Timer queueWait;
+
+    private double limit;
+    private int inFlight;
+    private double baselineNanos;
+    private double averageNanos;
+    private long lastDecreaseAt;
+
+    public AdaptiveConcurrencyLimiter(PasswordProperties.Limiter settings, MeterRegistry registry) {
+        this(settings, registry, System::nanoTime);
+    }
+
+    AdaptiveConcurrencyLimiter(PasswordProperties.Limiter settings, MeterRegistry registry, LongSupplier nanoClock) {
+        this.settings = settings;
+        this.nanoClock = nanoClock;
+        this.limit = settings.getInitialLimit();
+        this.lastDecreaseAt = nanoClock.getAsLong();
+
+        Gauge.builder(METRIC_PREFIX + "limit", this, AdaptiveConcurrencyLimiter::getLimit).register(registry);
+        Gauge.builder(METRIC_PREFIX + "inflight", this, AdaptiveConcurrencyLimiter::getInFlight).register(registry);
+        Gauge.builder(METRIC_PREFIX + "queued", this, AdaptiveConcurrencyLimiter::getQueued).register(registry);
+        this.rejected = Counter.builder(METRIC_PREFIX + "rejected").register(registry);
+        this.queueWait = Timer.builder(METRIC_PREFIX + "queue.wait").register(registry);
+    }
+
+    public <T> Mono<T> execute(Mono<T> task) {
+        return Mono.usingWhen(
+                acquire(),
+                permit -> task,
+                permit -> Mono.fromRunnable(() -> release(permit, null)),
+                (permit, error) -> Mono.fromRunnable(() -> release(permit, error)),
+                permit -> Mono.fromRunnable(() -> release(permit, null))
+        );
+    }
+
+    public int getLimit() {
+        synchronized (lock) {
+            return currentLimit();
+        }
+    }
+
+    public int getInFlight() {
+        synchronized (lock) {
+            return inFlight;
+        }
+    }
+
+    public int getQueued() {
+        synchronized (lock) {
+            return waiters.size();
+        }
+    }
+
+    // START Private methods ***********************************************************
+
+    private Mono<Permit> acquire() {
+        return Mono.create(sink -> {
+            Waiter waiter = new Waiter(sink, nanoClock.getAsLong());
+            Permit permit = null;
+            TooManyRequestsException rejection = null;
+            synchronized (lock) {
+                if (inFlight < currentLimit()) {
+                    inFlight++;
+                    permit = grant(waiter);
+                } else if (waiters.size() < settings.getQueueCapacity()) {
+                    waiters.addLast(waiter);
+                } else {
+                    rejection = new TooManyRequestsException(retryAfterSeconds());
+                }
+            }
+            if (permit != null) {
+                sink.success(permit);
+            } else if (rejection != null) {
+                rejected.increment();
+                sink.error(rejection);
+            } else {
+                sink.onCancel(() -> cancel(waiter));
+            }
+        });
+    }
+
+    private void cancel(Waiter waiter) {
+        synchronized (lock) {
+            if (waiters.remove(waiter)) {
+                return;
+            }
+        }
+        // The waiter was granted a slot concurrently with the cancellation, hand the slot back.
+        release(waiter.permit, null);
+    }
+
+    private void release(Permit permit, Throwable error) {
+        List<Waiter> granted = new ArrayList<>();
+        synchronized (lock) {
+            long now = nanoClock.getAsLong();
+            if (error instanceof RejectedExecutionException) {
+                decrease(now);
+            } else if (error == null) {
+                onSample(now - permit.startedAt(), permit.concurrency(), now);
+            }
+            inFlight--;
+            while (!waiters.isEmpty() && inFlight < currentLimit()) {
+                Waiter waiter = waiters.pollFirst();
+                inFlight++;
+                grant(waiter);
+                granted.add(waiter);
+            }
+        }
+        granted.forEach(waiter -> waiter.sink.success(waiter.permit));
+    }
+
+    private Permit grant(Waiter waiter) {
+        long now = nanoClock.getAsLong();
+        waiter.permit = new Permit(now, inFlight);
+        queueWait.record(now - waiter.enqueuedAt, TimeUnit.NANOSECONDS);
+        return waiter.permit;
+    }
+
+    private void onSample(long latencyNanos, int concurrency, long now) {
+        averageNanos = averageNanos == 0 ? latencyNanos : averageNanos + (latencyNanos - averageNanos) * LATENCY_SMOOTHING;
+        if (baselineNanos == 0 || latencyNanos < baselineNanos) {
+            baselineNanos = latencyNanos;
+        } else if (concurrency == 1) {
+            baselineNanos += (latencyNanos - baselineNanos) * BASELINE_DRIFT;
+        }
+
+        if (latencyNanos > baselineNanos * settings.getTolerance()) {
+            decrease(now);
+        } else if (concurrency >= currentLimit()) {
+            limit = Math.min(settings.getMaxLimit(), limit + 1.0 / limit);
+        }
+    }
+
+    private void decrease(long now) {
+        if (now - lastDecreaseAt < averageNanos) {
+            return;
+        }
+        lastDecreaseAt = now;
+        limit = Math.max(settings.getMinLimit(), limit * settings.getBackoffRatio());
+    }
+
+    private int currentLimit() {
+        return Math.max(1, (int) limit);
+    }
+
+    private long retryAfterSeconds() {
+        double pending = (double) waiters.size() + inFlight;
+        double seconds = averageNanos * pending / currentLimit() / NANOS_PER_SECOND;
+        return Math.max(1L, (long) Math.ceil(seconds));
+    }
+
+    private record Permit(long startedAt, int concurrency) {
+    }
+
+    private static final class Waiter {
+        private final MonoSink<Permit> sink;
+        private final long enqueuedAt;
+        private Permit permit;
+
+        private Waiter(MonoSink<Permit> sink, long enqueuedAt) {
+            this.sink = sink;
+            this.enqueuedAt = enqueuedAt;
+        }
+    }
+
+    // END Private methods ***********************************************************
+}
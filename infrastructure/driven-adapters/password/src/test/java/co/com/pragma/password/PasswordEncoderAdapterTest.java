@@ -0,0 +1,114 @@
+package co.com.pragma.password;
+
+import co.com.pragma.model.logs.gateways.LoggerPort;
+import co.com.pragma.password.config.SecurityConfig;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.test.context.ContextConfiguration;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.test.context.junit.jupiter.SpringExtension;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@ExtendWith(SpringExtension.class)
+@ContextConfiguration(classes = {PasswordEncoderAdapter.class, SecurityConfig.class, SimpleMeterRegistry.class})
+@TestPropertySource(properties = {
+        "security.password.bcrypt.calibrate=false",
+        "security.password.bcrypt.cost=4"
+})
+class PasswordEncoderAdapterTest {
+
+    @Autowired
+    private PasswordEncoderAdapter passwordEncoderAdapter;
+
+    @MockitoBean
+    private LoggerPort logger;
+
+    @Test
+    void encode_shouldReturnHashedPassword() {
+        String rawPassword = "my-plain-text-password";
+
+        StepVerifier.create(passwordEncoderAdapter.encode(rawPassword))
+                .assertNext(result -> assertThat(result)
+                        .isNotNull()
+                        .isNotEqualTo(rawPassword)
+                        .startsWith("{bcrypt}$2a$04$"))//Delegating prefix plus Bcrypt prefix with the configured cost
+                .verifyComplete();
+    }
+
+    @Test
+    void encode_shouldRunOnHashingScheduler() {
+        StepVerifier.create(passwordEncoderAdapter.encode("my-plain-text-password")
+                        .map(ignored -> Thread.currentThread().getName()))
+                .assertNext(threadName -> assertThat(threadName).startsWith("password-hashing"))
+                .verifyComplete();
+    }
+
+    @Test
+    void matches_shouldReturnTrueForMatch() {
+        String rawPassword = "my-plain-text-password";
+
+        Mono<Boolean> result = passwordEncoderAdapter.encode(rawPassword)
+                .flatMap(encodedPassword -> passwordEncoderAdapter.matches(rawPassword, encodedPassword));
+
+        StepVerifier.create(result)
+                .expectNext(true)
+                .verifyComplete();
+    }
+
+    @Test
+    void matches_shouldReturnFalseForMismatch() {
+        String rawPassword = "my-plain-text-password";
+        String wrongPassword = "wrong-password";
+
+        Mono<Boolean> result = passwordEncoderAdapter.encode(rawPassword)
+                .flatMap(encodedPassword -> passwordEncoderAdapter.matches(wrongPassword, encodedPassword));
+
+        StepVerifier.create(result)
+                .expectNext(false)
+                .verifyComplete();
+    }
+
+    @Test
+    void matches_shouldVerifyLegacyUnprefixedBcryptHash() {
+        String legacyHash = new BCryptPasswordEncoder(4).encode("my-plain-text-password");
+
+        StepVerifier.create(passwordEncoderAdapter.matches("my-plain-text-password", legacyHash))
+                .expectNext(true)
+                .verifyComplete();
+    }
+
+    @Test
+    void upgradeEncoding_shouldReturnTrueForLegacyUnprefixedHash() {
+        String legacyHash = new BCryptPasswordEncoder(4).encode("my-plain-text-password");
+
+        assertThat(passwordEncoderAdapter.upgradeEncoding(legacyHash)).isTrue();
+    }
+
+    @Test
+    void upgradeEncoding_shouldReturnTrueWhenCostIsOutsideTheTolerance() {
+        String strongerHash = "{bcrypt}" + new BCryptPasswordEncoder(6).encode("my-plain-text-password");
+
+        assertThat(passwordEncoderAdapter.upgradeEncoding(strongerHash)).isTrue();
+    }
+
+    @Test
+    void upgradeEncoding_shouldReturnFalseWhenCostIsWithinTheTolerance() {
+        String strongerHash = "{bcrypt}" + new BCryptPasswordEncoder(5).encode("my-plain-text-password");
+
+        assertThat(passwordEncoderAdapter.upgradeEncoding(strongerHash)).isFalse();
+    }
+
+    @Test
+    void upgradeEncoding_shouldReturnFalseWhenCostMatches() {
+        String currentHash = "{bcrypt}" + new BCryptPasswordEncoder(4).encode("my-plain-text-password");
+
+        assertThat(passwordEncoderAdapter.upgradeEncoding(currentHash)).isFalse();
+    }
+}
@@ -0,0 +1,67 @@
+package co.com.pragma.password.background;
+
+import co.com.pragma.model.constants.LogMessages;
+import co.com.pragma.model.logs.gateways.LoggerPort;
+import co.com.pragma.password.config.PasswordProperties;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.verify;
+
+@ExtendWith(MockitoExtension.class)
+class BackgroundTaskAdapterTest {
+
+    @Mock
+    private LoggerPort logger;
+
+    private BackgroundTaskAdapter backgroundTasks;
+
+    @BeforeEach
+    void setUp() {
+        PasswordProperties properties = new PasswordProperties();
+        properties.getBackground().setMaxInFlight(1);
+        backgroundTasks = new BackgroundTaskAdapter(properties, logger);
+    }
+
+    @Test
+    void submit_shouldRunTheTaskWithoutTheCallerSubscribing() {
+        AtomicBoolean ran = new AtomicBoolean();
+
+        assertThat(backgroundTasks.submit(Mono.fromRunnable(() -> ran.set(true)))).isTrue();
+
+        assertThat(ran).isTrue();
+    }
+
+    @Test
+    void submit_whenTheBoundIsReached_shouldDropTheTaskUntilOneCompletes() {
+        Sinks.Empty<Void> running = Sinks.empty();
+        AtomicBoolean ran = new AtomicBoolean();
+
+        assertThat(backgroundTasks.submit(running.asMono())).isTrue();
+        assertThat(backgroundTasks.submit(Mono.fromRunnable(() -> ran.set(true)))).isFalse();
+        assertThat(ran).isFalse();
+
+        running.tryEmitEmpty();
+
+        assertThat(backgroundTasks.submit(Mono.fromRunnable(() -> ran.set(true)))).isTrue();
+        assertThat(ran).isTrue();
+    }
+
+    @Test
+    void submit_whenTheTaskFails_shouldLogAndReleaseItsSlot() {
+        IllegalStateException failure = new IllegalStateException("DB is down");
+
+        assertThat(backgroundTasks.submit(Mono.error(failure))).isTrue();
+
+        verify(logger).error(LogMessages.ERROR_RUNNING_BACKGROUND_TASK, failure);
+        assertThat(backgroundTasks.submit(Mono.empty())).isTrue();
+    }
+}
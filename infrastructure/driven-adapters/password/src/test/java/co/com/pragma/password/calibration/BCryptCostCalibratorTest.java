@@ -0,0 +1,40 @@
+package co.com.pragma.password.calibration;
+
+import co.com.pragma.password.config.PasswordProperties;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class BCryptCostCalibratorTest {
+
+    private PasswordProperties.Bcrypt settings;
+
+    @BeforeEach
+    void setUp() {
+        settings = new PasswordProperties.Bcrypt();
+        settings.setMinCost(4);
+        settings.setMaxCost(6);
+    }
+
+    @Test
+    void calibrate_shouldPickMaxCostWhenBudgetIsGenerous() {
+        settings.setTargetLatency(Duration.ofMinutes(1));
+
+        BCryptCostCalibrator.Calibration calibration = new BCryptCostCalibrator(settings).calibrate();
+
+        assertThat(calibration.cost()).isEqualTo(6);
+        assertThat(calibration.hashLatency()).isPositive();
+    }
+
+    @Test
+    void calibrate_shouldFallBackToMinCostWhenBudgetIsTooTight() {
+        settings.setTargetLatency(Duration.ofNanos(1));
+
+        BCryptCostCalibrator.Calibration calibration = new BCryptCostCalibrator(settings).calibrate();
+
+        assertThat(calibration.cost()).isEqualTo(4);
+    }
+}
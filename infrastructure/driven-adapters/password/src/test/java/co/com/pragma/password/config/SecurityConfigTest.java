@@ -0,0 +1,71 @@
+package co.com.pragma.password.config;
+
+import co.com.pragma.model.logs.gateways.LoggerPort;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@ExtendWith(MockitoExtension.class)
+class SecurityConfigTest {
+
+    private static final String RAW_PASSWORD = "my-plain-text-password";
+
+    @Mock
+    private LoggerPort logger;
+
+    private final SecurityConfig securityConfig = new SecurityConfig();
+    private PasswordProperties properties;
+
+    @BeforeEach
+    void setUp() {
+        properties = new PasswordProperties();
+        properties.getBcrypt().setCalibrate(false);
+        properties.getBcrypt().setCost(4);
+        properties.getArgon2().setMemory(1024);
+        properties.getArgon2().setIterations(1);
+        properties.getPbkdf2().setIterations(1000);
+    }
+
+    @Test
+    void passwordEncoder_shouldEncodeWithArgon2WhenConfigured() {
+        properties.setAlgorithm(PasswordAlgorithm.ARGON2);
+
+        PasswordEncoder encoder = securityConfig.passwordEncoder(properties, logger);
+        String encoded = encoder.encode(RAW_PASSWORD);
+
+        assertThat(encoded).startsWith("{argon2}$argon2id$");
+        assertThat(encoder.matches(RAW_PASSWORD, encoded)).isTrue();
+        assertThat(encoder.upgradeEncoding(encoded)).isFalse();
+    }
+
+    @Test
+    void passwordEncoder_shouldEncodeWithPbkdf2WhenConfigured() {
+        properties.setAlgorithm(PasswordAlgorithm.PBKDF2);
+
+        PasswordEncoder encoder = securityConfig.passwordEncoder(properties, logger);
+        String encoded = encoder.encode(RAW_PASSWORD);
+
+        assertThat(encoded).startsWith("{pbkdf2}");
+        assertThat(encoder.matches(RAW_PASSWORD, encoded)).isTrue();
+    }
+
+    @Test
+    void passwordEncoder_shouldKeepVerifyingBcryptHashesAfterSwitchingAlgorithm() {
+        properties.setAlgorithm(PasswordAlgorithm.ARGON2);
+        String legacyHash = new BCryptPasswordEncoder(4).encode(RAW_PASSWORD);
+        String prefixedHash = "{bcrypt}" + legacyHash;
+
+        PasswordEncoder encoder = securityConfig.passwordEncoder(properties, logger);
+
+        assertThat(encoder.matches(RAW_PASSWORD, legacyHash)).isTrue();
+        assertThat(encoder.matches(RAW_PASSWORD, prefixedHash)).isTrue();
+        assertThat(encoder.upgradeEncoding(legacyHash)).isTrue();
+        assertThat(encoder.upgradeEncoding(prefixedHash)).isTrue();
+    }
+}
@@ -0,0 +1,122 @@
+package co.com.pragma.password.limiter;
+
+import co.com.pragma.model.exceptions.TooManyRequestsException;
+import co.com.pragma.password.config.PasswordProperties;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import reactor.core.Disposable;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+import reactor.test.StepVerifier;
+
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class AdaptiveConcurrencyLimiterTest {
+
+    private final AtomicLong clock = new AtomicLong(1_000_000L);
+    private SimpleMeterRegistry registry;
+    private PasswordProperties.Limiter settings;
+    private AdaptiveConcurrencyLimiter limiter;
+
+    @BeforeEach
+    void setUp() {
+        registry = new SimpleMeterRegistry();
+        settings = new PasswordProperties.Limiter();
+        settings.setInitialLimit(2);
+        settings.setMinLimit(1);
+        settings.setMaxLimit(4);
+        settings.setQueueCapacity(1);
+        limiter = new AdaptiveConcurrencyLimiter(settings, registry, clock::get);
+    }
+
+    @Test
+    void execute_shouldQueueAboveLimitAndRejectWhenQueueIsFull() {
+        Sinks.One<String> first = Sinks.one();
+        Sinks.One<String> second = Sinks.one();
+        Sinks.One<String> queued = Sinks.one();
+
+        limiter.execute(first.asMono()).subscribe();
+        limiter.execute(second.asMono()).subscribe();
+        Disposable waiting = limiter.execute(queued.asMono()).subscribe();
+
+        assertThat(limiter.getInFlight()).isEqualTo(2);
+        assertThat(limiter.getQueued()).isEqualTo(1);
+
+        StepVerifier.create(limiter.execute(Mono.just("rejected")))
+                .expectErrorSatisfies(error -> assertThat(error)
+                        .isInstanceOf(TooManyRequestsException.class)
+                        .extracting("retryAfterSeconds").isEqualTo(1L))
+                .verify();
+        assertThat(registry.get("password.hashing.limiter.rejected").counter().count()).isEqualTo(1);
+
+        first.tryEmitValue("done");
+
+        assertThat(limiter.getQueued()).isZero();
+        assertThat(limiter.getInFlight()).isEqualTo(2);
+        waiting.dispose();
+        second.tryEmitValue("done");
+        assertThat(limiter.getInFlight()).isZero();
+    }
+
+    @Test
+    void execute_shouldReleaseSlotWhenQueuedCallerCancels() {
+        Sinks.One<String> first = Sinks.one();
+        Sinks.One<String> second = Sinks.one();
+
+        limiter.execute(first.asMono()).subscribe();
+        limiter.execute(second.asMono()).subscribe();
+        Disposable waiting = limiter.execute(Mono.just("never")).subscribe();
+        waiting.dispose();
+
+        assertThat(limiter.getQueued()).isZero();
+        first.tryEmitValue("done");
+        second.tryEmitValue("done");
+        assertThat(limiter.getInFlight()).isZero();
+    }
+
+    @Test
+    void execute_shouldDecreaseLimitWhenLatencyDegrades() {
+        runTaking(10);
+        runTaking(100);
+
+        assertThat(limiter.getLimit()).isEqualTo(1);
+    }
+
+    @Test
+    void execute_shouldIncreaseLimitWhileSaturatedAndFast() {
+        settings.setInitialLimit(1);
+        limiter = new AdaptiveConcurrencyLimiter(settings, registry, clock::get);
+
+        runTaking(10);
+
+        assertThat(limiter.getLimit()).isEqualTo(2);
+    }
+
+    @Test
+    void execute_shouldDecreaseLimitWhenSchedulerRejects() {
+        StepVerifier.create(limiter.execute(Mono.error(new RejectedExecutionException())))
+                .expectError(RejectedExecutionException.class)
+                .verify();
+
+        assertThat(limiter.getLimit()).isEqualTo(1);
+        assertThat(limiter.getInFlight()).isZero();
+    }
+
+    @Test
+    void constructor_shouldRegisterGauges() {
+        assertThat(registry.get("password.hashing.limiter.limit").gauge().value()).isEqualTo(2);
+        assertThat(registry.get("password.hashing.limiter.inflight").gauge().value()).isZero();
+        assertThat(registry.get("password.hashing.limiter.queued").gauge().value()).isZero();
+        assertThat(registry.get("password.hashing.limiter.queue.wait").timer()).isNotNull();
+    }
+
+    private void runTaking(long nanos) {
+        StepVerifier.create(limiter.execute(Mono.fromCallable(() -> clock.addAndGet(nanos))))
+                .expectNextCount(1)
+                .verifyComplete();
+    }
+}
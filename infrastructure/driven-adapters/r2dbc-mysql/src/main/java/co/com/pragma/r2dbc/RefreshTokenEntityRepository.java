@@ -0,0 +1,23 @@
+package co.com.pragma.r2dbc;
+
+import co.com.pragma.r2dbc.entity.RefreshTokenEntity;
+import org.springframework.data.r2dbc.repository.Modifying;
+import org.springframework.data.r2dbc.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.data.repository.reactive.ReactiveCrudRepository;
+import reactor.core.publisher.Mono;
+
+import java.time.Instant;
+
+public interface RefreshTokenEntityRepository extends ReactiveCrudRepository<RefreshTokenEntity, Long> {
+
+    Mono<RefreshTokenEntity> findByTokenHash(String tokenHash);
+
+    @Modifying
+    @Query("UPDATE TokenRefresco SET fecha_revocacion = :revokedAt WHERE id_token_refresco = :tokenId AND fecha_revocacion IS NULL")
+    Mono<Integer> revoke(@Param("tokenId") Long tokenId, @Param("revokedAt") Instant revokedAt);
+
+    @Modifying
+    @Query("UPDATE TokenRefresco SET fecha_revocacion = :revokedAt WHERE id_familia = :familyId AND fecha_revocacion IS NULL")
+    Mono<Integer> revokeFamily(@Param("familyId") String familyId, @Param("revokedAt") Instant revokedAt);
+}
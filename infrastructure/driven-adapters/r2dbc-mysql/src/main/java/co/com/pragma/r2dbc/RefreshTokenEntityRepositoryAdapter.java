@@ -0,0 +1,39 @@
+package co.com.pragma.r2dbc;
+
+import co.com.pragma.model.refreshtoken.RefreshToken;
+import co.com.pragma.model.refreshtoken.gateways.RefreshTokenRepository;
+import co.com.pragma.r2dbc.mapper.PersistenceRefreshTokenMapper;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Repository;
+import reactor.core.publisher.Mono;
+
+import java.time.Instant;
+
+@Repository
+@RequiredArgsConstructor
+public class RefreshTokenEntityRepositoryAdapter implements RefreshTokenRepository {
+
+    private final RefreshTokenEntityRepository repository;
+    private final PersistenceRefreshTokenMapper refreshTokenMapper;
+
+    @Override
+    public Mono<RefreshToken> save(RefreshToken refreshToken) {
+        return repository.save(refreshTokenMapper.toEntity(refreshToken))
+                .map(refreshTokenMapper::toDomain);
+    }
+
+    @Override
+    public Mono<RefreshToken> findByTokenHash(String tokenHash) {
+        return repository.findByTokenHash(tokenHash).map(refreshTokenMapper::toDomain);
+    }
+
+    @Override
+    public Mono<Boolean> revoke(Long tokenId, Instant revokedAt) {
+        return repository.revoke(tokenId, revokedAt).map(updatedRows -> updatedRows == 1);
+    }
+
+    @Override
+    public Mono<Void> revokeFamily(String familyId, Instant revokedAt) {
+        return repository.revokeFamily(familyId, revokedAt).then();
+    }
+}
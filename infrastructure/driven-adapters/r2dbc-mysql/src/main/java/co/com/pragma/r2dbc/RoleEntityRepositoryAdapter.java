@@ -2,6 +2,7 @@ package co.com.pragma.r2dbc;
 
 import co.com.pragma.model.role.Role;
 import co.com.pragma.model.role.gateways.RoleRepository;
+import co.com.pragma.r2dbc.catalog.RoleCatalog;
 import co.com.pragma.r2dbc.mapper.PersistenceRoleMapper;
 import lombok.RequiredArgsConstructor;
 import org.springframework.data.domain.Example;
@@ -14,15 +15,18 @@ public class RoleEntityRepositoryAdapter implements RoleRepository {
 
     private final RoleEntityRepository repository;
     private final PersistenceRoleMapper roleMapper;
+    private final RoleCatalog roleCatalog;
 
     @Override
     public Mono<Role> findOne(Role role) {
-        return repository.findOne(Example.of(roleMapper.toEntity(role)))
-                .map(roleMapper::toDomain);
+        return Mono.justOrEmpty(roleCatalog.find(role))
+                .switchIfEmpty(Mono.defer(() -> repository.findOne(Example.of(roleMapper.toEntity(role)))
+                        .map(roleMapper::toDomain)));
     }
 
     @Override
     public Mono<Role> findById(Integer roleId) {
-        return repository.findById(roleId).map(roleMapper::toDomain);
+        return Mono.justOrEmpty(roleCatalog.find(Role.builder().rolId(roleId).build()))
+                .switchIfEmpty(Mono.defer(() -> repository.findById(roleId).map(roleMapper::toDomain)));
     }
 }
@@ -1,20 +1,51 @@
 package co.com.pragma.r2dbc;
 
 import co.com.pragma.r2dbc.entity.UserEntity;
+import co.com.pragma.r2dbc.entity.UserProfileProjection;
+import co.com.pragma.r2dbc.entity.UserWithRoleEntity;
+import org.springframework.data.r2dbc.repository.Modifying;
+import org.springframework.data.r2dbc.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.data.repository.query.ReactiveQueryByExampleExecutor;
 import org.springframework.data.repository.reactive.ReactiveCrudRepository;
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 
+import java.util.Collection;
 import java.util.List;
 
 public interface UserEntityRepository extends
         ReactiveCrudRepository<UserEntity, Integer>,
         ReactiveQueryByExampleExecutor<UserEntity> {
 
-    Flux<UserEntity> findAllByEmailIn(List<String> emails);
+    /**
+     * Left join, so a user whose role row is missing still comes back, with no role name, and the use cases keep
+     * failing it with their role validation instead of reporting the user as not found.
+     */
+    String SELECT_USER_WITH_ROLE = "SELECT u.id_usuario, u.nombre, u.apellido, u.email, u.documento_identidad, " +
+            "u.salario_base, u.telefono, u.direccion, u.fecha_nacimiento, u.password, u.id_rol, " +
+            "r.nombre AS rol_nombre, r.descripcion AS rol_descripcion " +
+            "FROM Usuario u LEFT JOIN Rol r ON r.UniqueID = u.id_rol ";
 
-    Mono<UserEntity> findByEmail(String email);
+    Flux<UserProfileProjection> findAllByEmailIn(List<String> emails);
 
-    Flux<UserEntity> findAllByRolId(Integer rolId);
+    Mono<UserProfileProjection> findByEmail(String email);
+
+    Flux<UserProfileProjection> findAllByEmailInOrIdNumberIn(Collection<String> emails, Collection<String> idNumbers);
+
+    @Query("SELECT email FROM Usuario WHERE id_rol = :rolId")
+    Flux<String> findEmailsByRolId(@Param("rolId") Integer rolId);
+
+    @Modifying
+    @Query("UPDATE Usuario SET password = :password WHERE id_usuario = :userId")
+    Mono<Integer> updatePassword(@Param("userId") Integer userId, @Param("password") String password);
+
+    @Query(SELECT_USER_WITH_ROLE + "WHERE u.email = :email")
+    Mono<UserWithRoleEntity> findWithRoleByEmail(@Param("email") String email);
+
+    @Query(SELECT_USER_WITH_ROLE + "WHERE u.documento_identidad = :idNumber")
+    Mono<UserWithRoleEntity> findWithRoleByIdNumber(@Param("idNumber") String idNumber);
+
+    @Query(SELECT_USER_WITH_ROLE + "WHERE u.id_usuario = :userId")
+    Mono<UserWithRoleEntity> findWithRoleById(@Param("userId") Integer userId);
 }
@@ -1,13 +1,19 @@
 package co.com.pragma.r2dbc;
 
+import co.com.pragma.model.exceptions.EmailTakenException;
+import co.com.pragma.model.exceptions.IdNumberTakenException;
 import co.com.pragma.model.user.User;
 import co.com.pragma.model.user.filters.UserFilter;
 import co.com.pragma.model.user.gateways.UserRepository;
+import co.com.pragma.r2dbc.batch.UserBatchInsert;
 import co.com.pragma.r2dbc.entity.UserEntity;
 import co.com.pragma.r2dbc.mapper.PersistenceUserMapper;
+import co.com.pragma.r2dbc.search.UserFullTextSearch;
+import co.com.pragma.r2dbc.search.UserSearchIndex;
 import co.com.pragma.r2dbc.util.EntityUtils;
 import lombok.RequiredArgsConstructor;
-import org.springframework.data.domain.Example;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.Sort;
 import org.springframework.data.r2dbc.core.R2dbcEntityTemplate;
 import org.springframework.data.relational.core.query.Criteria;
 import org.springframework.data.relational.core.query.Query;
@@ -15,7 +21,11 @@ import org.springframework.stereotype.Repository;
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 
+import java.util.Arrays;
+import java.util.Collection;
 import java.util.List;
+import java.util.Locale;
+import java.util.Optional;
 
 
 @Repository
@@ -25,6 +35,9 @@ public class UserEntityRepositoryAdapter implements UserRepository {
     private final UserEntityRepository userRepository;
     private final PersistenceUserMapper userMapper;
     private final R2dbcEntityTemplate entityTemplate;
+    private final UserFullTextSearch fullTextSearch;
+    private final UserSearchIndex searchIndex;
+    private final UserBatchInsert batchInsert;
 
     @Override
     public Mono<User> save(User user) {
@@ -34,60 +47,161 @@ public class UserEntityRepositoryAdapter implements UserRepository {
                         savedDomainUser.toBuilder()
                                 .role(user.getRole())
                                 .build()
-                );
+                )
+                .onErrorMap(DataIntegrityViolationException.class, UserEntityRepositoryAdapter::translateUniqueViolation)
+                .doOnNext(searchIndex::index);
     }
 
     @Override
-    public Mono<Boolean> exists(User example) {
-        return userRepository.exists(Example.of(userMapper.toEntity(example)));
+    public Flux<User> saveAll(List<User> users) {
+        return batchInsert.insert(users.stream().map(userMapper::toEntity).toList())
+                .zipWithIterable(users, (userId, user) -> user.toBuilder()
+                        .userId(userId)
+                        .password(null)
+                        .build())
+                .onErrorMap(DataIntegrityViolationException.class, UserEntityRepositoryAdapter::translateUniqueViolation)
+                .doOnNext(searchIndex::index);
     }
 
     @Override
-    public Mono<User> findOne(User example) {
-        return userRepository.findOne(Example.of(userMapper.toEntity(example)))
-                .map(userMapper::toDomain);
+    public Mono<Void> updatePassword(Integer userId, String encodedPassword) {
+        return userRepository.updatePassword(userId, encodedPassword).then();
+    }
+
+    @Override
+    public Flux<User> findAllByEmailOrIdNumber(Collection<String> emails, Collection<String> idNumbers) {
+        if (emails.isEmpty() && idNumbers.isEmpty()) {
+            return Flux.empty();
+        }
+        return userRepository.findAllByEmailInOrIdNumberIn(emails, idNumbers).map(userMapper::profileToDomain);
+    }
+
+    @Override
+    public Mono<User> findWithRoleById(Integer userId) {
+        return userRepository.findWithRoleById(userId).map(userMapper::toDomainWithRole);
+    }
+
+    @Override
+    public Mono<User> findWithRoleByIdNumber(String idNumber) {
+        return userRepository.findWithRoleByIdNumber(idNumber).map(userMapper::toDomainWithRole);
     }
 
     @Override
     public Mono<User> findWithPasswordByEmail(String email) {
-        return userRepository.findByEmail(email)
-                .map(entity -> userMapper.toDomain(entity).toBuilder().password(entity.getPassword()).build());
+        return userRepository.findWithRoleByEmail(email)
+                .map(entity -> userMapper.toDomainWithRole(entity).toBuilder().password(entity.getPassword()).build());
     }
 
     @Override
     public Flux<User> findAllByEmail(List<String> emails) {
-        return userRepository.findAllByEmailIn(emails).map(userMapper::toDomain);
+        return userRepository.findAllByEmailIn(emails).map(userMapper::profileToDomain);
     }
 
     @Override
-    public Flux<User> findAllByRole(Integer roleId) {
-        return userRepository.findAllByRolId(roleId).map(userMapper::toDomain);
+    public Flux<String> findEmailsByRole(Integer roleId) {
+        return userRepository.findEmailsByRolId(roleId);
     }
 
     @Override
-    public Flux<User> findUsersByFilter(UserFilter filter) {
-        Criteria criteria = EntityUtils.buildCriteria(filter);
+    public boolean isRankedSearch(UserFilter filter) {
+        return fullTextSearch.applies(filter);
+    }
 
+    @Override
+    public Flux<User> findUsersByFilter(UserFilter filter, Integer afterUserId, int limit) {
+        if (fullTextSearch.applies(filter)) {
+            return fullTextSearch.find(filter, limit).map(userMapper::toDomain);
+        }
         return entityTemplate.select(UserEntity.class)
                 .from(EntityUtils.USER_TABLE_NAME)
-                .matching(Query.query(criteria))
+                .matching(usersAfter(searchCriteria(filter), afterUserId).limit(limit).columns(EntityUtils.USER_PROFILE_COLUMNS))
                 .all()
                 .map(userMapper::toDomain);
     }
 
     @Override
-    public Flux<String> findUserEmailsByFilter(UserFilter filter) {
-        Criteria criteria = EntityUtils.buildCriteria(filter);
+    public Flux<User> streamUsersByFilter(UserFilter filter, Integer afterUserId) {
+        if (fullTextSearch.applies(filter)) {
+            return fullTextSearch.find(filter, null).map(userMapper::toDomain);
+        }
+        return entityTemplate.select(UserEntity.class)
+                .from(EntityUtils.USER_TABLE_NAME)
+                .matching(usersAfter(searchCriteria(filter), afterUserId).columns(EntityUtils.USER_PROFILE_COLUMNS))
+                .all()
+                .map(userMapper::toDomain);
+    }
 
+    @Override
+    public Mono<Long> countUsersByFilter(UserFilter filter) {
+        if (fullTextSearch.applies(filter)) {
+            return fullTextSearch.count(filter);
+        }
+        return entityTemplate.select(UserEntity.class)
+                .from(EntityUtils.USER_TABLE_NAME)
+                .matching(Query.query(searchCriteria(filter)))
+                .count();
+    }
+
+    @Override
+    public Flux<String> findUserEmailsByFilter(UserFilter filter) {
+        if (fullTextSearch.applies(filter)) {
+            return fullTextSearch.findEmails(filter);
+        }
         return entityTemplate.select(UserEntity.class)
                 .from(EntityUtils.USER_TABLE_NAME)
-                .matching(Query.query(criteria).columns(EntityUtils.EMAIL_COLUMN_NAME))
+                .matching(Query.query(searchCriteria(filter)).columns(EntityUtils.EMAIL_COLUMN_NAME))
                 .all()
                 .map(UserEntity::getEmail);
     }
 
     @Override
     public Mono<User> findByEmail(String email) {
-        return userRepository.findByEmail(email).map(userMapper::toDomain);
+        return userRepository.findByEmail(email).map(userMapper::profileToDomain);
     }
+
+    // START Private methods ****
+
+    /**
+     * Criteria of {@code filter}, narrowed to the candidates of the search index when it can serve the filter. The
+     * index does not know users saved after its last build by other instances or outside this service, so the ones
+     * above the highest id it read are always matched by the database as well, even when there is no candidate.
+     */
+    private Criteria searchCriteria(UserFilter filter) {
+        Criteria criteria = EntityUtils.buildCriteria(filter);
+        Optional<UserSearchIndex.Candidates> candidates = searchIndex.candidates(filter);
+        if (candidates.isEmpty()) {
+            return criteria;
+        }
+        int[] ids = candidates.get().ids();
+        Criteria notIndexed = Criteria.where(EntityUtils.USER_ID_COLUMN_NAME).greaterThan(candidates.get().indexedUpTo());
+        if (ids.length == 0) {
+            return criteria.and(notIndexed);
+        }
+        return criteria.and(Criteria.where(EntityUtils.USER_ID_COLUMN_NAME).in(Arrays.stream(ids).boxed().toList())
+                .or(notIndexed));
+    }
+
+    /**
+     * Duplicate key errors name the violated constraint: {@code Duplicate entry '..' for key 'Usuario.uk_usuario_email'}
+     * on MySQL, the upper-cased index name on H2. Other violations are left as they are.
+     */
+    private static Throwable translateUniqueViolation(DataIntegrityViolationException ex) {
+        String message = String.valueOf(ex.getMostSpecificCause().getMessage()).toLowerCase(Locale.ROOT);
+        if (message.contains(EntityUtils.EMAIL_UNIQUE_CONSTRAINT)) {
+            return new EmailTakenException();
+        }
+        if (message.contains(EntityUtils.ID_NUMBER_UNIQUE_CONSTRAINT)) {
+            return new IdNumberTakenException();
+        }
+        return ex;
+    }
+
+    private static Query usersAfter(Criteria criteria, Integer afterUserId) {
+        if (afterUserId != null) {
+            criteria = criteria.and(EntityUtils.USER_ID_COLUMN_NAME).greaterThan(afterUserId);
+        }
+        return Query.query(criteria).sort(Sort.by(Sort.Order.asc(EntityUtils.USER_ID_COLUMN_NAME)));
+    }
+
+    // END Private methods ****
 }
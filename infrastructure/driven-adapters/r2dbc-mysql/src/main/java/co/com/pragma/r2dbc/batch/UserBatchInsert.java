@@ -0,0 +1,102 @@
+package co.com.pragma.r2dbc.batch;
+
+import co.com.pragma.r2dbc.entity.UserEntity;
+import co.com.pragma.r2dbc.util.EntityUtils;
+import io.r2dbc.spi.Statement;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.r2dbc.core.R2dbcEntityTemplate;
+import org.springframework.data.r2dbc.dialect.R2dbcDialect;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.r2dbc.core.binding.BindMarkers;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Flux;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.stream.Collectors;
+
+/**
+ * Inserts many users with one prepared statement: every user is a binding added with {@link Statement#add()}, so the
+ * statement is parsed once and all the rows go through the same connection and transaction, instead of one repository
+ * save per user. Generated ids come back in binding order.
+ * <p>
+ * Ids are read per binding rather than from a single multi-row {@code VALUES} list, since MySQL only reports the first
+ * id of such a statement and does not guarantee that the others are consecutive.
+ */
+@Component
+public class UserBatchInsert {
+
+    static final List<String> INSERT_COLUMNS = List.of(EntityUtils.NAME_COLUMN_NAME, EntityUtils.LAST_NAME_COLUMN_NAME,
+            EntityUtils.EMAIL_COLUMN_NAME, EntityUtils.ID_NUMBER_COLUMN_NAME, EntityUtils.ROLE_ID_COLUMN_NAME,
+            EntityUtils.SALARY_COLUMN_NAME, EntityUtils.PHONE_COLUMN_NAME, EntityUtils.ADDRESS_COLUMN_NAME,
+            EntityUtils.BIRTH_DATE_COLUMN_NAME, EntityUtils.PASSWORD_COLUMN_NAME);
+
+    private final DatabaseClient databaseClient;
+    private final String insertSql;
+
+    @Autowired
+    public UserBatchInsert(R2dbcEntityTemplate entityTemplate) {
+        this(entityTemplate.getDatabaseClient(), (R2dbcDialect) entityTemplate.getDataAccessStrategy().getDialect());
+    }
+
+    UserBatchInsert(DatabaseClient databaseClient, R2dbcDialect dialect) {
+        this.databaseClient = databaseClient;
+        BindMarkers bindMarkers = dialect.getBindMarkersFactory().create();
+        this.insertSql = "INSERT INTO " + EntityUtils.USER_TABLE_NAME + " (" + String.join(", ", INSERT_COLUMNS) + ")"
+                + " VALUES (" + INSERT_COLUMNS.stream()
+                .map(column -> bindMarkers.next(column).getPlaceholder())
+                .collect(Collectors.joining(", ")) + ")";
+    }
+
+    /**
+     * Generated ids of {@code users}, in the same order. Rows inserted before a failing one are only undone when the
+     * caller's transaction rolls back.
+     */
+    public Flux<Integer> insert(List<UserEntity> users) {
+        if (users.isEmpty()) {
+            return Flux.empty();
+        }
+        return databaseClient.inConnectionMany(connection -> {
+            Statement statement = connection.createStatement(insertSql)
+                    .returnGeneratedValues(EntityUtils.USER_ID_COLUMN_NAME);
+            for (int i = 0; i < users.size(); i++) {
+                if (i > 0) {
+                    statement.add();
+                }
+                bind(statement, users.get(i));
+            }
+            return Flux.from(statement.execute())
+                    .concatMap(result -> result.map((row, metadata) -> ((Number) row.get(0)).intValue()));
+        });
+    }
+
+    String insertSql() {
+        return insertSql;
+    }
+
+    // START Private methods ****
+
+    private static void bind(Statement statement, UserEntity user) {
+        bind(statement, 0, user.getName(), String.class);
+        bind(statement, 1, user.getLastName(), String.class);
+        bind(statement, 2, user.getEmail(), String.class);
+        bind(statement, 3, user.getIdNumber(), String.class);
+        bind(statement, 4, user.getRolId(), Integer.class);
+        bind(statement, 5, user.getBaseSalary(), BigDecimal.class);
+        bind(statement, 6, user.getPhone(), String.class);
+        bind(statement, 7, user.getAddress(), String.class);
+        bind(statement, 8, user.getBirthDate(), LocalDate.class);
+        bind(statement, 9, user.getPassword(), String.class);
+    }
+
+    private static void bind(Statement statement, int index, Object value, Class<?> type) {
+        if (value == null) {
+            statement.bindNull(index, type);
+        } else {
+            statement.bind(index, value);
+        }
+    }
+
+    // END Private methods ****
+}
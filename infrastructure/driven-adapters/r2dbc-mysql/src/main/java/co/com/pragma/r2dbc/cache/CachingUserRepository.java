@@ -0,0 +1,201 @@
+package co.com.pragma.r2dbc.cache;
+
+import co.com.pragma.model.user.User;
+import co.com.pragma.model.user.filters.UserFilter;
+import co.com.pragma.model.user.gateways.UserRepository;
+import com.github.benmanes.caffeine.cache.AsyncCache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.transaction.NoTransactionException;
+import org.springframework.transaction.reactive.TransactionSynchronization;
+import org.springframework.transaction.reactive.TransactionSynchronizationManager;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Locale;
+import java.util.Optional;
+import java.util.function.Supplier;
+
+/**
+ * Read-through cache in front of {@link UserRepository} for the lookups other services repeat for the same users:
+ * {@link #findByEmail(String)} and {@link #findWithRoleByIdNumber(String)}. Misses are cached as well, for a shorter
+ * time. Concurrent lookups of the same key share a single query, {@link #save(User)} and {@link #saveAll(List)}
+ * invalidate the entries of the saved users, again once their transaction has committed, and password hashes are
+ * stripped before anything is cached. Every other call goes to the delegate.
+ */
+public class CachingUserRepository implements UserRepository {
+
+    public static final String BY_EMAIL_CACHE_NAME = "users.by-email";
+    public static final String BY_ID_NUMBER_CACHE_NAME = "users.by-id-number";
+
+    private final UserRepository delegate;
+    private final AsyncCache<String, Optional<User>> byEmail;
+    private final AsyncCache<String, Optional<User>> byIdNumber;
+
+    public CachingUserRepository(UserRepository delegate, UserCacheProperties properties, MeterRegistry meterRegistry) {
+        this.delegate = delegate;
+        this.byEmail = cache(properties);
+        this.byIdNumber = cache(properties);
+        if (meterRegistry != null) {
+            CaffeineCacheMetrics.monitor(meterRegistry, byEmail, BY_EMAIL_CACHE_NAME);
+            CaffeineCacheMetrics.monitor(meterRegistry, byIdNumber, BY_ID_NUMBER_CACHE_NAME);
+        }
+    }
+
+    @Override
+    public Mono<User> save(User user) {
+        return delegate.save(user)
+                .flatMap(saved -> invalidateAfterCommit(List.of(user, saved)).thenReturn(saved));
+    }
+
+    @Override
+    public Flux<User> saveAll(List<User> users) {
+        return delegate.saveAll(users)
+                .concatMap(saved -> invalidateAfterCommit(List.of(saved)).thenReturn(saved));
+    }
+
+    @Override
+    public Mono<Void> updatePassword(Integer userId, String encodedPassword) {
+        return delegate.updatePassword(userId, encodedPassword);
+    }
+
+    @Override
+    public Flux<User> findAllByEmailOrIdNumber(Collection<String> emails, Collection<String> idNumbers) {
+        return delegate.findAllByEmailOrIdNumber(emails, idNumbers);
+    }
+
+    @Override
+    public Mono<User> findWithRoleById(Integer userId) {
+        return delegate.findWithRoleById(userId);
+    }
+
+    @Override
+    public Mono<User> findWithRoleByIdNumber(String idNumber) {
+        if (idNumber == null) {
+            return delegate.findWithRoleByIdNumber(null);
+        }
+        return lookup(byIdNumber, idNumber, () -> delegate.findWithRoleByIdNumber(idNumber));
+    }
+
+    @Override
+    public Mono<User> findWithPasswordByEmail(String email) {
+        return delegate.findWithPasswordByEmail(email);
+    }
+
+    @Override
+    public Mono<User> findByEmail(String email) {
+        if (email == null) {
+            return delegate.findByEmail(null);
+        }
+        return lookup(byEmail, emailKey(email), () -> delegate.findByEmail(email));
+    }
+
+    @Override
+    public Flux<User> findAllByEmail(List<String> email) {
+        return delegate.findAllByEmail(email);
+    }
+
+    @Override
+    public Flux<String> findEmailsByRole(Integer roleId) {
+        return delegate.findEmailsByRole(roleId);
+    }
+
+    @Override
+    public boolean isRankedSearch(UserFilter filter) {
+        return delegate.isRankedSearch(filter);
+    }
+
+    @Override
+    public Flux<User> findUsersByFilter(UserFilter filter, Integer afterUserId, int limit) {
+        return delegate.findUsersByFilter(filter, afterUserId, limit);
+    }
+
+    @Override
+    public Flux<User> streamUsersByFilter(UserFilter filter, Integer afterUserId) {
+        return delegate.streamUsersByFilter(filter, afterUserId);
+    }
+
+    @Override
+    public Mono<Long> countUsersByFilter(UserFilter filter) {
+        return delegate.countUsersByFilter(filter);
+    }
+
+    @Override
+    public Flux<String> findUserEmailsByFilter(UserFilter filter) {
+        return delegate.findUserEmailsByFilter(filter);
+    }
+
+    // START Private methods ****
+
+    private static AsyncCache<String, Optional<User>> cache(UserCacheProperties properties) {
+        return Caffeine.newBuilder()
+                .maximumSize(properties.maximumSize())
+                .expireAfter(Expiry.creating((String key, Optional<User> value) ->
+                        value.isPresent() ? properties.timeToLive() : properties.negativeTimeToLive()))
+                .recordStats()
+                .buildAsync();
+    }
+
+    /**
+     * The load runs detached from the subscriber, so its Reactor context (read-only routing) is carried over
+     * explicitly, and cancelling one subscriber does not cancel the load other subscribers are waiting for.
+     */
+    private static Mono<User> lookup(AsyncCache<String, Optional<User>> cache, String key, Supplier<Mono<User>> loader) {
+        return Mono.deferContextual(context -> Mono.fromFuture(() -> cache.get(key, (k, executor) -> loader.get()
+                                .map(user -> Optional.of(withoutPassword(user)))
+                                .defaultIfEmpty(Optional.empty())
+                                .contextWrite(context)
+                                .toFuture()),
+                        true))
+                .flatMap(Mono::justOrEmpty)
+                .map(CachingUserRepository::copy);
+    }
+
+    /**
+     * Evicts the entries of {@code users} now and, when saved inside a transaction, once more after it completes: a
+     * lookup running before the commit still reads the old state and would cache it again, a miss for a new user.
+     */
+    private Mono<Void> invalidateAfterCommit(List<User> users) {
+        users.forEach(this::invalidate);
+        return TransactionSynchronizationManager.forCurrentTransaction()
+                .filter(TransactionSynchronizationManager::isSynchronizationActive)
+                .doOnNext(synchronizations -> synchronizations.registerSynchronization(new TransactionSynchronization() {
+                    @Override
+                    public Mono<Void> afterCompletion(int status) {
+                        return Mono.fromRunnable(() -> users.forEach(CachingUserRepository.this::invalidate));
+                    }
+                }))
+                .onErrorResume(NoTransactionException.class, ex -> Mono.empty())
+                .then();
+    }
+
+    private void invalidate(User user) {
+        if (user.getEmail() != null) {
+            byEmail.synchronous().invalidate(emailKey(user.getEmail()));
+        }
+        if (user.getIdNumber() != null) {
+            byIdNumber.synchronous().invalidate(user.getIdNumber());
+        }
+    }
+
+    // The email column collation is case-insensitive
+    private static String emailKey(String email) {
+        return email.toLowerCase(Locale.ROOT);
+    }
+
+    private static User withoutPassword(User user) {
+        return user.toBuilder().password(null).build();
+    }
+
+    private static User copy(User user) {
+        return user.toBuilder()
+                .role(user.getRole() == null ? null : user.getRole().toBuilder().build())
+                .build();
+    }
+
+    // END Private methods ****
+}
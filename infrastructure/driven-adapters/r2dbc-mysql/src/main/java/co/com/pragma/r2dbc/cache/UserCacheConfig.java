@@ -0,0 +1,23 @@
+package co.com.pragma.r2dbc.cache;
+
+import co.com.pragma.model.user.gateways.UserRepository;
+import co.com.pragma.r2dbc.UserEntityRepositoryAdapter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+
+@Configuration
+public class UserCacheConfig {
+
+    @Bean
+    @Primary
+    @ConditionalOnProperty(prefix = "adapters.r2dbc.user-cache", name = "enabled", havingValue = "true", matchIfMissing = true)
+    public UserRepository cachingUserRepository(UserEntityRepositoryAdapter userEntityRepositoryAdapter,
+                                                UserCacheProperties properties,
+                                                ObjectProvider<MeterRegistry> meterRegistry) {
+        return new CachingUserRepository(userEntityRepositoryAdapter, properties, meterRegistry.getIfAvailable());
+    }
+}
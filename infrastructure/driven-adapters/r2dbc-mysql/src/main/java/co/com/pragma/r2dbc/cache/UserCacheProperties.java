@@ -0,0 +1,18 @@
+package co.com.pragma.r2dbc.cache;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+
+/**
+ * Bounds of the user lookup caches. {@code negativeTimeToLive} applies to lookups that found no user and is kept
+ * short so a user registered through another instance becomes visible quickly.
+ */
+@ConfigurationProperties(prefix = "adapters.r2dbc.user-cache")
+public record UserCacheProperties(
+        @DefaultValue("true") Boolean enabled,
+        @DefaultValue("10000") Long maximumSize,
+        @DefaultValue("5m") Duration timeToLive,
+        @DefaultValue("30s") Duration negativeTimeToLive) {
+}
@@ -0,0 +1,114 @@
+package co.com.pragma.r2dbc.catalog;
+
+import co.com.pragma.model.constants.LogMessages;
+import co.com.pragma.model.logs.gateways.LoggerPort;
+import co.com.pragma.model.role.Role;
+import co.com.pragma.r2dbc.RoleEntityRepository;
+import co.com.pragma.r2dbc.mapper.PersistenceRoleMapper;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * In-memory copy of the {@code Rol} table, which only holds a handful of seeded rows. It is loaded before the
+ * application reports itself ready, reloaded on a schedule and can be reloaded on demand with {@link #refresh()}.
+ * Names are indexed case-insensitively, like the column collation. Lookups hand out copies, so callers cannot
+ * alter the catalog.
+ */
+@Component
+@RequiredArgsConstructor
+public class RoleCatalog implements ApplicationRunner {
+
+    private static final Duration STARTUP_LOAD_TIMEOUT = Duration.ofSeconds(30);
+
+    private final RoleEntityRepository repository;
+    private final PersistenceRoleMapper roleMapper;
+    private final LoggerPort logger;
+    private volatile Snapshot snapshot = new Snapshot(Map.of(), Map.of());
+
+    @Override
+    public void run(ApplicationArguments args) {
+        try {
+            refresh().block(STARTUP_LOAD_TIMEOUT);
+        } catch (RuntimeException ex) {
+            logger.warn(LogMessages.ROLE_CATALOG_REFRESH_FAILED, ex);
+        }
+    }
+
+    @Scheduled(
+            initialDelayString = "${adapters.r2dbc.role-catalog.refresh-interval:10m}",
+            fixedDelayString = "${adapters.r2dbc.role-catalog.refresh-interval:10m}"
+    )
+    public void scheduledRefresh() {
+        refresh().subscribe(null, ex -> logger.warn(LogMessages.ROLE_CATALOG_REFRESH_FAILED, ex));
+    }
+
+    public Mono<Void> refresh() {
+        return repository.findAll()
+                .map(roleMapper::toDomain)
+                .collectList()
+                .doOnNext(this::load)
+                .then();
+    }
+
+    /**
+     * Role matching every non-null attribute of {@code example}, as a query by example would, or empty when the
+     * catalog does not know it.
+     */
+    public Optional<Role> find(Role example) {
+        if (example == null) {
+            return Optional.empty();
+        }
+        Snapshot current = snapshot;
+        Role candidate = null;
+        if (example.getRolId() != null) {
+            candidate = current.byId().get(example.getRolId());
+        } else if (example.getName() != null) {
+            candidate = current.byName().get(normalize(example.getName()));
+        }
+        return Optional.ofNullable(candidate)
+                .filter(role -> matches(role, example))
+                .map(role -> role.toBuilder().build());
+    }
+
+    public int size() {
+        return snapshot.byId().size();
+    }
+
+    // START Private methods ****
+
+    private void load(List<Role> roles) {
+        snapshot = new Snapshot(
+                roles.stream().collect(Collectors.toUnmodifiableMap(Role::getRolId, Function.identity())),
+                roles.stream().collect(Collectors.toUnmodifiableMap(role -> normalize(role.getName()), Function.identity()))
+        );
+        logger.info(LogMessages.ROLE_CATALOG_LOADED, roles.size());
+    }
+
+    private static boolean matches(Role role, Role example) {
+        return (example.getRolId() == null || example.getRolId().equals(role.getRolId()))
+                && (example.getName() == null || example.getName().equalsIgnoreCase(role.getName()))
+                && (example.getDescription() == null || Objects.equals(example.getDescription(), role.getDescription()));
+    }
+
+    private static String normalize(String name) {
+        return name.toUpperCase(Locale.ROOT);
+    }
+
+    private record Snapshot(Map<Integer, Role> byId, Map<String, Role> byName) {
+    }
+
+    // END Private methods ****
+}
@@ -0,0 +1,58 @@
+package co.com.pragma.r2dbc.config;
+
+import co.com.pragma.model.constants.LogMessages;
+import co.com.pragma.model.logs.gateways.LoggerPort;
+import io.r2dbc.pool.ConnectionPool;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+
+/**
+ * Opens the initial connections of the pool at startup, and of the replica pool when reads are routed to a replica
+ * and its own {@code warmup} flag is on. Runners complete before the application reports itself ready, so the first
+ * requests do not pay for the MySQL handshakes. A failed warm-up is logged and the pool keeps creating connections
+ * on demand.
+ */
+@Component
+@RequiredArgsConstructor
+@ConditionalOnProperty(prefix = "adapters.r2dbc.pool", name = "warmup", havingValue = "true", matchIfMissing = true)
+public class ConnectionPoolWarmup implements ApplicationRunner {
+
+    private final ConnectionPool connectionPool;
+    private final ObjectProvider<ReadWriteRoutingConnectionFactory> routingConnectionFactory;
+    private final MysqlConnectionProperties properties;
+    private final LoggerPort logger;
+
+    @Override
+    public void run(ApplicationArguments args) {
+        warmup(connectionPool.warmup(), properties.pool().name(), properties.pool().warmupTimeout());
+
+        ReadWriteRoutingConnectionFactory routing = routingConnectionFactory.getIfAvailable();
+        MysqlConnectionProperties.Pool replicaPool = properties.replica().pool();
+        if (routing != null && Boolean.TRUE.equals(replicaPool.warmup())) {
+            warmup(routing.warmupReplica(), MySQLConnectionPool.replicaPoolName(properties.replica()),
+                    replicaPool.warmupTimeout());
+        }
+    }
+
+    // START Private methods ****
+
+    private void warmup(Mono<Integer> warmup, String poolName, Duration timeout) {
+        long start = System.nanoTime();
+        try {
+            Integer connections = warmup.block(timeout);
+            logger.info(LogMessages.CONNECTION_POOL_WARMED_UP, poolName, connections,
+                    (System.nanoTime() - start) / 1_000_000);
+        } catch (RuntimeException ex) {
+            logger.warn(LogMessages.CONNECTION_POOL_WARMUP_FAILED, poolName, ex);
+        }
+    }
+
+    // END Private methods ****
+}
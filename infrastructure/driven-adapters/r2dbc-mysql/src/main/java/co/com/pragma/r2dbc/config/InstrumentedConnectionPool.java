@@ -0,0 +1,57 @@
+package co.com.pragma.r2dbc.config;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.Timer;
+import io.r2dbc.pool.ConnectionPool;
+import io.r2dbc.pool.ConnectionPoolConfiguration;
+import io.r2dbc.pool.PoolMetrics;
+import io.r2dbc.spi.Connection;
+import reactor.core.publisher.Mono;
+
+import java.util.function.ToIntFunction;
+
+/**
+ * {@link ConnectionPool} that publishes its occupancy and how long callers wait for a connection, so the pool can
+ * be sized per node from data. Gauges use the same names as Spring Boot's {@code r2dbc.pool.*} meters.
+ */
+public class InstrumentedConnectionPool extends ConnectionPool {
+
+    private static final String METRIC_PREFIX = "r2dbc.pool.";
+    private static final String NAME_TAG = "name";
+
+    private final Timer acquireTimer;
+
+    public InstrumentedConnectionPool(ConnectionPoolConfiguration configuration, String name, MeterRegistry registry) {
+        super(configuration);
+        Tags tags = Tags.of(NAME_TAG, name);
+        gauge(registry, "acquired", tags, PoolMetrics::acquiredSize);
+        gauge(registry, "allocated", tags, PoolMetrics::allocatedSize);
+        gauge(registry, "idle", tags, PoolMetrics::idleSize);
+        gauge(registry, "pending", tags, PoolMetrics::pendingAcquireSize);
+        gauge(registry, "max.allocated", tags, PoolMetrics::getMaxAllocatedSize);
+        this.acquireTimer = Timer.builder(METRIC_PREFIX + "acquire")
+                .description("Time spent waiting for a pooled connection")
+                .tags(tags)
+                .register(registry);
+    }
+
+    @Override
+    public Mono<Connection> create() {
+        return Mono.defer(() -> {
+            Timer.Sample sample = Timer.start();
+            return super.create().doOnSuccess(connection -> sample.stop(acquireTimer));
+        });
+    }
+
+    // START Private methods ****
+
+    private void gauge(MeterRegistry registry, String name, Tags tags, ToIntFunction<PoolMetrics> value) {
+        Gauge.builder(METRIC_PREFIX + name, this, pool -> pool.getMetrics().map(value::applyAsInt).orElse(0))
+                .tags(tags)
+                .register(registry);
+    }
+
+    // END Private methods ****
+}
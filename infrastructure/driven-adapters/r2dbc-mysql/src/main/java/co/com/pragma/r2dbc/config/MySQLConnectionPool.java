@@ -1,41 +1,85 @@
 package co.com.pragma.r2dbc.config;
 
+import co.com.pragma.model.logs.gateways.LoggerPort;
 import io.asyncer.r2dbc.mysql.MySqlConnectionConfiguration;
 import io.asyncer.r2dbc.mysql.MySqlConnectionFactory;
+import io.micrometer.core.instrument.MeterRegistry;
 import io.r2dbc.pool.ConnectionPool;
 import io.r2dbc.pool.ConnectionPoolConfiguration;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
 
-import java.time.Duration;
+import java.util.Objects;
 
 @Configuration
 public class MySQLConnectionPool {
-    /* Change these values for your project */
-    public static final int INITIAL_SIZE = 12;
-    public static final int MAX_SIZE = 15;
-    public static final int MAX_IDLE_TIME = 30;
-    public static final int DEFAULT_PORT = 5432;
+
+    private static final String REPLICA_POOL_SUFFIX = "-replica";
 
 	@Bean
-	public ConnectionPool getConnectionConfig(MysqlConnectionProperties properties) {
+	public ConnectionPool getConnectionConfig(MysqlConnectionProperties properties, MeterRegistry meterRegistry) {
+        return connectionPool(properties, properties.host(), properties.port(), properties.pool(),
+                properties.pool().name(), meterRegistry);
+	}
+
+    /**
+     * Routes read-only pipelines to the replica. The primary pool is still the only {@link ConnectionPool} bean, so
+     * migrations and health checks keep targeting it; {@link ConnectionPoolWarmup} warms the replica pool through
+     * this factory.
+     */
+    @Bean(destroyMethod = "dispose")
+    @Primary
+    @ConditionalOnProperty(prefix = "adapters.r2dbc.replica", name = "enabled", havingValue = "true")
+    public ReadWriteRoutingConnectionFactory readWriteRoutingConnectionFactory(ConnectionPool primary,
+                                                                               MysqlConnectionProperties properties,
+                                                                               MeterRegistry meterRegistry,
+                                                                               LoggerPort logger) {
+        MysqlConnectionProperties.Replica replica = properties.replica();
+        ConnectionPool replicaPool = connectionPool(properties, replica.host(),
+                Objects.requireNonNullElse(replica.port(), properties.port()), replica.pool(),
+                replicaPoolName(replica), meterRegistry);
+
+        ReplicaLagMonitor lagMonitor = new ReplicaLagMonitor(replicaPool, replica.maxLag(), logger);
+        lagMonitor.start(replica.lagCheckInterval());
+        return new ReadWriteRoutingConnectionFactory(primary, replicaPool, lagMonitor, meterRegistry);
+    }
+
+    static String replicaPoolName(MysqlConnectionProperties.Replica replica) {
+        return replica.pool().name() + REPLICA_POOL_SUFFIX;
+    }
+
+    // START Private methods ****
+
+    private ConnectionPool connectionPool(MysqlConnectionProperties properties, String host, Integer port,
+                                          MysqlConnectionProperties.Pool pool, String name, MeterRegistry meterRegistry) {
 		MySqlConnectionConfiguration dbConfiguration = MySqlConnectionConfiguration.builder()
-                .host(properties.host())
-                .port(properties.port())
+                .host(host)
+                .port(port)
                 .database(properties.database())
                 .username(properties.username())
                 .password(properties.password())
                 .build();
 
-        ConnectionPoolConfiguration poolConfiguration = ConnectionPoolConfiguration.builder()
+        ConnectionPoolConfiguration.Builder poolConfiguration = ConnectionPoolConfiguration.builder()
                 .connectionFactory(MySqlConnectionFactory.from(dbConfiguration))
-                .name("api-postgres-connection-pool")
-                .initialSize(INITIAL_SIZE)
-                .maxSize(MAX_SIZE)
-                .maxIdleTime(Duration.ofMinutes(MAX_IDLE_TIME))
-                .validationQuery("SELECT 1")
-                .build();
+                .name(name)
+                .initialSize(pool.initialSize())
+                .maxSize(pool.maxSize())
+                .maxIdleTime(pool.maxIdleTime())
+                .maxLifeTime(pool.maxLifeTime())
+                .maxAcquireTime(pool.maxAcquireTime())
+                .maxCreateConnectionTime(pool.maxCreateConnectionTime())
+                .maxValidationTime(pool.maxValidationTime())
+                .backgroundEvictionInterval(pool.backgroundEvictionInterval())
+                .validationDepth(pool.validationDepth());
+        if (pool.validationQuery() != null && !pool.validationQuery().isBlank()) {
+            poolConfiguration.validationQuery(pool.validationQuery());
+        }
 
-		return new ConnectionPool(poolConfiguration);
+		return new InstrumentedConnectionPool(poolConfiguration.build(), name, meterRegistry);
 	}
-}
\ No newline at end of file
+
+    // END Private methods ****
+}
@@ -1,6 +1,10 @@
 package co.com.pragma.r2dbc.config;
 
+import io.r2dbc.spi.ValidationDepth;
 import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
 
 @ConfigurationProperties(prefix = "adapters.r2dbc")
 public record MysqlConnectionProperties(
@@ -8,5 +12,40 @@ public record MysqlConnectionProperties(
         Integer port,
         String database,
         String username,
-        String password) {
+        String password,
+        @DefaultValue Pool pool,
+        @DefaultValue Replica replica) {
+
+    /**
+     * Connection pool settings. {@code validationQuery} is empty by default so acquisitions are validated with
+     * {@code validationDepth} instead of a round trip per acquire.
+     */
+    public record Pool(
+            @DefaultValue("auth-mysql-connection-pool") String name,
+            @DefaultValue("12") Integer initialSize,
+            @DefaultValue("15") Integer maxSize,
+            @DefaultValue("30m") Duration maxIdleTime,
+            @DefaultValue("1h") Duration maxLifeTime,
+            @DefaultValue("5s") Duration maxAcquireTime,
+            @DefaultValue("5s") Duration maxCreateConnectionTime,
+            @DefaultValue("2s") Duration maxValidationTime,
+            @DefaultValue("1m") Duration backgroundEvictionInterval,
+            @DefaultValue("LOCAL") ValidationDepth validationDepth,
+            String validationQuery,
+            @DefaultValue("true") Boolean warmup,
+            @DefaultValue("30s") Duration warmupTimeout) {
+    }
+
+    /**
+     * Read replica used for read-only pipelines. It shares the credentials and database of the primary. Reads fall
+     * back to the primary while the replica lags more than {@code maxLag} or cannot hand out a connection.
+     */
+    public record Replica(
+            @DefaultValue("false") Boolean enabled,
+            String host,
+            Integer port,
+            @DefaultValue("5s") Duration maxLag,
+            @DefaultValue("10s") Duration lagCheckInterval,
+            @DefaultValue Pool pool) {
+    }
 }
@@ -0,0 +1,23 @@
+package co.com.pragma.r2dbc.config;
+
+import lombok.AccessLevel;
+import lombok.NoArgsConstructor;
+import reactor.util.context.Context;
+import reactor.util.context.ContextView;
+
+/**
+ * Reactor context flag read by {@link ReadWriteRoutingConnectionFactory} to send a pipeline to the replica.
+ */
+@NoArgsConstructor(access = AccessLevel.PRIVATE)
+public final class ReadOnlyRouting {
+
+    public static final String READ_ONLY_KEY = ReadOnlyRouting.class.getName() + ".READ_ONLY";
+
+    public static Context markReadOnly(Context context) {
+        return context.put(READ_ONLY_KEY, Boolean.TRUE);
+    }
+
+    public static boolean isReadOnly(ContextView context) {
+        return context.getOrDefault(READ_ONLY_KEY, Boolean.FALSE);
+    }
+}
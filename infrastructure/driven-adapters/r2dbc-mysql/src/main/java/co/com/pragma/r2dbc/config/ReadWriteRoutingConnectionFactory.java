@@ -0,0 +1,99 @@
+package co.com.pragma.r2dbc.config;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.r2dbc.pool.ConnectionPool;
+import io.r2dbc.spi.Connection;
+import io.r2dbc.spi.ConnectionFactory;
+import io.r2dbc.spi.ConnectionFactoryMetadata;
+import reactor.core.Disposable;
+import reactor.core.publisher.Mono;
+
+/**
+ * Hands out replica connections to pipelines marked read-only through {@link ReadOnlyRouting} and primary
+ * connections to everything else. Read-only work goes to the primary too while the replica lags behind, has no
+ * free connection or fails to connect.
+ * <p>
+ * Transactions bind the connection they started with, so a {@code transactional} pipeline always runs on the
+ * primary unless it was explicitly marked read-only before the transaction began.
+ */
+public class ReadWriteRoutingConnectionFactory implements ConnectionFactory, Disposable {
+
+    private static final String FALLBACK_METRIC = "r2dbc.routing.replica.fallback";
+    private static final String REASON_TAG = "reason";
+
+    private final ConnectionFactory primary;
+    private final ConnectionPool replica;
+    private final ReplicaLagMonitor lagMonitor;
+    private final Counter lagFallbacks;
+    private final Counter exhaustedFallbacks;
+    private final Counter errorFallbacks;
+
+    public ReadWriteRoutingConnectionFactory(ConnectionFactory primary, ConnectionPool replica,
+                                             ReplicaLagMonitor lagMonitor, MeterRegistry registry) {
+        this.primary = primary;
+        this.replica = replica;
+        this.lagMonitor = lagMonitor;
+        this.lagFallbacks = Counter.builder(FALLBACK_METRIC).tag(REASON_TAG, "lag").register(registry);
+        this.exhaustedFallbacks = Counter.builder(FALLBACK_METRIC).tag(REASON_TAG, "exhausted").register(registry);
+        this.errorFallbacks = Counter.builder(FALLBACK_METRIC).tag(REASON_TAG, "error").register(registry);
+    }
+
+    @Override
+    public Mono<Connection> create() {
+        return Mono.deferContextual(context -> ReadOnlyRouting.isReadOnly(context) ? readOnlyConnection() : primaryConnection());
+    }
+
+    @Override
+    public ConnectionFactoryMetadata getMetadata() {
+        return primary.getMetadata();
+    }
+
+    /**
+     * Opens the initial connections of the replica pool, see {@link ConnectionPool#warmup()}.
+     */
+    public Mono<Integer> warmupReplica() {
+        return replica.warmup();
+    }
+
+    @Override
+    public void dispose() {
+        lagMonitor.dispose();
+        replica.dispose();
+    }
+
+    @Override
+    public boolean isDisposed() {
+        return replica.isDisposed();
+    }
+
+    // START Private methods ****
+
+    private Mono<Connection> readOnlyConnection() {
+        if (!lagMonitor.isWithinTolerance()) {
+            lagFallbacks.increment();
+            return primaryConnection();
+        }
+        if (isExhausted()) {
+            exhaustedFallbacks.increment();
+            return primaryConnection();
+        }
+        return replica.create()
+                .onErrorResume(ex -> {
+                    errorFallbacks.increment();
+                    return primaryConnection();
+                });
+    }
+
+    private Mono<Connection> primaryConnection() {
+        return Mono.from(primary.create());
+    }
+
+    private boolean isExhausted() {
+        return replica.getMetrics()
+                .map(metrics -> metrics.pendingAcquireSize() > 0 || metrics.acquiredSize() >= metrics.getMaxAllocatedSize())
+                .orElse(false);
+    }
+
+    // END Private methods ****
+}
@@ -0,0 +1,85 @@
+package co.com.pragma.r2dbc.config;
+
+import co.com.pragma.model.constants.LogMessages;
+import co.com.pragma.model.logs.gateways.LoggerPort;
+import io.r2dbc.spi.Connection;
+import io.r2dbc.spi.ConnectionFactory;
+import reactor.core.Disposable;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.Optional;
+
+/**
+ * Polls the replication delay of the replica and reports whether it is within tolerance. A stopped replication
+ * ({@code Seconds_Behind_Source} is {@code NULL}) or a failed check count as out of tolerance; a server that is not
+ * a replica at all reports no rows and is always within tolerance.
+ */
+public class ReplicaLagMonitor implements Disposable {
+
+    static final String LAG_QUERY = "SHOW REPLICA STATUS";
+    static final String LAG_COLUMN = "Seconds_Behind_Source";
+
+    private final ConnectionFactory replica;
+    private final Duration maxLag;
+    private final LoggerPort logger;
+    private volatile boolean withinTolerance = true;
+    private volatile Disposable polling;
+
+    public ReplicaLagMonitor(ConnectionFactory replica, Duration maxLag, LoggerPort logger) {
+        this.replica = replica;
+        this.maxLag = maxLag;
+        this.logger = logger;
+    }
+
+    public void start(Duration interval) {
+        polling = Flux.interval(Duration.ZERO, interval)
+                .concatMap(tick -> check())
+                .subscribe();
+    }
+
+    public boolean isWithinTolerance() {
+        return withinTolerance;
+    }
+
+    @Override
+    public void dispose() {
+        if (polling != null) {
+            polling.dispose();
+        }
+    }
+
+    @Override
+    public boolean isDisposed() {
+        return polling == null || polling.isDisposed();
+    }
+
+    Mono<Boolean> check() {
+        return Mono.usingWhen(replica.create(), this::lag, Connection::close)
+                .map(lag -> lag.map(seconds -> seconds <= maxLag.toSeconds()).orElse(false))
+                .defaultIfEmpty(true)
+                .onErrorResume(ex -> {
+                    logger.warn(LogMessages.REPLICA_LAG_CHECK_FAILED, ex.getMessage());
+                    return Mono.just(false);
+                })
+                .doOnNext(this::update);
+    }
+
+    // START Private methods ****
+
+    private Mono<Optional<Long>> lag(Connection connection) {
+        return Flux.from(connection.createStatement(LAG_QUERY).execute())
+                .concatMap(result -> result.map((row, metadata) -> Optional.ofNullable(row.get(LAG_COLUMN, Long.class))))
+                .next();
+    }
+
+    private void update(boolean current) {
+        if (current != withinTolerance) {
+            logger.warn(current ? LogMessages.REPLICA_BACK_IN_TOLERANCE : LogMessages.REPLICA_OUT_OF_TOLERANCE, maxLag.toSeconds());
+        }
+        withinTolerance = current;
+    }
+
+    // END Private methods ****
+}
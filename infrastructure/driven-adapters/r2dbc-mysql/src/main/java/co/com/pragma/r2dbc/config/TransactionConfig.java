@@ -27,6 +27,16 @@ public class TransactionConfig {
                 TransactionalOperator transactionalOperator = TransactionalOperator.create(transactionManager);
                 return transactionalOperator.transactional(flux);
             }
+
+            @Override
+            public <T> Mono<T> readOnly(Mono<T> mono) {
+                return mono.contextWrite(ReadOnlyRouting::markReadOnly);
+            }
+
+            @Override
+            public <T> Flux<T> readOnly(Flux<T> flux) {
+                return flux.contextWrite(ReadOnlyRouting::markReadOnly);
+            }
         };
     }
 }
\ No newline at end of file
@@ -0,0 +1,38 @@
+package co.com.pragma.r2dbc.entity;
+
+import org.springframework.data.annotation.Id;
+import lombok.*;
+import org.springframework.data.relational.core.mapping.Column;
+import org.springframework.data.relational.core.mapping.Table;
+
+import java.time.Instant;
+
+@NoArgsConstructor
+@AllArgsConstructor
+@Getter
+@Setter
+@Builder
+@Table("TokenRefresco")
+public class RefreshTokenEntity {
+    @Id
+    @Column("id_token_refresco")
+    private Long tokenId;
+
+    @Column("hash_token")
+    private String tokenHash;
+
+    @Column("id_familia")
+    private String familyId;
+
+    @Column("id_usuario")
+    private Integer userId;
+
+    @Column("fecha_creacion")
+    private Instant createdAt;
+
+    @Column("fecha_expiracion")
+    private Instant expiresAt;
+
+    @Column("fecha_revocacion")
+    private Instant revokedAt;
+}
@@ -0,0 +1,21 @@
+package co.com.pragma.r2dbc.entity;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+/**
+ * Columns of {@code Usuario} a user is shown with: everything but the password hash. Derived queries returning it
+ * select only these columns.
+ */
+public record UserProfileProjection(
+        Integer userId,
+        String name,
+        String lastName,
+        String email,
+        String idNumber,
+        Integer rolId,
+        BigDecimal baseSalary,
+        String phone,
+        String address,
+        LocalDate birthDate) {
+}
@@ -0,0 +1,56 @@
+package co.com.pragma.r2dbc.entity;
+
+import lombok.*;
+import org.springframework.data.relational.core.mapping.Column;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+/**
+ * Row of the join between {@code Usuario} and {@code Rol}, so a user and its role are read in a single statement.
+ */
+@NoArgsConstructor
+@AllArgsConstructor
+@Getter
+@Setter
+@Builder
+public class UserWithRoleEntity {
+    @Column("id_usuario")
+    private Integer userId;
+
+    @Column("nombre")
+    private String name;
+
+    @Column("apellido")
+    private String lastName;
+
+    @Column("email")
+    private String email;
+
+    @Column("documento_identidad")
+    private String idNumber;
+
+    @Column("salario_base")
+    private BigDecimal baseSalary;
+
+    @Column("telefono")
+    private String phone;
+
+    @Column("direccion")
+    private String address;
+
+    @Column("fecha_nacimiento")
+    private LocalDate birthDate;
+
+    @Column("password")
+    private String password;
+
+    @Column("id_rol")
+    private Integer rolId;
+
+    @Column("rol_nombre")
+    private String roleName;
+
+    @Column("rol_descripcion")
+    private String roleDescription;
+}
@@ -0,0 +1,13 @@
+package co.com.pragma.r2dbc.mapper;
+
+import co.com.pragma.model.refreshtoken.RefreshToken;
+import co.com.pragma.r2dbc.entity.RefreshTokenEntity;
+import org.mapstruct.Mapper;
+
+@Mapper(componentModel = "spring")
+public interface PersistenceRefreshTokenMapper {
+
+    RefreshToken toDomain(RefreshTokenEntity refreshTokenEntity);
+
+    RefreshTokenEntity toEntity(RefreshToken refreshToken);
+}
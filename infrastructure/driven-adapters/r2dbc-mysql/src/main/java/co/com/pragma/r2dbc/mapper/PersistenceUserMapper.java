@@ -2,6 +2,8 @@ package co.com.pragma.r2dbc.mapper;
 
 import co.com.pragma.model.user.User;
 import co.com.pragma.r2dbc.entity.UserEntity;
+import co.com.pragma.r2dbc.entity.UserProfileProjection;
+import co.com.pragma.r2dbc.entity.UserWithRoleEntity;
 import org.mapstruct.InjectionStrategy;
 import org.mapstruct.Mapper;
 import org.mapstruct.Mapping;
@@ -17,6 +19,18 @@ public interface PersistenceUserMapper {
     @Mapping(target = "password", ignore = true) // Never map password from DB to domain
     User toDomain(UserEntity userEntity);
 
+    @Mapping(source = "rolId", target = "role.rolId")
+    @Mapping(target = "role.name", ignore = true)
+    @Mapping(target = "role.description", ignore = true)
+    @Mapping(target = "password", ignore = true)
+    User profileToDomain(UserProfileProjection profile);
+
+    @Mapping(source = "rolId", target = "role.rolId")
+    @Mapping(source = "roleName", target = "role.name")
+    @Mapping(source = "roleDescription", target = "role.description")
+    @Mapping(target = "password", ignore = true) // Never map password from DB to domain
+    User toDomainWithRole(UserWithRoleEntity userWithRoleEntity);
+
     @Mapping(source = "role.rolId", target = "rolId")
     @Mapping(target = "password", source = "password") // Map password from domain to entity
     UserEntity toEntity(User user);
@@ -0,0 +1,188 @@
+package co.com.pragma.r2dbc.search;
+
+import java.text.Normalizer;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.regex.Pattern;
+
+/**
+ * Trigram inverted index of one text field: every three consecutive characters of the folded text map to the sorted
+ * ids of the users whose text contains them. A text containing a term contains all of its trigrams, so the
+ * intersection of their postings is a superset of the users matching {@code LIKE '%term%'}; the database checks the
+ * candidates again, which also makes stale postings harmless.
+ * <p>
+ * Postings are plain sorted {@code int[]}, replaced (never changed in place) when a user is added, so readers need no
+ * lock.
+ */
+final class TrigramIndex {
+
+    static final int GRAM_SIZE = 3;
+    private static final int[] NO_IDS = new int[0];
+    private static final Pattern COMBINING_MARKS = Pattern.compile("\\p{M}+");
+
+    private final Map<Long, int[]> postings;
+
+    private TrigramIndex(Map<Long, int[]> postings) {
+        this.postings = postings;
+    }
+
+    static Builder builder() {
+        return new Builder();
+    }
+
+    /**
+     * Lowercased and stripped of accents, at least as loose as the case and accent insensitive column collation, so
+     * the index never misses a row the database would match.
+     */
+    static String fold(String text) {
+        String decomposed = Normalizer.normalize(text.trim().toLowerCase(Locale.ROOT), Normalizer.Form.NFD);
+        return COMBINING_MARKS.matcher(decomposed).replaceAll("");
+    }
+
+    void add(int id, String text) {
+        if (text == null) {
+            return;
+        }
+        String folded = fold(text);
+        for (int i = 0; i + GRAM_SIZE <= folded.length(); i++) {
+            postings.merge(trigram(folded, i), new int[]{id}, (ids, added) -> insert(ids, id));
+        }
+    }
+
+    static boolean isSearchable(String term) {
+        return term != null && fold(term).length() >= GRAM_SIZE;
+    }
+
+    /**
+     * Ids of the users whose text may contain {@code term}, which must be {@link #isSearchable(String) searchable}.
+     */
+    int[] candidates(String term) {
+        String folded = fold(term);
+        int[][] lists = new int[folded.length() - GRAM_SIZE + 1][];
+        for (int i = 0; i < lists.length; i++) {
+            int[] ids = postings.get(trigram(folded, i));
+            if (ids == null) {
+                return NO_IDS;
+            }
+            lists[i] = ids;
+        }
+        return intersect(lists);
+    }
+
+    int trigramCount() {
+        return postings.size();
+    }
+
+    /**
+     * Intersection of sorted id arrays, starting with the shortest so every step can only shrink the result.
+     */
+    static int[] intersect(int[]... lists) {
+        if (lists.length == 0) {
+            return NO_IDS;
+        }
+        int[][] sorted = lists.clone();
+        Arrays.sort(sorted, Comparator.comparingInt(ids -> ids.length));
+        int[] result = sorted[0];
+        for (int i = 1; i < sorted.length && result.length > 0; i++) {
+            result = intersect(result, sorted[i]);
+        }
+        return result;
+    }
+
+    // START Private methods ****
+
+    private static int[] intersect(int[] left, int[] right) {
+        int[] result = new int[Math.min(left.length, right.length)];
+        int size = 0;
+        int i = 0;
+        int j = 0;
+        while (i < left.length && j < right.length) {
+            if (left[i] < right[j]) {
+                i++;
+            } else if (left[i] > right[j]) {
+                j++;
+            } else {
+                result[size++] = left[i];
+                i++;
+                j++;
+            }
+        }
+        return size == result.length ? result : Arrays.copyOf(result, size);
+    }
+
+    private static int[] insert(int[] ids, int id) {
+        int position = Arrays.binarySearch(ids, id);
+        if (position >= 0) {
+            return ids;
+        }
+        int insertAt = -position - 1;
+        int[] inserted = new int[ids.length + 1];
+        System.arraycopy(ids, 0, inserted, 0, insertAt);
+        inserted[insertAt] = id;
+        System.arraycopy(ids, insertAt, inserted, insertAt + 1, ids.length - insertAt);
+        return inserted;
+    }
+
+    private static long trigram(String text, int start) {
+        return ((long) text.charAt(start) << 32) | ((long) text.charAt(start + 1) << 16) | text.charAt(start + 2);
+    }
+
+    // END Private methods ****
+
+    /**
+     * Bulk load: postings grow in place while the table is streamed and are trimmed once in {@link #build()}, instead
+     * of being copied on every row as {@link #add(int, String)} does.
+     */
+    static final class Builder {
+
+        private final Map<Long, Postings> postings = new HashMap<>();
+
+        Builder add(int id, String text) {
+            if (text != null) {
+                String folded = fold(text);
+                for (int i = 0; i + GRAM_SIZE <= folded.length(); i++) {
+                    postings.computeIfAbsent(trigram(folded, i), key -> new Postings()).add(id);
+                }
+            }
+            return this;
+        }
+
+        TrigramIndex build() {
+            Map<Long, int[]> built = new ConcurrentHashMap<>(Math.max(16, postings.size() * 4 / 3 + 1));
+            postings.forEach((trigram, ids) -> built.put(trigram, ids.toArray()));
+            return new TrigramIndex(built);
+        }
+    }
+
+    private static final class Postings {
+
+        private int[] ids = new int[4];
+        private int size;
+        private boolean sorted = true;
+
+        void add(int id) {
+            if (size > 0 && ids[size - 1] == id) {
+                return;
+            }
+            if (size > 0 && ids[size - 1] > id) {
+                sorted = false;
+            }
+            if (size == ids.length) {
+                ids = Arrays.copyOf(ids, size * 2);
+            }
+            ids[size++] = id;
+        }
+
+        int[] toArray() {
+            int[] result = Arrays.copyOf(ids, size);
+            if (!sorted) {
+                result = Arrays.stream(result).sorted().distinct().toArray();
+            }
+            return result;
+        }
+    }
+}
@@ -0,0 +1,205 @@
+package co.com.pragma.r2dbc.search;
+
+import co.com.pragma.model.user.filters.MatchMode;
+import co.com.pragma.model.user.filters.UserFilter;
+import co.com.pragma.r2dbc.entity.UserEntity;
+import co.com.pragma.r2dbc.util.EntityUtils;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.r2dbc.convert.R2dbcConverter;
+import org.springframework.data.r2dbc.core.R2dbcEntityTemplate;
+import org.springframework.data.r2dbc.dialect.MySqlDialect;
+import org.springframework.data.r2dbc.dialect.R2dbcDialect;
+import org.springframework.data.r2dbc.query.BoundCondition;
+import org.springframework.data.r2dbc.query.QueryMapper;
+import org.springframework.data.relational.core.dialect.RenderContextFactory;
+import org.springframework.data.relational.core.query.Criteria;
+import org.springframework.data.relational.core.sql.Condition;
+import org.springframework.data.relational.core.sql.Conditions;
+import org.springframework.data.relational.core.sql.Expression;
+import org.springframework.data.relational.core.sql.Expressions;
+import org.springframework.data.relational.core.sql.Functions;
+import org.springframework.data.relational.core.sql.OrderByField;
+import org.springframework.data.relational.core.sql.Select;
+import org.springframework.data.relational.core.sql.SelectBuilder;
+import org.springframework.data.relational.core.sql.Table;
+import org.springframework.data.relational.core.sql.render.SqlRenderer;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.r2dbc.core.PreparedOperation;
+import org.springframework.r2dbc.core.binding.BindMarker;
+import org.springframework.r2dbc.core.binding.BindMarkers;
+import org.springframework.r2dbc.core.binding.BindTarget;
+import org.springframework.r2dbc.core.binding.Bindings;
+import org.springframework.stereotype.Component;
+import org.springframework.util.StringUtils;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * Name search over the {@code ft_usuario_nombre_apellido} FULLTEXT index, see V5__add_user_name_fulltext_index.sql.
+ * <p>
+ * Every word of the name becomes a required prefix term of a boolean mode {@code MATCH ... AGAINST} and the rows come
+ * ordered by relevance. Words shorter than the indexed token size are not in the index, so they stay as
+ * {@code CONTAINS} criteria next to the other filters. The criteria API cannot express {@code MATCH}, so the statement
+ * is built on the SQL AST with the criteria mapped the way the entity template maps them.
+ * <p>
+ * Only MySQL has this index: on other databases (H2 in tests) {@link #applies(UserFilter)} is false and the caller
+ * keeps the criteria search, where {@code FULLTEXT} falls back to {@code CONTAINS}.
+ */
+@Component
+public class UserFullTextSearch {
+
+    // innodb_ft_min_token_size default
+    static final int MIN_TOKEN_SIZE = 3;
+    static final String FULLTEXT_COLUMNS = EntityUtils.NAME_COLUMN_NAME + ", " + EntityUtils.LAST_NAME_COLUMN_NAME;
+    // Characters with a meaning in boolean mode, typed by the user they act as word separators
+    private static final String BOOLEAN_OPERATORS = "[+\\-<>()~*\"@]";
+
+    private final DatabaseClient databaseClient;
+    private final R2dbcDialect dialect;
+    private final R2dbcConverter converter;
+    private final QueryMapper queryMapper;
+    private final SqlRenderer sqlRenderer;
+    private final Table table = Table.create(EntityUtils.USER_TABLE_NAME);
+
+    @Autowired
+    public UserFullTextSearch(R2dbcEntityTemplate entityTemplate) {
+        this(entityTemplate.getDatabaseClient(), (R2dbcDialect) entityTemplate.getDataAccessStrategy().getDialect(),
+                entityTemplate.getConverter());
+    }
+
+    UserFullTextSearch(DatabaseClient databaseClient, R2dbcDialect dialect, R2dbcConverter converter) {
+        this.databaseClient = databaseClient;
+        this.dialect = dialect;
+        this.converter = converter;
+        this.queryMapper = new QueryMapper(dialect, converter);
+        this.sqlRenderer = SqlRenderer.create(new RenderContextFactory(dialect).createRenderContext());
+    }
+
+    public boolean applies(UserFilter filter) {
+        return dialect instanceof MySqlDialect
+                && filter.getNameMatch() == MatchMode.FULLTEXT
+                && StringUtils.hasText(filter.getName())
+                && !searchTerms(filter.getName()).indexed().isEmpty();
+    }
+
+    /**
+     * Users matching {@code filter}, most relevant first, at most {@code limit} of them (all when null).
+     */
+    public Flux<UserEntity> find(UserFilter filter, Integer limit) {
+        return execute(prepare(filter, profileColumns(), true, limit))
+                .map((row, metadata) -> converter.read(UserEntity.class, row, metadata))
+                .all();
+    }
+
+    public Flux<String> findEmails(UserFilter filter) {
+        return execute(prepare(filter, List.of(table.column(EntityUtils.EMAIL_COLUMN_NAME)), true, null))
+                .map(row -> row.get(EntityUtils.EMAIL_COLUMN_NAME, String.class))
+                .all();
+    }
+
+    public Mono<Long> count(UserFilter filter) {
+        return execute(prepare(filter, List.of(Functions.count(Expressions.asterisk())), false, null))
+                .map(row -> row.get(0, Long.class))
+                .one();
+    }
+
+    /**
+     * Boolean mode expression of the words long enough to be indexed, each one required and matched as a prefix.
+     */
+    static String booleanModeQuery(String name) {
+        return String.join(" ", searchTerms(name).indexed().stream().map(word -> "+" + word + "*").toList());
+    }
+
+    PreparedOperation<Select> prepare(UserFilter filter, List<? extends Expression> projection, boolean ranked,
+                                      Integer limit) {
+        SearchTerms terms = searchTerms(filter.getName());
+        String againstQuery = booleanModeQuery(filter.getName());
+        UserFilter remainingFilter = filter.toBuilder()
+                .name(terms.unindexed().isEmpty() ? null : String.join(" ", terms.unindexed()))
+                .nameMatch(MatchMode.CONTAINS)
+                .build();
+
+        BindMarkers bindMarkers = dialect.getBindMarkersFactory().create();
+        Criteria criteria = EntityUtils.buildCriteria(remainingFilter);
+        Bindings bindings = new Bindings();
+        Condition condition = null;
+        if (!criteria.isEmpty()) {
+            BoundCondition boundCondition = queryMapper.getMappedObject(bindMarkers, criteria, table,
+                    converter.getMappingContext().getRequiredPersistentEntity(UserEntity.class));
+            bindings = boundCondition.getBindings();
+            condition = boundCondition.getCondition();
+        }
+        // Markers are taken in the order they appear in the statement: WHERE, then ORDER BY
+        List<BindMarker> matchMarkers = new ArrayList<>();
+        Function<String, String> match = name -> {
+            BindMarker marker = bindMarkers.next(name);
+            matchMarkers.add(marker);
+            return "MATCH (" + FULLTEXT_COLUMNS + ") AGAINST (" + marker.getPlaceholder() + " IN BOOLEAN MODE)";
+        };
+
+        SelectBuilder.SelectFromAndJoin from = Select.builder().select(projection).from(table);
+        if (limit != null) {
+            from = from.limit(limit);
+        }
+        Condition matchCondition = Conditions.just(match.apply("fulltext"));
+        SelectBuilder.SelectWhereAndOr where = from.where(condition == null ? matchCondition : condition.and(matchCondition));
+        SelectBuilder.BuildSelect select = !ranked ? where : where.orderBy(
+                OrderByField.from(Expressions.just(match.apply("relevance"))).desc(),
+                OrderByField.from(table.column(EntityUtils.USER_ID_COLUMN_NAME)).asc()
+        );
+        Select statement = select.build();
+
+        return new MatchOperation(statement, sqlRenderer.render(statement), bindings, matchMarkers, againstQuery);
+    }
+
+    // START Private methods ****
+
+    private List<Expression> profileColumns() {
+        return EntityUtils.USER_PROFILE_COLUMNS.stream().<Expression>map(table::column).toList();
+    }
+
+    private DatabaseClient.GenericExecuteSpec execute(PreparedOperation<Select> operation) {
+        return databaseClient.sql(operation);
+    }
+
+    private static SearchTerms searchTerms(String name) {
+        List<String> indexed = new ArrayList<>();
+        List<String> unindexed = new ArrayList<>();
+        if (StringUtils.hasText(name)) {
+            String words = EntityUtils.normalize(name).replaceAll(BOOLEAN_OPERATORS, " ").trim();
+            for (String word : words.isEmpty() ? new String[0] : words.split("\\s+")) {
+                (word.length() >= MIN_TOKEN_SIZE ? indexed : unindexed).add(word);
+            }
+        }
+        return new SearchTerms(indexed, unindexed);
+    }
+
+    private record SearchTerms(List<String> indexed, List<String> unindexed) {
+    }
+
+    private record MatchOperation(Select source, String sql, Bindings bindings, List<BindMarker> matchMarkers,
+                                  String againstQuery) implements PreparedOperation<Select> {
+
+        @Override
+        public Select getSource() {
+            return source;
+        }
+
+        @Override
+        public String toQuery() {
+            return sql;
+        }
+
+        @Override
+        public void bindTo(BindTarget target) {
+            bindings.apply(target);
+            matchMarkers.forEach(marker -> marker.bind(target, againstQuery));
+        }
+    }
+
+    // END Private methods ****
+}
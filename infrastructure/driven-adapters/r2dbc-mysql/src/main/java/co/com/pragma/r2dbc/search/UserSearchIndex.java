@@ -0,0 +1,216 @@
+package co.com.pragma.r2dbc.search;
+
+import co.com.pragma.model.constants.DefaultValues;
+import co.com.pragma.model.constants.LogMessages;
+import co.com.pragma.model.logs.gateways.LoggerPort;
+import co.com.pragma.model.user.User;
+import co.com.pragma.model.user.filters.MatchMode;
+import co.com.pragma.model.user.filters.UserFilter;
+import co.com.pragma.r2dbc.entity.UserEntity;
+import co.com.pragma.r2dbc.util.EntityUtils;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.r2dbc.core.R2dbcEntityTemplate;
+import org.springframework.data.relational.core.query.Query;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.util.StringUtils;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Optional in-process index answering which users may match the {@code CONTAINS} name and email filters, which the
+ * database can only answer by scanning {@code Usuario}. The candidates are then read with a single query that applies
+ * the whole filter again, so postings left by rolled back saves are harmless.
+ * <p>
+ * It is built before the application reports itself ready by streaming the table and rebuilt on a schedule. The index
+ * only knows the users of this instance's last build plus the ones this instance saved since, so it is not a superset
+ * of the table: users saved by other instances, or written outside this service, are missing until the next build.
+ * That is why {@link Candidates} carry the highest id the build read, and users above it are always read from the
+ * database next to the candidates. Saves of this instance within {@code replayWindow} of a build are replayed on the
+ * new index, as their transaction may not have been committed when the table was read.
+ * <p>
+ * What remains stale is a user another writer commits during a build with an id below the highest one read, a
+ * transaction that was already open when the build read the table. It is missed by the name and email searches
+ * until the following build, so for at most one {@code refresh-interval}. Until the first build completes, or when
+ * disabled, every filter is left to the database.
+ */
+@Component
+@RequiredArgsConstructor
+public class UserSearchIndex implements ApplicationRunner {
+
+    private static final Duration STARTUP_BUILD_TIMEOUT = Duration.ofMinutes(2);
+
+    private final R2dbcEntityTemplate entityTemplate;
+    private final UserSearchIndexProperties properties;
+    private final LoggerPort logger;
+    private final AtomicBoolean building = new AtomicBoolean();
+    private final Queue<RecentSave> recentSaves = new ConcurrentLinkedQueue<>();
+    private volatile Snapshot snapshot;
+
+    @Override
+    public void run(ApplicationArguments args) {
+        if (!Boolean.TRUE.equals(properties.enabled())) {
+            return;
+        }
+        try {
+            rebuild().block(STARTUP_BUILD_TIMEOUT);
+        } catch (RuntimeException ex) {
+            logger.warn(LogMessages.USER_SEARCH_INDEX_BUILD_FAILED, ex);
+        }
+    }
+
+    @Scheduled(
+            initialDelayString = "${adapters.r2dbc.user-search-index.refresh-interval:30m}",
+            fixedDelayString = "${adapters.r2dbc.user-search-index.refresh-interval:30m}"
+    )
+    public void scheduledRebuild() {
+        if (Boolean.TRUE.equals(properties.enabled())) {
+            rebuild().subscribe(null, ex -> logger.warn(LogMessages.USER_SEARCH_INDEX_BUILD_FAILED, ex));
+        }
+    }
+
+    /**
+     * Builds a new index from the table and swaps it in. Completes right away when a build is already running.
+     */
+    public Mono<Void> rebuild() {
+        return Mono.defer(() -> {
+            if (!building.compareAndSet(false, true)) {
+                return Mono.empty();
+            }
+            long start = System.nanoTime();
+            TrigramIndex.Builder names = TrigramIndex.builder();
+            TrigramIndex.Builder emails = TrigramIndex.builder();
+            AtomicInteger indexedUpTo = new AtomicInteger();
+            return entityTemplate.select(UserEntity.class)
+                    .from(EntityUtils.USER_TABLE_NAME)
+                    .matching(Query.empty()
+                            .columns(EntityUtils.USER_ID_COLUMN_NAME, EntityUtils.NAME_COLUMN_NAME,
+                                    EntityUtils.LAST_NAME_COLUMN_NAME, EntityUtils.EMAIL_COLUMN_NAME)
+                            .sort(Sort.by(Sort.Order.asc(EntityUtils.USER_ID_COLUMN_NAME))))
+                    .all()
+                    .reduce(0, (count, user) -> {
+                        names.add(user.getUserId(), user.getName()).add(user.getUserId(), user.getLastName());
+                        emails.add(user.getUserId(), user.getEmail());
+                        indexedUpTo.accumulateAndGet(user.getUserId(), Math::max);
+                        return count + 1;
+                    })
+                    .doOnNext(count -> {
+                        swap(new Snapshot(names.build(), emails.build(), indexedUpTo.get()), start);
+                        logger.info(LogMessages.USER_SEARCH_INDEX_BUILT, count, Duration.ofNanos(System.nanoTime() - start).toMillis());
+                    })
+                    .doFinally(signal -> building.set(false))
+                    .then();
+        });
+    }
+
+    /**
+     * Adds a saved user to the index. A save rolled back afterwards leaves postings the database filters out.
+     */
+    public void index(User user) {
+        if (user == null || user.getUserId() == null) {
+            return;
+        }
+        long now = System.nanoTime();
+        recentSaves.add(new RecentSave(now, user));
+        if (!building.get()) {
+            discardSavesBefore(now - properties.replayWindow().toNanos());
+        }
+        Snapshot current = snapshot;
+        if (current != null) {
+            current.add(user);
+        }
+    }
+
+    /**
+     * Users of the last build that may match {@code filter}. Empty when the index is not built, cannot narrow the
+     * filter down or would return more than {@code maxCandidates} ids.
+     */
+    public Optional<Candidates> candidates(UserFilter filter) {
+        Snapshot current = snapshot;
+        if (current == null || filter == null) {
+            return Optional.empty();
+        }
+        List<int[]> lists = new ArrayList<>();
+        if (StringUtils.hasText(filter.getName()) && isContains(filter.getNameMatch(), DefaultValues.NAME_MATCH_MODE)) {
+            for (String word : EntityUtils.normalize(filter.getName()).split("\\s+")) {
+                if (TrigramIndex.isSearchable(word)) {
+                    lists.add(current.names().candidates(word));
+                }
+            }
+        }
+        if (StringUtils.hasText(filter.getEmail()) && isContains(filter.getEmailMatch(), DefaultValues.EMAIL_MATCH_MODE)
+                && TrigramIndex.isSearchable(filter.getEmail())) {
+            lists.add(current.emails().candidates(filter.getEmail()));
+        }
+        if (lists.isEmpty()) {
+            return Optional.empty();
+        }
+        int[] ids = TrigramIndex.intersect(lists.toArray(int[][]::new));
+        return ids.length > properties.maxCandidates()
+                ? Optional.empty()
+                : Optional.of(new Candidates(ids, current.indexedUpTo()));
+    }
+
+    public boolean isReady() {
+        return snapshot != null;
+    }
+
+    // START Private methods ****
+
+    /**
+     * A user saved after this point is added straight to the new snapshot, see {@link #index(User)}. The ones saved
+     * shortly before or during the build are replayed, the table read may have missed them.
+     */
+    private void swap(Snapshot built, long buildStart) {
+        snapshot = built;
+        discardSavesBefore(buildStart - properties.replayWindow().toNanos());
+        recentSaves.forEach(recent -> built.add(recent.user()));
+    }
+
+    private void discardSavesBefore(long nanoTime) {
+        RecentSave oldest;
+        while ((oldest = recentSaves.peek()) != null && oldest.savedAt() - nanoTime < 0) {
+            recentSaves.remove(oldest);
+        }
+    }
+
+    /**
+     * {@code FULLTEXT} reaches the criteria search as {@code CONTAINS} wherever the full text index is not used.
+     */
+    private static boolean isContains(MatchMode mode, MatchMode defaultMode) {
+        MatchMode effective = mode != null ? mode : defaultMode;
+        return effective == MatchMode.CONTAINS || effective == MatchMode.FULLTEXT;
+    }
+
+    private record RecentSave(long savedAt, User user) {
+    }
+
+    private record Snapshot(TrigramIndex names, TrigramIndex emails, int indexedUpTo) {
+
+        void add(User user) {
+            names.add(user.getUserId(), user.getName());
+            names.add(user.getUserId(), user.getLastName());
+            emails.add(user.getUserId(), user.getEmail());
+        }
+    }
+
+    // END Private methods ****
+
+    /**
+     * Ids, in ascending order, of the indexed users that may match a filter, and the highest id the build read. Users
+     * with a greater id are not in the build and have to be read from the database as well.
+     */
+    public record Candidates(int[] ids, int indexedUpTo) {
+    }
+}
@@ -0,0 +1,19 @@
+package co.com.pragma.r2dbc.search;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+
+/**
+ * In-memory trigram index of the user names and emails. Off by default, it holds a few hundred bytes per user.
+ * {@code maxCandidates} bounds the {@code IN} list sent to the database: filters matching more users than that are
+ * left to the database alone. {@code replayWindow} has to outlast the longest registration transaction: saves that
+ * recent are replayed on a new build, whose table read may not have seen them committed.
+ */
+@ConfigurationProperties(prefix = "adapters.r2dbc.user-search-index")
+public record UserSearchIndexProperties(
+        @DefaultValue("false") Boolean enabled,
+        @DefaultValue("1000") Integer maxCandidates,
+        @DefaultValue("2m") Duration replayWindow) {
+}
@@ -1,43 +1,70 @@
 package co.com.pragma.r2dbc.util;
 
+import co.com.pragma.model.constants.DefaultValues;
+import co.com.pragma.model.user.filters.MatchMode;
 import co.com.pragma.model.user.filters.UserFilter;
 import lombok.NoArgsConstructor;
+import org.springframework.data.relational.core.dialect.Escaper;
 import org.springframework.data.relational.core.query.Criteria;
 import org.springframework.util.StringUtils;
 
+import java.util.List;
+import java.util.Locale;
+
 @NoArgsConstructor(access = lombok.AccessLevel.PRIVATE)
 public class EntityUtils {
 
     public static final String USER_TABLE_NAME = "Usuario";
+    public static final String USER_ID_COLUMN_NAME = "id_usuario";
     public static final String ID_NUMBER_COLUMN_NAME = "documento_identidad";
     public static final String NAME_COLUMN_NAME = "nombre";
     public static final String LAST_NAME_COLUMN_NAME = "apellido";
     public static final String EMAIL_COLUMN_NAME = "email";
     public static final String SALARY_COLUMN_NAME = "salario_base";
+    public static final String ROLE_ID_COLUMN_NAME = "id_rol";
+    public static final String PHONE_COLUMN_NAME = "telefono";
+    public static final String ADDRESS_COLUMN_NAME = "direccion";
+    public static final String BIRTH_DATE_COLUMN_NAME = "fecha_nacimiento";
+    public static final String PASSWORD_COLUMN_NAME = "password";
+    // Lowercase generated columns, indexed, see V4__add_user_search_indexes.sql
+    public static final String NAME_NORMALIZED_COLUMN_NAME = "nombre_normalizado";
+    public static final String LAST_NAME_NORMALIZED_COLUMN_NAME = "apellido_normalizado";
+    public static final String EMAIL_NORMALIZED_COLUMN_NAME = "email_normalizado";
+
+    // What a user is shown with, see UserProfileProjection. Neither the password hash nor the generated columns
+    public static final List<String> USER_PROFILE_COLUMNS = List.of(USER_ID_COLUMN_NAME, NAME_COLUMN_NAME,
+            LAST_NAME_COLUMN_NAME, EMAIL_COLUMN_NAME, ID_NUMBER_COLUMN_NAME, ROLE_ID_COLUMN_NAME, SALARY_COLUMN_NAME,
+            PHONE_COLUMN_NAME, ADDRESS_COLUMN_NAME, BIRTH_DATE_COLUMN_NAME);
+
+    // Unique constraints, see V6__add_user_unique_constraints.sql
+    public static final String EMAIL_UNIQUE_CONSTRAINT = "uk_usuario_email";
+    public static final String ID_NUMBER_UNIQUE_CONSTRAINT = "uk_usuario_documento_identidad";
 
     public static final String ROLE_TABLE_NAME = "Rol";
 
+    // Backslash is the default LIKE escape character of both MySQL and H2
+    private static final Escaper LIKE_ESCAPER = Escaper.DEFAULT;
 
-    public static String addWildcard(String text) {
-        return "%" + text + "%";
-    }
 
     public static Criteria buildCriteria(UserFilter filter) {
         Criteria criteria = Criteria.empty();
 
         if (StringUtils.hasText(filter.getIdNumber())) {
-            criteria = criteria.and(EntityUtils.ID_NUMBER_COLUMN_NAME).like(EntityUtils.addWildcard(filter.getIdNumber())).ignoreCase(true);
+            criteria = criteria.and(match(ID_NUMBER_COLUMN_NAME, filter.getIdNumber().trim(),
+                    modeOrDefault(filter.getIdNumberMatch(), DefaultValues.ID_NUMBER_MATCH_MODE)));
         }
         if (StringUtils.hasText(filter.getName())) {
-            String[] nameParts = filter.getName().split("\\s+");
+            MatchMode nameMatch = modeOrDefault(filter.getNameMatch(), DefaultValues.NAME_MATCH_MODE);
+            String[] nameParts = normalize(filter.getName()).split("\\s+");
             for (String part : nameParts) {
-                Criteria namePartCriteria = Criteria.where(EntityUtils.NAME_COLUMN_NAME).like(EntityUtils.addWildcard(part)).ignoreCase(true)
-                        .or(EntityUtils.LAST_NAME_COLUMN_NAME).like(EntityUtils.addWildcard(part)).ignoreCase(true);
+                Criteria namePartCriteria = match(NAME_NORMALIZED_COLUMN_NAME, part, nameMatch)
+                        .or(match(LAST_NAME_NORMALIZED_COLUMN_NAME, part, nameMatch));
                 criteria = criteria.and(namePartCriteria);
             }
         }
         if (StringUtils.hasText(filter.getEmail())) {
-            criteria = criteria.and(EntityUtils.EMAIL_COLUMN_NAME).like(EntityUtils.addWildcard(filter.getEmail())).ignoreCase(true);
+            criteria = criteria.and(match(EMAIL_NORMALIZED_COLUMN_NAME, normalize(filter.getEmail()),
+                    modeOrDefault(filter.getEmailMatch(), DefaultValues.EMAIL_MATCH_MODE)));
         }
         if (filter.getSalaryGreaterThan() != null) {
             criteria = criteria.and(EntityUtils.SALARY_COLUMN_NAME).greaterThan(filter.getSalaryGreaterThan());
@@ -48,4 +75,27 @@ public class EntityUtils {
         return criteria;
     }
 
+    /**
+     * {@code FULLTEXT} falls back to {@code CONTAINS} here, the full text search itself is built by
+     * {@link co.com.pragma.r2dbc.search.UserFullTextSearch}.
+     * {@code %} and {@code _} typed by the user are escaped, so they match literally instead of acting as wildcards.
+     */
+    public static Criteria match(String column, String value, MatchMode mode) {
+        return switch (mode) {
+            case EXACT -> Criteria.where(column).is(value);
+            case PREFIX -> Criteria.where(column).like(LIKE_ESCAPER.escape(value) + "%");
+            case CONTAINS, FULLTEXT -> Criteria.where(column).like("%" + LIKE_ESCAPER.escape(value) + "%");
+        };
+    }
+
+    /**
+     * Values compared against the normalized columns are lowercased here, so the column is not wrapped in a function.
+     */
+    public static String normalize(String text) {
+        return text.trim().toLowerCase(Locale.ROOT);
+    }
+
+    private static MatchMode modeOrDefault(MatchMode mode, MatchMode defaultMode) {
+        return mode != null ? mode : defaultMode;
+    }
 }
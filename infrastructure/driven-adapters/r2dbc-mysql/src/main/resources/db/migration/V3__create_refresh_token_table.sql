@@ -0,0 +1,18 @@
+-- V3__create_refresh_token_table.sql
+
+CREATE TABLE TokenRefresco (
+  id_token_refresco BIGINT NOT NULL AUTO_INCREMENT,
+  hash_token CHAR(64) NOT NULL,
+  id_familia CHAR(36) NOT NULL,
+  id_usuario INT NOT NULL,
+  fecha_creacion DATETIME(6) NOT NULL,
+  fecha_expiracion DATETIME(6) NOT NULL,
+  fecha_revocacion DATETIME(6) NULL,
+  PRIMARY KEY (id_token_refresco),
+  CONSTRAINT uk_token_refresco_hash UNIQUE (hash_token),
+  INDEX idx_token_refresco_familia (id_familia),
+  CONSTRAINT fk_token_refresco_usuario
+    FOREIGN KEY (id_usuario)
+    REFERENCES Usuario (id_usuario)
+    ON DELETE CASCADE
+);
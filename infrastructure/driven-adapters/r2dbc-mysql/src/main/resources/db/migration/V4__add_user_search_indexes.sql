@@ -0,0 +1,16 @@
+-- V4__add_user_search_indexes.sql
+
+-- Lowercase copies of the searchable text columns, so case-insensitive filters compare the indexed
+-- column itself instead of wrapping it in UPPER(), which no index can serve.
+ALTER TABLE Usuario
+  ADD COLUMN nombre_normalizado VARCHAR(50) GENERATED ALWAYS AS (LOWER(nombre)) VIRTUAL,
+  ADD COLUMN apellido_normalizado VARCHAR(50) GENERATED ALWAYS AS (LOWER(apellido)) VIRTUAL,
+  ADD COLUMN email_normalizado VARCHAR(100) GENERATED ALWAYS AS (LOWER(email)) VIRTUAL;
+
+CREATE INDEX idx_usuario_nombre_normalizado ON Usuario (nombre_normalizado);
+CREATE INDEX idx_usuario_apellido_normalizado ON Usuario (apellido_normalizado);
+CREATE INDEX idx_usuario_email_normalizado ON Usuario (email_normalizado);
+CREATE INDEX idx_usuario_documento_identidad ON Usuario (documento_identidad);
+CREATE INDEX idx_usuario_salario_base ON Usuario (salario_base);
+-- Replaces the index InnoDB created implicitly for fk_usuario_rol
+CREATE INDEX idx_usuario_rol ON Usuario (id_rol);
@@ -0,0 +1,5 @@
+-- V5__add_user_name_fulltext_index.sql
+
+-- Word index over the names, served by MATCH ... AGAINST in the FULLTEXT name search. LIKE '%x%' on the
+-- name columns can only scan the table, this index is looked up by word whatever the table size.
+CREATE FULLTEXT INDEX ft_usuario_nombre_apellido ON Usuario (nombre, apellido);
@@ -0,0 +1,10 @@
+-- V6__add_user_unique_constraints.sql
+
+-- Registration no longer looks for an existing email or id number before inserting: these constraints reject the
+-- duplicate and the adapter maps the violation to an error by constraint name (see EntityUtils), so the names
+-- must not change. Id numbers duplicated by concurrent registrations before this version have to be fixed first.
+ALTER TABLE Usuario
+  RENAME INDEX email TO uk_usuario_email,
+  ADD CONSTRAINT uk_usuario_documento_identidad UNIQUE (documento_identidad),
+  -- Covered by the unique index
+  DROP INDEX idx_usuario_documento_identidad;
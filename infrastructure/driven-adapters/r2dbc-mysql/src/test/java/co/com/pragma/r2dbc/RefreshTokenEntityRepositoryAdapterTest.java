@@ -0,0 +1,90 @@
+package co.com.pragma.r2dbc;
+
+import co.com.pragma.model.refreshtoken.RefreshToken;
+import co.com.pragma.r2dbc.entity.RefreshTokenEntity;
+import co.com.pragma.r2dbc.mapper.PersistenceRefreshTokenMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+import java.time.Instant;
+
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class RefreshTokenEntityRepositoryAdapterTest {
+
+    private static final Instant NOW = Instant.parse("2026-01-01T00:00:00Z");
+
+    @Mock
+    private RefreshTokenEntityRepository repository;
+    @Mock
+    private PersistenceRefreshTokenMapper refreshTokenMapper;
+
+    @InjectMocks
+    private RefreshTokenEntityRepositoryAdapter adapter;
+
+    private RefreshToken refreshToken;
+    private RefreshTokenEntity refreshTokenEntity;
+
+    @BeforeEach
+    void setUp() {
+        refreshToken = RefreshToken.builder().tokenId(10L).tokenHash("hash").familyId("family").userId(1).build();
+        refreshTokenEntity = RefreshTokenEntity.builder().tokenId(10L).tokenHash("hash").familyId("family").userId(1).build();
+    }
+
+    @Test
+    void save_shouldSaveAndReturnToken() {
+        when(refreshTokenMapper.toEntity(refreshToken)).thenReturn(refreshTokenEntity);
+        when(repository.save(refreshTokenEntity)).thenReturn(Mono.just(refreshTokenEntity));
+        when(refreshTokenMapper.toDomain(refreshTokenEntity)).thenReturn(refreshToken);
+
+        StepVerifier.create(adapter.save(refreshToken))
+                .expectNext(refreshToken)
+                .verifyComplete();
+    }
+
+    @Test
+    void findByTokenHash_shouldReturnToken() {
+        when(repository.findByTokenHash("hash")).thenReturn(Mono.just(refreshTokenEntity));
+        when(refreshTokenMapper.toDomain(refreshTokenEntity)).thenReturn(refreshToken);
+
+        StepVerifier.create(adapter.findByTokenHash("hash"))
+                .expectNext(refreshToken)
+                .verifyComplete();
+    }
+
+    @Test
+    void revoke_shouldReturnTrueWhenTheTokenWasStillActive() {
+        when(repository.revoke(10L, NOW)).thenReturn(Mono.just(1));
+
+        StepVerifier.create(adapter.revoke(10L, NOW))
+                .expectNext(true)
+                .verifyComplete();
+    }
+
+    @Test
+    void revoke_shouldReturnFalseWhenTheTokenWasAlreadyRevoked() {
+        when(repository.revoke(10L, NOW)).thenReturn(Mono.just(0));
+
+        StepVerifier.create(adapter.revoke(10L, NOW))
+                .expectNext(false)
+                .verifyComplete();
+    }
+
+    @Test
+    void revokeFamily_shouldRevokeEveryActiveTokenOfTheFamily() {
+        when(repository.revokeFamily("family", NOW)).thenReturn(Mono.just(3));
+
+        StepVerifier.create(adapter.revokeFamily("family", NOW))
+                .verifyComplete();
+
+        verify(repository).revokeFamily("family", NOW);
+    }
+}
@@ -0,0 +1,93 @@
+package co.com.pragma.r2dbc;
+
+import co.com.pragma.model.role.Role;
+import co.com.pragma.r2dbc.catalog.RoleCatalog;
+import co.com.pragma.r2dbc.entity.RoleEntity;
+import co.com.pragma.r2dbc.mapper.PersistenceRoleMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Example;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+import java.util.Optional;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class RoleEntityRepositoryAdapterTest {
+
+    @Mock
+    private RoleEntityRepository repository;
+    @Mock
+    private PersistenceRoleMapper roleMapper;
+    @Mock
+    private RoleCatalog roleCatalog;
+
+    @InjectMocks
+    private RoleEntityRepositoryAdapter adapter;
+
+    private Role role;
+    private RoleEntity roleEntity;
+
+    @BeforeEach
+    void setUp() {
+        role = Role.builder().rolId(1).name("ADMIN").description("Administrador").build();
+        roleEntity = RoleEntity.builder().rolId(1).name("ADMIN").description("Administrador").build();
+    }
+
+    @Test
+    void findOne_whenCatalogHasRole_shouldNotQueryDatabase() {
+        Role example = Role.builder().name("ADMIN").build();
+        when(roleCatalog.find(example)).thenReturn(Optional.of(role));
+
+        StepVerifier.create(adapter.findOne(example))
+                .expectNext(role)
+                .verifyComplete();
+
+        verify(repository, never()).findOne(any());
+    }
+
+    @Test
+    void findOne_whenCatalogMisses_shouldQueryDatabase() {
+        Role example = Role.builder().name("ADMIN").build();
+        RoleEntity exampleEntity = RoleEntity.builder().name("ADMIN").build();
+        when(roleCatalog.find(example)).thenReturn(Optional.empty());
+        when(roleMapper.toEntity(example)).thenReturn(exampleEntity);
+        when(repository.findOne(any(Example.class))).thenReturn(Mono.just(roleEntity));
+        when(roleMapper.toDomain(roleEntity)).thenReturn(role);
+
+        StepVerifier.create(adapter.findOne(example))
+                .expectNext(role)
+                .verifyComplete();
+    }
+
+    @Test
+    void findById_whenCatalogHasRole_shouldNotQueryDatabase() {
+        when(roleCatalog.find(Role.builder().rolId(1).build())).thenReturn(Optional.of(role));
+
+        StepVerifier.create(adapter.findById(1))
+                .expectNext(role)
+                .verifyComplete();
+
+        verify(repository, never()).findById(any(Integer.class));
+    }
+
+    @Test
+    void findById_whenCatalogMisses_shouldQueryDatabase() {
+        when(roleCatalog.find(Role.builder().rolId(1).build())).thenReturn(Optional.empty());
+        when(repository.findById(1)).thenReturn(Mono.just(roleEntity));
+        when(roleMapper.toDomain(roleEntity)).thenReturn(role);
+
+        StepVerifier.create(adapter.findById(1))
+                .expectNext(role)
+                .verifyComplete();
+    }
+}
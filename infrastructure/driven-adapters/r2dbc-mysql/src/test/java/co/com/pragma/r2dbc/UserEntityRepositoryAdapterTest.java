@@ -1,30 +1,48 @@
 package co.com.pragma.r2dbc;
 
+import co.com.pragma.model.exceptions.EmailTakenException;
+import co.com.pragma.model.exceptions.IdNumberTakenException;
 import co.com.pragma.model.role.Role;
 import co.com.pragma.model.user.User;
+import co.com.pragma.model.user.filters.MatchMode;
 import co.com.pragma.model.user.filters.UserFilter;
+import co.com.pragma.r2dbc.batch.UserBatchInsert;
 import co.com.pragma.r2dbc.entity.UserEntity;
+import co.com.pragma.r2dbc.entity.UserProfileProjection;
+import co.com.pragma.r2dbc.entity.UserWithRoleEntity;
 import co.com.pragma.r2dbc.mapper.PersistenceUserMapper;
+import co.com.pragma.r2dbc.search.UserFullTextSearch;
+import co.com.pragma.r2dbc.search.UserSearchIndex;
+import co.com.pragma.r2dbc.util.EntityUtils;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Nested;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.Answers;
+import org.mockito.ArgumentCaptor;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.dao.DuplicateKeyException;
 import org.springframework.data.r2dbc.core.R2dbcEntityTemplate;
+import org.springframework.data.r2dbc.core.ReactiveSelectOperation;
 import org.springframework.data.relational.core.query.Query;
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 import reactor.test.StepVerifier;
 
 import java.util.List;
+import java.util.Optional;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.atLeastOnce;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 @ExtendWith(MockitoExtension.class)
@@ -36,12 +54,19 @@ class UserEntityRepositoryAdapterTest {
     private PersistenceUserMapper userMapper;
     @Mock(answer = Answers.RETURNS_DEEP_STUBS)
     private R2dbcEntityTemplate entityTemplate;
+    @Mock
+    private UserFullTextSearch fullTextSearch;
+    @Mock
+    private UserSearchIndex searchIndex;
+    @Mock
+    private UserBatchInsert batchInsert;
 
     @InjectMocks
     private UserEntityRepositoryAdapter adapter;
 
     private User userDomain;
     private UserEntity userEntity;
+    private UserProfileProjection userProfile;
 
     @BeforeEach
     void setUp() {
@@ -49,6 +74,7 @@ class UserEntityRepositoryAdapterTest {
         userEntity = new UserEntity();
         userEntity.setUserId(1);
         userEntity.setEmail("test@example.com");
+        userProfile = new UserProfileProjection(1, null, null, "test@example.com", null, null, null, null, null, null);
     }
 
     @Test
@@ -76,34 +102,89 @@ class UserEntityRepositoryAdapterTest {
                     assertThat(finalUser.getRole().getDescription()).isEqualTo("Administrator");
                 })
                 .verifyComplete();
+
+        verify(searchIndex).index(any(User.class));
+    }
+
+    @Nested
+    class SaveUniqueViolations {
+
+        @BeforeEach
+        void setUp() {
+            when(userMapper.toEntity(userDomain)).thenReturn(userEntity);
+        }
+
+        @Test
+        void save_whenEmailConstraintIsViolated_shouldFailWithEmailTaken() {
+            when(userRepository.save(userEntity)).thenReturn(Mono.error(new DuplicateKeyException(
+                    "executeMany; Duplicate entry 'test@example.com' for key 'Usuario.uk_usuario_email'")));
+
+            StepVerifier.create(adapter.save(userDomain))
+                    .expectError(EmailTakenException.class)
+                    .verify();
+
+            verify(searchIndex, never()).index(any(User.class));
+        }
+
+        @Test
+        void save_whenIdNumberConstraintIsViolated_shouldFailWithIdNumberTaken() {
+            when(userRepository.save(userEntity)).thenReturn(Mono.error(new DuplicateKeyException(
+                    "Unique index or primary key violation: \"PUBLIC.UK_USUARIO_DOCUMENTO_IDENTIDAD_INDEX_8\"")));
+
+            StepVerifier.create(adapter.save(userDomain))
+                    .expectError(IdNumberTakenException.class)
+                    .verify();
+        }
+
+        @Test
+        void save_whenAnotherConstraintIsViolated_shouldKeepTheError() {
+            DataIntegrityViolationException foreignKey =
+                    new DataIntegrityViolationException("Cannot add or update a child row: fk_usuario_rol");
+            when(userRepository.save(userEntity)).thenReturn(Mono.error(foreignKey));
+
+            StepVerifier.create(adapter.save(userDomain))
+                    .expectErrorMatches(ex -> ex == foreignKey)
+                    .verify();
+        }
+    }
+
+    @Test
+    void updatePassword_shouldUpdateStoredHash() {
+        when(userRepository.updatePassword(1, "new_hash")).thenReturn(Mono.just(1));
+
+        StepVerifier.create(adapter.updatePassword(1, "new_hash"))
+                .verifyComplete();
+
+        verify(userRepository).updatePassword(1, "new_hash");
     }
 
     @Test
-    void exists_shouldReturnTrue() {
-        when(userMapper.toEntity(any(User.class))).thenReturn(userEntity);
-        when(userRepository.exists(any())).thenReturn(Mono.just(true));
+    void findWithRoleById_shouldReturnUserWithRole() {
+        UserWithRoleEntity joined = UserWithRoleEntity.builder().userId(1).rolId(1).roleName("ADMIN").build();
+        when(userRepository.findWithRoleById(1)).thenReturn(Mono.just(joined));
+        when(userMapper.toDomainWithRole(joined)).thenReturn(userDomain);
 
-        StepVerifier.create(adapter.exists(userDomain))
-                .expectNext(true)
+        StepVerifier.create(adapter.findWithRoleById(1))
+                .expectNext(userDomain)
                 .verifyComplete();
     }
 
     @Test
-    void findOne_shouldReturnUser() {
-        when(userMapper.toEntity(any(User.class))).thenReturn(userEntity);
-        when(userRepository.findOne(any())).thenReturn(Mono.just(userEntity));
-        when(userMapper.toDomain(any(UserEntity.class))).thenReturn(userDomain);
+    void findWithRoleByIdNumber_shouldReturnUserWithRole() {
+        UserWithRoleEntity joined = UserWithRoleEntity.builder().userId(1).idNumber("123").rolId(1).roleName("ADMIN").build();
+        when(userRepository.findWithRoleByIdNumber("123")).thenReturn(Mono.just(joined));
+        when(userMapper.toDomainWithRole(joined)).thenReturn(userDomain);
 
-        StepVerifier.create(adapter.findOne(userDomain))
+        StepVerifier.create(adapter.findWithRoleByIdNumber("123"))
                 .expectNext(userDomain)
                 .verifyComplete();
     }
 
     @Test
     void findWithPasswordByEmail_shouldReturnUserWithPassword() {
-        userEntity.setPassword("hashed_password");
-        when(userRepository.findByEmail(anyString())).thenReturn(Mono.just(userEntity));
-        when(userMapper.toDomain(any(UserEntity.class))).thenReturn(userDomain);
+        UserWithRoleEntity joined = UserWithRoleEntity.builder().userId(1).password("hashed_password").build();
+        when(userRepository.findWithRoleByEmail(anyString())).thenReturn(Mono.just(joined));
+        when(userMapper.toDomainWithRole(any(UserWithRoleEntity.class))).thenReturn(userDomain);
 
         StepVerifier.create(adapter.findWithPasswordByEmail("test@example.com"))
                 .expectNextMatches(user -> "hashed_password".equals(user.getPassword()))
@@ -113,18 +194,93 @@ class UserEntityRepositoryAdapterTest {
     @Test
     void findAllByEmail_shouldReturnFluxOfUsers() {
         List<String> emails = List.of("test@example.com");
-        when(userRepository.findAllByEmailIn(emails)).thenReturn(Flux.just(userEntity));
-        when(userMapper.toDomain(userEntity)).thenReturn(userDomain);
+        when(userRepository.findAllByEmailIn(emails)).thenReturn(Flux.just(userProfile));
+        when(userMapper.profileToDomain(userProfile)).thenReturn(userDomain);
 
         StepVerifier.create(adapter.findAllByEmail(emails))
                 .expectNext(userDomain)
                 .verifyComplete();
     }
 
+    @Nested
+    @DisplayName("Bulk import")
+    class SaveAll {
+
+        private final Role role = Role.builder().rolId(3).name("CLIENTE").build();
+        private final User first = User.builder().email("first@example.com").role(role).password("hash1").build();
+        private final User second = User.builder().email("second@example.com").role(role).password("hash2").build();
+        private final UserEntity firstEntity = UserEntity.builder().email("first@example.com").build();
+        private final UserEntity secondEntity = UserEntity.builder().email("second@example.com").build();
+
+        @BeforeEach
+        void setUp() {
+            when(userMapper.toEntity(first)).thenReturn(firstEntity);
+            when(userMapper.toEntity(second)).thenReturn(secondEntity);
+        }
+
+        @Test
+        @DisplayName("should insert every user in one batch and hand them back with their ids and without hashes")
+        void saveAll_shouldAssignGeneratedIdsInOrder() {
+            when(batchInsert.insert(List.of(firstEntity, secondEntity))).thenReturn(Flux.just(10, 11));
+
+            StepVerifier.create(adapter.saveAll(List.of(first, second)))
+                    .assertNext(saved -> {
+                        assertThat(saved.getUserId()).isEqualTo(10);
+                        assertThat(saved.getEmail()).isEqualTo("first@example.com");
+                        assertThat(saved.getRole()).isEqualTo(role);
+                        assertThat(saved.getPassword()).isNull();
+                    })
+                    .assertNext(saved -> assertThat(saved.getUserId()).isEqualTo(11))
+                    .verifyComplete();
+
+            verify(searchIndex, times(2)).index(any(User.class));
+            verify(userRepository, never()).save(any(UserEntity.class));
+        }
+
+        @Test
+        void saveAll_whenAnIdNumberIsTaken_shouldFailWithIdNumberTaken() {
+            when(batchInsert.insert(List.of(firstEntity, secondEntity))).thenReturn(Flux.error(new DuplicateKeyException(
+                    "Duplicate entry '1' for key 'Usuario.uk_usuario_documento_identidad'")));
+
+            StepVerifier.create(adapter.saveAll(List.of(first, second)))
+                    .expectError(IdNumberTakenException.class)
+                    .verify();
+        }
+    }
+
+    @Test
+    void findAllByEmailOrIdNumber_shouldReadBothKeysInOneQuery() {
+        List<String> emails = List.of("test@example.com");
+        List<String> idNumbers = List.of("123");
+        when(userRepository.findAllByEmailInOrIdNumberIn(emails, idNumbers)).thenReturn(Flux.just(userProfile));
+        when(userMapper.profileToDomain(userProfile)).thenReturn(userDomain);
+
+        StepVerifier.create(adapter.findAllByEmailOrIdNumber(emails, idNumbers))
+                .expectNext(userDomain)
+                .verifyComplete();
+    }
+
+    @Test
+    void findAllByEmailOrIdNumber_whenNothingIsAsked_shouldNotQuery() {
+        StepVerifier.create(adapter.findAllByEmailOrIdNumber(List.of(), List.of()))
+                .verifyComplete();
+
+        verify(userRepository, never()).findAllByEmailInOrIdNumberIn(any(), any());
+    }
+
+    @Test
+    void findEmailsByRole_shouldReadOnlyTheEmails() {
+        when(userRepository.findEmailsByRolId(1)).thenReturn(Flux.just("admin@example.com", "root@example.com"));
+
+        StepVerifier.create(adapter.findEmailsByRole(1))
+                .expectNext("admin@example.com", "root@example.com")
+                .verifyComplete();
+    }
+
     @Test
     void findByEmail_shouldReturnUser() {
-        when(userRepository.findByEmail(anyString())).thenReturn(Mono.just(userEntity));
-        when(userMapper.toDomain(userEntity)).thenReturn(userDomain);
+        when(userRepository.findByEmail(anyString())).thenReturn(Mono.just(userProfile));
+        when(userMapper.profileToDomain(userProfile)).thenReturn(userDomain);
 
         StepVerifier.create(adapter.findByEmail("test@example.com"))
                 .expectNext(userDomain)
@@ -143,7 +299,7 @@ class UserEntityRepositoryAdapterTest {
                     .thenReturn(Flux.just(userEntity));
             when(userMapper.toDomain(userEntity)).thenReturn(userDomain);
 
-            StepVerifier.create(adapter.findUsersByFilter(filter))
+            StepVerifier.create(adapter.findUsersByFilter(filter, null, 21))
                     .expectNext(userDomain)
                     .verifyComplete();
 
@@ -159,7 +315,141 @@ class UserEntityRepositoryAdapterTest {
                     .all())
                     .thenReturn(Flux.empty());
 
-            StepVerifier.create(adapter.findUsersByFilter(filter))
+            StepVerifier.create(adapter.findUsersByFilter(filter, null, 21))
+                    .verifyComplete();
+        }
+
+        @Test
+        @DisplayName("should seek past the cursor in id order and limit the rows read")
+        void findUsersByFilter_shouldQueryWithKeysetAndLimit() {
+            UserFilter filter = UserFilter.builder().name("test").build();
+            ReactiveSelectOperation.SelectWithQuery<UserEntity> select =
+                    entityTemplate.select(UserEntity.class).from(EntityUtils.USER_TABLE_NAME);
+            when(select.matching(any(Query.class)).all()).thenReturn(Flux.empty());
+
+            StepVerifier.create(adapter.findUsersByFilter(filter, 10, 21))
+                    .verifyComplete();
+
+            ArgumentCaptor<Query> captor = ArgumentCaptor.forClass(Query.class);
+            verify(select, atLeastOnce()).matching(captor.capture());
+            Query query = captor.getValue();
+            assertThat(query.getLimit()).isEqualTo(21);
+            assertThat(query.getColumns()).extracting(Object::toString)
+                    .containsExactlyElementsOf(EntityUtils.USER_PROFILE_COLUMNS)
+                    .doesNotContain("password");
+            assertThat(query.getSort().getOrderFor(EntityUtils.USER_ID_COLUMN_NAME)).isNotNull()
+                    .satisfies(order -> assertThat(order.isAscending()).isTrue());
+            assertThat(query.getCriteria()).get().asString().contains(EntityUtils.USER_ID_COLUMN_NAME + " > 10");
+        }
+
+        @Test
+        @DisplayName("should stream every user past the cursor in id order without a limit")
+        void streamUsersByFilter_shouldQueryWithKeysetAndNoLimit() {
+            UserFilter filter = UserFilter.builder().name("test").build();
+            ReactiveSelectOperation.SelectWithQuery<UserEntity> select =
+                    entityTemplate.select(UserEntity.class).from(EntityUtils.USER_TABLE_NAME);
+            when(select.matching(any(Query.class)).all()).thenReturn(Flux.just(userEntity));
+            when(userMapper.toDomain(userEntity)).thenReturn(userDomain);
+
+            StepVerifier.create(adapter.streamUsersByFilter(filter, 10))
+                    .expectNext(userDomain)
+                    .verifyComplete();
+
+            ArgumentCaptor<Query> captor = ArgumentCaptor.forClass(Query.class);
+            verify(select, atLeastOnce()).matching(captor.capture());
+            Query query = captor.getValue();
+            assertThat(query.isLimited()).isFalse();
+            assertThat(query.getSort().getOrderFor(EntityUtils.USER_ID_COLUMN_NAME)).isNotNull();
+            assertThat(query.getCriteria()).get().asString().contains(EntityUtils.USER_ID_COLUMN_NAME + " > 10");
+        }
+
+        @Test
+        @DisplayName("should run full text name searches on the full text index")
+        void findUsersByFilter_whenFullTextApplies_shouldUseFullTextSearch() {
+            UserFilter filter = UserFilter.builder().name("john smith").nameMatch(MatchMode.FULLTEXT).build();
+            when(fullTextSearch.applies(filter)).thenReturn(true);
+            when(fullTextSearch.find(filter, 21)).thenReturn(Flux.just(userEntity));
+            when(fullTextSearch.count(filter)).thenReturn(Mono.just(1L));
+            when(userMapper.toDomain(userEntity)).thenReturn(userDomain);
+
+            assertThat(adapter.isRankedSearch(filter)).isTrue();
+            StepVerifier.create(adapter.findUsersByFilter(filter, null, 21))
+                    .expectNext(userDomain)
+                    .verifyComplete();
+            StepVerifier.create(adapter.countUsersByFilter(filter))
+                    .expectNext(1L)
+                    .verifyComplete();
+
+            verify(entityTemplate, never()).select(UserEntity.class);
+        }
+
+        @Test
+        @DisplayName("should read the candidates of the search index and the users it has not indexed yet, still applying the whole filter")
+        void findUsersByFilter_whenIndexHasCandidates_shouldQueryThemById() {
+            UserFilter filter = UserFilter.builder().name("smith").build();
+            ReactiveSelectOperation.SelectWithQuery<UserEntity> select =
+                    entityTemplate.select(UserEntity.class).from(EntityUtils.USER_TABLE_NAME);
+            when(searchIndex.candidates(filter)).thenReturn(Optional.of(new UserSearchIndex.Candidates(new int[]{4, 8, 15}, 20)));
+            when(select.matching(any(Query.class)).all()).thenReturn(Flux.empty());
+
+            StepVerifier.create(adapter.findUsersByFilter(filter, null, 21))
+                    .verifyComplete();
+
+            ArgumentCaptor<Query> captor = ArgumentCaptor.forClass(Query.class);
+            verify(select, atLeastOnce()).matching(captor.capture());
+            assertThat(captor.getValue().getCriteria()).get().asString()
+                    .contains(EntityUtils.NAME_NORMALIZED_COLUMN_NAME)
+                    .contains(EntityUtils.USER_ID_COLUMN_NAME + " IN (4, 8, 15)")
+                    .contains(EntityUtils.USER_ID_COLUMN_NAME + " > 20");
+        }
+
+        @Test
+        @DisplayName("should still read the users the search index has not indexed yet when it has no candidates")
+        void findUsersByFilter_whenIndexHasNoCandidates_shouldQueryUsersAfterTheIndexedOnes() {
+            UserFilter filter = UserFilter.builder().name("nobody").build();
+            ReactiveSelectOperation.SelectWithQuery<UserEntity> select =
+                    entityTemplate.select(UserEntity.class).from(EntityUtils.USER_TABLE_NAME);
+            when(searchIndex.candidates(filter)).thenReturn(Optional.of(new UserSearchIndex.Candidates(new int[0], 20)));
+            when(select.matching(any(Query.class)).all()).thenReturn(Flux.just(userEntity));
+            when(userMapper.toDomain(userEntity)).thenReturn(userDomain);
+
+            StepVerifier.create(adapter.findUsersByFilter(filter, null, 21))
+                    .expectNext(userDomain)
+                    .verifyComplete();
+
+            ArgumentCaptor<Query> captor = ArgumentCaptor.forClass(Query.class);
+            verify(select, atLeastOnce()).matching(captor.capture());
+            assertThat(captor.getValue().getCriteria()).get().asString()
+                    .contains(EntityUtils.USER_ID_COLUMN_NAME + " > 20")
+                    .doesNotContain(" IN (");
+        }
+
+        @Test
+        void countUsersByFilter_whenIndexHasNoCandidates_shouldStillCountInTheDatabase() {
+            UserFilter filter = UserFilter.builder().name("nobody").build();
+            when(searchIndex.candidates(filter)).thenReturn(Optional.of(new UserSearchIndex.Candidates(new int[0], 20)));
+            when(entityTemplate.select(UserEntity.class)
+                    .from(anyString())
+                    .matching(any(Query.class))
+                    .count())
+                    .thenReturn(Mono.just(1L));
+
+            StepVerifier.create(adapter.countUsersByFilter(filter))
+                    .expectNext(1L)
+                    .verifyComplete();
+        }
+
+        @Test
+        void countUsersByFilter_shouldCountMatchingUsers() {
+            UserFilter filter = UserFilter.builder().name("test").build();
+            when(entityTemplate.select(UserEntity.class)
+                    .from(anyString())
+                    .matching(any(Query.class))
+                    .count())
+                    .thenReturn(Mono.just(3L));
+
+            StepVerifier.create(adapter.countUsersByFilter(filter))
+                    .expectNext(3L)
                     .verifyComplete();
         }
     }
@@ -0,0 +1,157 @@
+package co.com.pragma.r2dbc;
+
+import co.com.pragma.r2dbc.entity.UserEntity;
+import co.com.pragma.r2dbc.util.EntityUtils;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.SpringBootConfiguration;
+import org.springframework.boot.test.autoconfigure.data.r2dbc.DataR2dbcTest;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.r2dbc.repository.config.EnableR2dbcRepositories;
+import org.springframework.r2dbc.core.DatabaseClient;
+import reactor.test.StepVerifier;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.Locale;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DataR2dbcTest
+class UserEntityRepositoryTest {
+
+    @SpringBootConfiguration
+    @EnableR2dbcRepositories(basePackageClasses = UserEntityRepository.class)
+    static class Config {
+    }
+
+    @Autowired
+    private UserEntityRepository userRepository;
+    @Autowired
+    private DatabaseClient databaseClient;
+
+    private UserEntity saved;
+
+    @BeforeEach
+    void setUp() {
+        saved = userRepository.deleteAll()
+                .then(userRepository.save(UserEntity.builder()
+                        .name("John")
+                        .lastName("Doe")
+                        .email("john.doe@example.com")
+                        .idNumber("123456789")
+                        .rolId(1)
+                        .baseSalary(new BigDecimal("50000.00"))
+                        .password("hashed_password")
+                        .build()))
+                .block();
+    }
+
+    @Test
+    void findWithRoleByEmail_shouldReadUserAndRoleInOneRow() {
+        StepVerifier.create(userRepository.findWithRoleByEmail("john.doe@example.com"))
+                .assertNext(row -> {
+                    assertThat(row.getUserId()).isEqualTo(saved.getUserId());
+                    assertThat(row.getPassword()).isEqualTo("hashed_password");
+                    assertThat(row.getRolId()).isEqualTo(1);
+                    assertThat(row.getRoleName()).isEqualTo("ADMIN");
+                    assertThat(row.getRoleDescription()).isEqualTo("Administrador del sistema");
+                })
+                .verifyComplete();
+    }
+
+    @Test
+    void findWithRoleByIdNumber_shouldReadUserAndRoleInOneRow() {
+        StepVerifier.create(userRepository.findWithRoleByIdNumber("123456789"))
+                .assertNext(row -> assertThat(row.getRoleName()).isEqualTo("ADMIN"))
+                .verifyComplete();
+    }
+
+    @Test
+    void findAllByEmailIn_shouldProjectTheProfileColumns() {
+        StepVerifier.create(userRepository.findAllByEmailIn(List.of("john.doe@example.com", "nobody@example.com")))
+                .assertNext(profile -> {
+                    assertThat(profile.userId()).isEqualTo(saved.getUserId());
+                    assertThat(profile.name()).isEqualTo("John");
+                    assertThat(profile.rolId()).isEqualTo(1);
+                    assertThat(profile.baseSalary()).isEqualByComparingTo("50000.00");
+                })
+                .verifyComplete();
+    }
+
+    @Test
+    void findAllByEmailInOrIdNumberIn_shouldMatchEitherColumnInOneQuery() {
+        StepVerifier.create(userRepository.findAllByEmailInOrIdNumberIn(
+                        List.of("someone@example.com"), List.of("123456789", "987654321")))
+                .assertNext(profile -> {
+                    assertThat(profile.email()).isEqualTo("john.doe@example.com");
+                    assertThat(profile.idNumber()).isEqualTo("123456789");
+                })
+                .verifyComplete();
+        StepVerifier.create(userRepository.findAllByEmailInOrIdNumberIn(
+                        List.of("someone@example.com"), List.of("987654321")))
+                .verifyComplete();
+    }
+
+    @Test
+    void findEmailsByRolId_shouldReadOnlyTheEmails() {
+        StepVerifier.create(userRepository.findEmailsByRolId(1))
+                .expectNext("john.doe@example.com")
+                .verifyComplete();
+        StepVerifier.create(userRepository.findEmailsByRolId(2))
+                .verifyComplete();
+    }
+
+    @Test
+    @DisplayName("should reject a duplicated id number naming the constraint the adapter translates")
+    void save_whenIdNumberIsTaken_shouldViolateItsUniqueConstraint() {
+        UserEntity duplicate = UserEntity.builder()
+                .name("Jane")
+                .lastName("Doe")
+                .email("jane.doe@example.com")
+                .idNumber("123456789")
+                .rolId(1)
+                .baseSalary(BigDecimal.TEN)
+                .password("hashed_password")
+                .build();
+
+        StepVerifier.create(userRepository.save(duplicate))
+                .expectErrorSatisfies(ex -> assertThat(ex)
+                        .isInstanceOf(DataIntegrityViolationException.class)
+                        .hasMessageContaining(EntityUtils.ID_NUMBER_UNIQUE_CONSTRAINT.toUpperCase(Locale.ROOT)))
+                .verify();
+    }
+
+    @Test
+    @DisplayName("should still read a user whose role row is missing, without the role name")
+    void findWithRoleByIdNumber_whenRoleIsMissing_shouldReadUserWithoutRoleName() {
+        // The foreign key is lifted only to leave the user without its role row
+        execute("ALTER TABLE Usuario SET REFERENTIAL_INTEGRITY FALSE");
+        try {
+            execute("UPDATE Usuario SET id_rol = 99 WHERE id_usuario = " + saved.getUserId());
+
+            StepVerifier.create(userRepository.findWithRoleByIdNumber("123456789"))
+                    .assertNext(row -> {
+                        assertThat(row.getUserId()).isEqualTo(saved.getUserId());
+                        assertThat(row.getRolId()).isEqualTo(99);
+                        assertThat(row.getRoleName()).isNull();
+                    })
+                    .verifyComplete();
+        } finally {
+            execute("UPDATE Usuario SET id_rol = 1");
+            execute("ALTER TABLE Usuario SET REFERENTIAL_INTEGRITY TRUE");
+        }
+    }
+
+    @Test
+    void findWithRoleById_whenUserDoesNotExist_shouldBeEmpty() {
+        StepVerifier.create(userRepository.findWithRoleById(saved.getUserId() + 1))
+                .verifyComplete();
+    }
+
+    private void execute(String sql) {
+        databaseClient.sql(sql).then().block();
+    }
+}
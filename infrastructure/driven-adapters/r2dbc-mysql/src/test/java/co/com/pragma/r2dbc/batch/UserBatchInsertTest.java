@@ -0,0 +1,113 @@
+package co.com.pragma.r2dbc.batch;
+
+import co.com.pragma.r2dbc.UserEntityRepository;
+import co.com.pragma.r2dbc.entity.UserEntity;
+import co.com.pragma.r2dbc.util.EntityUtils;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.SpringBootConfiguration;
+import org.springframework.boot.test.autoconfigure.data.r2dbc.DataR2dbcTest;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.r2dbc.core.R2dbcEntityTemplate;
+import org.springframework.data.r2dbc.dialect.MySqlDialect;
+import org.springframework.data.r2dbc.repository.config.EnableR2dbcRepositories;
+import org.springframework.r2dbc.core.DatabaseClient;
+import reactor.test.StepVerifier;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Locale;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+
+@DataR2dbcTest
+class UserBatchInsertTest {
+
+    @SpringBootConfiguration
+    @EnableR2dbcRepositories(basePackageClasses = UserEntityRepository.class)
+    static class Config {
+    }
+
+    @Autowired
+    private R2dbcEntityTemplate entityTemplate;
+    @Autowired
+    private DatabaseClient databaseClient;
+    @Autowired
+    private UserEntityRepository userRepository;
+
+    private UserBatchInsert batchInsert;
+
+    @BeforeEach
+    void setUp() {
+        batchInsert = new UserBatchInsert(entityTemplate);
+        databaseClient.sql("DELETE FROM Usuario").then().block();
+    }
+
+    @Test
+    @DisplayName("should insert every user and return the generated ids in input order")
+    void insert_shouldReturnGeneratedIdsInOrder() {
+        List<UserEntity> users = List.of(user("first@example.com", "1"), user("second@example.com", "2"),
+                user("third@example.com", "3"));
+
+        List<Integer> ids = batchInsert.insert(users).collectList().block();
+
+        assertThat(ids).hasSize(3).doesNotContainNull().isSorted().doesNotHaveDuplicates();
+        StepVerifier.create(userRepository.findById(ids.get(1)))
+                .assertNext(saved -> {
+                    assertThat(saved.getEmail()).isEqualTo("second@example.com");
+                    assertThat(saved.getIdNumber()).isEqualTo("2");
+                    assertThat(saved.getPassword()).isEqualTo("hash");
+                    assertThat(saved.getPhone()).isNull();
+                    assertThat(saved.getBirthDate()).isEqualTo(LocalDate.of(1990, 1, 15));
+                })
+                .verifyComplete();
+    }
+
+    @Test
+    void insert_whenEmpty_shouldNotTouchTheDatabase() {
+        UserBatchInsert detached = new UserBatchInsert(mock(DatabaseClient.class), MySqlDialect.INSTANCE);
+
+        StepVerifier.create(detached.insert(List.of()))
+                .verifyComplete();
+    }
+
+    @Test
+    @DisplayName("should fail naming the violated constraint, so the adapter can translate it")
+    void insert_whenAnEmailIsTaken_shouldFailWithTheConstraintName() {
+        List<UserEntity> users = List.of(user("same@example.com", "1"), user("same@example.com", "2"));
+
+        // Rows are inserted in order, the caller's transaction rolls back the ones before the failure
+        StepVerifier.create(batchInsert.insert(users))
+                .expectNextCount(1)
+                .expectErrorSatisfies(ex -> assertThat(ex)
+                        .isInstanceOf(DataIntegrityViolationException.class)
+                        .hasMessageContaining(EntityUtils.EMAIL_UNIQUE_CONSTRAINT.toUpperCase(Locale.ROOT)))
+                .verify();
+    }
+
+    @Test
+    void insertSql_shouldUseTheBindMarkersOfTheDialect() {
+        UserBatchInsert mysqlInsert = new UserBatchInsert(mock(DatabaseClient.class), MySqlDialect.INSTANCE);
+
+        assertThat(mysqlInsert.insertSql())
+                .startsWith("INSERT INTO Usuario (nombre, apellido, email")
+                .endsWith("VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?)");
+    }
+
+    private static UserEntity user(String email, String idNumber) {
+        return UserEntity.builder()
+                .name("John")
+                .lastName("Doe")
+                .email(email)
+                .idNumber(idNumber)
+                .rolId(3)
+                .baseSalary(new BigDecimal("1000.00"))
+                .birthDate(LocalDate.of(1990, 1, 15))
+                .password("hash")
+                .build();
+    }
+}
@@ -0,0 +1,216 @@
+package co.com.pragma.r2dbc.cache;
+
+import co.com.pragma.model.role.Role;
+import co.com.pragma.model.user.User;
+import co.com.pragma.model.user.gateways.UserRepository;
+import co.com.pragma.r2dbc.config.ReadOnlyRouting;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.reactive.AbstractReactiveTransactionManager;
+import org.springframework.transaction.reactive.GenericReactiveTransaction;
+import org.springframework.transaction.reactive.TransactionSynchronizationManager;
+import org.springframework.transaction.reactive.TransactionalOperator;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class CachingUserRepositoryTest {
+
+    private static final String EMAIL = "test@example.com";
+    private static final String ID_NUMBER = "123456789";
+
+    @Mock
+    private UserRepository delegate;
+
+    private SimpleMeterRegistry meterRegistry;
+    private CachingUserRepository repository;
+    private User user;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        repository = new CachingUserRepository(delegate,
+                new UserCacheProperties(true, 100L, Duration.ofMinutes(5), Duration.ofSeconds(30)), meterRegistry);
+        user = User.builder()
+                .userId(1)
+                .email(EMAIL)
+                .idNumber(ID_NUMBER)
+                .password("hashed")
+                .role(Role.builder().rolId(4).name("CLIENTE").build())
+                .build();
+    }
+
+    @Test
+    void findByEmail_shouldQueryOnceAndServeRepeatedLookupsFromCache() {
+        when(delegate.findByEmail(EMAIL)).thenReturn(Mono.just(user));
+
+        StepVerifier.create(repository.findByEmail(EMAIL))
+                .assertNext(found -> assertThat(found.getUserId()).isEqualTo(1))
+                .verifyComplete();
+        StepVerifier.create(repository.findByEmail("TEST@example.com"))
+                .assertNext(found -> assertThat(found.getUserId()).isEqualTo(1))
+                .verifyComplete();
+
+        verify(delegate, times(1)).findByEmail(EMAIL);
+        assertThat(meterRegistry.get("cache.gets").tag("cache", CachingUserRepository.BY_EMAIL_CACHE_NAME)
+                .tag("result", "hit").functionCounter().count()).isEqualTo(1.0);
+    }
+
+    @Test
+    void findByEmail_shouldNeverCachePasswordHashes() {
+        when(delegate.findByEmail(EMAIL)).thenReturn(Mono.just(user));
+
+        StepVerifier.create(repository.findByEmail(EMAIL))
+                .assertNext(found -> assertThat(found.getPassword()).isNull())
+                .verifyComplete();
+    }
+
+    @Test
+    void findByEmail_whenUserDoesNotExist_shouldCacheTheMiss() {
+        when(delegate.findByEmail(EMAIL)).thenReturn(Mono.empty());
+
+        StepVerifier.create(repository.findByEmail(EMAIL)).verifyComplete();
+        StepVerifier.create(repository.findByEmail(EMAIL)).verifyComplete();
+
+        verify(delegate, times(1)).findByEmail(EMAIL);
+    }
+
+    @Test
+    void findByEmail_whenLookupFails_shouldNotCacheTheFailure() {
+        when(delegate.findByEmail(EMAIL))
+                .thenReturn(Mono.error(new IllegalStateException("Connection refused")), Mono.just(user));
+
+        StepVerifier.create(repository.findByEmail(EMAIL))
+                .expectError(IllegalStateException.class)
+                .verify();
+        StepVerifier.create(repository.findByEmail(EMAIL))
+                .expectNextCount(1)
+                .verifyComplete();
+    }
+
+    @Test
+    void findByEmail_shouldLoadWithTheSubscriberContext() {
+        AtomicBoolean readOnly = new AtomicBoolean();
+        when(delegate.findByEmail(EMAIL)).thenReturn(Mono.deferContextual(context -> {
+            readOnly.set(ReadOnlyRouting.isReadOnly(context));
+            return Mono.just(user);
+        }));
+
+        StepVerifier.create(repository.findByEmail(EMAIL).contextWrite(ReadOnlyRouting::markReadOnly))
+                .expectNextCount(1)
+                .verifyComplete();
+
+        assertThat(readOnly).isTrue();
+    }
+
+    @Test
+    void findByEmail_shouldReturnCopiesThatDoNotAlterTheCache() {
+        when(delegate.findByEmail(EMAIL)).thenReturn(Mono.just(user));
+
+        repository.findByEmail(EMAIL).block().getRole().setName("CHANGED");
+
+        StepVerifier.create(repository.findByEmail(EMAIL))
+                .assertNext(found -> assertThat(found.getRole().getName()).isEqualTo("CLIENTE"))
+                .verifyComplete();
+    }
+
+    @Test
+    void findWithRoleByIdNumber_shouldServeRepeatedLookupsFromCache() {
+        when(delegate.findWithRoleByIdNumber(ID_NUMBER)).thenReturn(Mono.just(user));
+
+        repository.findWithRoleByIdNumber(ID_NUMBER).block();
+        StepVerifier.create(repository.findWithRoleByIdNumber(ID_NUMBER))
+                .assertNext(found -> assertThat(found.getRole().getName()).isEqualTo("CLIENTE"))
+                .verifyComplete();
+
+        verify(delegate, times(1)).findWithRoleByIdNumber(ID_NUMBER);
+    }
+
+    @Test
+    void save_shouldInvalidateCachedEntriesOfTheUser() {
+        when(delegate.findByEmail(EMAIL)).thenReturn(Mono.empty(), Mono.just(user));
+        when(delegate.findWithRoleByIdNumber(ID_NUMBER)).thenReturn(Mono.empty(), Mono.just(user));
+        when(delegate.save(user)).thenReturn(Mono.just(user));
+        repository.findByEmail(EMAIL).block();
+        repository.findWithRoleByIdNumber(ID_NUMBER).block();
+
+        repository.save(user).block();
+
+        StepVerifier.create(repository.findByEmail(EMAIL)).expectNextCount(1).verifyComplete();
+        StepVerifier.create(repository.findWithRoleByIdNumber(ID_NUMBER)).expectNextCount(1).verifyComplete();
+        verify(delegate, times(2)).findByEmail(EMAIL);
+        verify(delegate, times(2)).findWithRoleByIdNumber(ID_NUMBER);
+    }
+
+    @Test
+    void save_whenALookupRunsBeforeTheCommit_shouldNotKeepTheMissItCached() {
+        TransactionalOperator transactions = TransactionalOperator.create(new NoOpTransactionManager());
+        when(delegate.findByEmail(EMAIL)).thenReturn(Mono.empty(), Mono.just(user));
+        when(delegate.save(user)).thenReturn(Mono.just(user));
+
+        // A lookup between the save and the commit still misses the new user and caches the miss
+        StepVerifier.create(repository.save(user)
+                        .flatMap(saved -> repository.findByEmail(EMAIL).hasElement())
+                        .as(transactions::transactional))
+                .expectNext(false)
+                .verifyComplete();
+
+        StepVerifier.create(repository.findByEmail(EMAIL))
+                .assertNext(found -> assertThat(found.getUserId()).isEqualTo(1))
+                .verifyComplete();
+        verify(delegate, times(2)).findByEmail(EMAIL);
+    }
+
+    @Test
+    void saveAll_shouldInvalidateCachedMissesOfTheImportedUsers() {
+        when(delegate.findByEmail(EMAIL)).thenReturn(Mono.empty(), Mono.just(user));
+        when(delegate.saveAll(List.of(user))).thenReturn(Flux.just(user));
+        repository.findByEmail(EMAIL).block();
+
+        repository.saveAll(List.of(user)).blockLast();
+
+        StepVerifier.create(repository.findByEmail(EMAIL)).expectNextCount(1).verifyComplete();
+        verify(delegate, times(2)).findByEmail(EMAIL);
+    }
+
+    private static final class NoOpTransactionManager extends AbstractReactiveTransactionManager {
+
+        @Override
+        protected Object doGetTransaction(TransactionSynchronizationManager synchronizationManager) {
+            return new Object();
+        }
+
+        @Override
+        protected Mono<Void> doBegin(TransactionSynchronizationManager synchronizationManager, Object transaction,
+                                     TransactionDefinition definition) {
+            return Mono.empty();
+        }
+
+        @Override
+        protected Mono<Void> doCommit(TransactionSynchronizationManager synchronizationManager,
+                                      GenericReactiveTransaction status) {
+            return Mono.empty();
+        }
+
+        @Override
+        protected Mono<Void> doRollback(TransactionSynchronizationManager synchronizationManager,
+                                        GenericReactiveTransaction status) {
+            return Mono.empty();
+        }
+    }
+}
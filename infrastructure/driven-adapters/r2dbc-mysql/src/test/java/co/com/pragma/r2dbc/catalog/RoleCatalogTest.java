@@ -0,0 +1,110 @@
+package co.com.pragma.r2dbc.catalog;
+
+import co.com.pragma.model.constants.LogMessages;
+import co.com.pragma.model.logs.gateways.LoggerPort;
+import co.com.pragma.model.role.Role;
+import co.com.pragma.r2dbc.RoleEntityRepository;
+import co.com.pragma.r2dbc.entity.RoleEntity;
+import co.com.pragma.r2dbc.mapper.PersistenceRoleMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import reactor.core.publisher.Flux;
+import reactor.test.StepVerifier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.lenient;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class RoleCatalogTest {
+
+    private static final RoleEntity ADMIN_ENTITY = new RoleEntity(1, "ADMIN", "Administrador");
+    private static final RoleEntity CLIENT_ENTITY = new RoleEntity(4, "CLIENTE", "Cliente");
+
+    @Mock
+    private RoleEntityRepository repository;
+    @Mock
+    private PersistenceRoleMapper roleMapper;
+    @Mock
+    private LoggerPort logger;
+
+    @InjectMocks
+    private RoleCatalog roleCatalog;
+
+    @BeforeEach
+    void setUp() {
+        lenient().when(roleMapper.toDomain(any())).thenAnswer(invocation -> {
+            RoleEntity entity = invocation.getArgument(0);
+            return new Role(entity.getRolId(), entity.getName(), entity.getDescription());
+        });
+    }
+
+    @Test
+    void find_whenNotLoaded_shouldMiss() {
+        assertThat(roleCatalog.find(Role.builder().rolId(1).build())).isEmpty();
+        assertThat(roleCatalog.find(null)).isEmpty();
+    }
+
+    @Test
+    void refresh_shouldIndexRolesByIdAndCaseInsensitiveName() {
+        when(repository.findAll()).thenReturn(Flux.just(ADMIN_ENTITY, CLIENT_ENTITY));
+
+        StepVerifier.create(roleCatalog.refresh()).verifyComplete();
+
+        assertThat(roleCatalog.size()).isEqualTo(2);
+        assertThat(roleCatalog.find(Role.builder().rolId(4).build())).map(Role::getName).contains("CLIENTE");
+        assertThat(roleCatalog.find(Role.builder().name("cliente").build())).map(Role::getRolId).contains(4);
+        assertThat(roleCatalog.find(Role.builder().name("UNKNOWN").build())).isEmpty();
+        verify(logger).info(LogMessages.ROLE_CATALOG_LOADED, 2);
+    }
+
+    @Test
+    void find_shouldRequireEveryGivenAttributeToMatch() {
+        when(repository.findAll()).thenReturn(Flux.just(ADMIN_ENTITY, CLIENT_ENTITY));
+        roleCatalog.refresh().block();
+
+        assertThat(roleCatalog.find(Role.builder().rolId(1).name("admin").build())).isPresent();
+        assertThat(roleCatalog.find(Role.builder().rolId(1).name("CLIENTE").build())).isEmpty();
+        assertThat(roleCatalog.find(Role.builder().name("ADMIN").description("Otro").build())).isEmpty();
+    }
+
+    @Test
+    void find_shouldReturnCopiesThatDoNotAlterTheCatalog() {
+        when(repository.findAll()).thenReturn(Flux.just(ADMIN_ENTITY));
+        roleCatalog.refresh().block();
+
+        roleCatalog.find(Role.builder().rolId(1).build()).orElseThrow().setName("CHANGED");
+
+        assertThat(roleCatalog.find(Role.builder().rolId(1).build())).map(Role::getName).contains("ADMIN");
+    }
+
+    @Test
+    void refresh_whenRolesChange_shouldReplaceTheSnapshot() {
+        when(repository.findAll()).thenReturn(Flux.just(ADMIN_ENTITY), Flux.just(CLIENT_ENTITY));
+        roleCatalog.refresh().block();
+
+        roleCatalog.refresh().block();
+
+        assertThat(roleCatalog.find(Role.builder().rolId(1).build())).isEmpty();
+        assertThat(roleCatalog.find(Role.builder().rolId(4).build())).isPresent();
+    }
+
+    @Test
+    void run_whenLoadFails_shouldKeepPreviousSnapshotAndLog() {
+        RuntimeException failure = new RuntimeException("Connection refused");
+        when(repository.findAll()).thenReturn(Flux.just(ADMIN_ENTITY), Flux.error(failure));
+        roleCatalog.refresh().block();
+
+        roleCatalog.run(null);
+
+        assertThat(roleCatalog.size()).isEqualTo(1);
+        verify(logger).warn(eq(LogMessages.ROLE_CATALOG_REFRESH_FAILED), any(RuntimeException.class));
+    }
+}
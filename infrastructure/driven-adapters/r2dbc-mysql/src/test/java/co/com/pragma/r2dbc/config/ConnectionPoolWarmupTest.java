@@ -0,0 +1,109 @@
+package co.com.pragma.r2dbc.config;
+
+import co.com.pragma.model.constants.LogMessages;
+import co.com.pragma.model.logs.gateways.LoggerPort;
+import io.r2dbc.pool.ConnectionPool;
+import io.r2dbc.spi.ValidationDepth;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.beans.factory.ObjectProvider;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class ConnectionPoolWarmupTest {
+
+    @Mock
+    private ConnectionPool connectionPool;
+    @Mock
+    private ObjectProvider<ReadWriteRoutingConnectionFactory> routingProvider;
+    @Mock
+    private ReadWriteRoutingConnectionFactory routing;
+    @Mock
+    private LoggerPort logger;
+
+    private ConnectionPoolWarmup warmup;
+
+    @BeforeEach
+    void setUp() {
+        MysqlConnectionProperties.Replica replica = new MysqlConnectionProperties.Replica(true, "replica", null,
+                Duration.ofSeconds(5), Duration.ofSeconds(10), pool("test-pool", true));
+        MysqlConnectionProperties properties = new MysqlConnectionProperties("localhost", 3306, "db", "user", "pass",
+                pool("test-pool", true), replica);
+        warmup = new ConnectionPoolWarmup(connectionPool, routingProvider, properties, logger);
+    }
+
+    @Test
+    void run_shouldOpenTheInitialConnections() {
+        when(connectionPool.warmup()).thenReturn(Mono.just(12));
+
+        warmup.run(null);
+
+        verify(logger).info(eq(LogMessages.CONNECTION_POOL_WARMED_UP), eq("test-pool"), eq(12), anyLong());
+    }
+
+    @Test
+    void run_whenDatabaseIsUnreachable_shouldNotFailStartup() {
+        when(connectionPool.warmup()).thenReturn(Mono.error(new IllegalStateException("Connection refused")));
+
+        warmup.run(null);
+
+        verify(logger).warn(eq(LogMessages.CONNECTION_POOL_WARMUP_FAILED), eq("test-pool"), any(IllegalStateException.class));
+    }
+
+    @Test
+    void run_whenReadsAreRoutedToAReplica_shouldWarmTheReplicaPoolToo() {
+        when(connectionPool.warmup()).thenReturn(Mono.just(12));
+        when(routingProvider.getIfAvailable()).thenReturn(routing);
+        when(routing.warmupReplica()).thenReturn(Mono.just(12));
+
+        warmup.run(null);
+
+        verify(logger).info(eq(LogMessages.CONNECTION_POOL_WARMED_UP), eq("test-pool"), eq(12), anyLong());
+        verify(logger).info(eq(LogMessages.CONNECTION_POOL_WARMED_UP), eq("test-pool-replica"), eq(12), anyLong());
+    }
+
+    @Test
+    void run_whenReplicaWarmupFails_shouldStillWarmThePrimary() {
+        when(connectionPool.warmup()).thenReturn(Mono.just(12));
+        when(routingProvider.getIfAvailable()).thenReturn(routing);
+        when(routing.warmupReplica()).thenReturn(Mono.error(new IllegalStateException("Connection refused")));
+
+        warmup.run(null);
+
+        verify(logger).info(eq(LogMessages.CONNECTION_POOL_WARMED_UP), eq("test-pool"), eq(12), anyLong());
+        verify(logger).warn(eq(LogMessages.CONNECTION_POOL_WARMUP_FAILED), eq("test-pool-replica"), any(IllegalStateException.class));
+    }
+
+    @Test
+    void run_whenReplicaWarmupIsDisabled_shouldOnlyWarmThePrimary() {
+        MysqlConnectionProperties.Replica replica = new MysqlConnectionProperties.Replica(true, "replica", null,
+                Duration.ofSeconds(5), Duration.ofSeconds(10), pool("test-pool", false));
+        MysqlConnectionProperties properties = new MysqlConnectionProperties("localhost", 3306, "db", "user", "pass",
+                pool("test-pool", true), replica);
+        warmup = new ConnectionPoolWarmup(connectionPool, routingProvider, properties, logger);
+        when(connectionPool.warmup()).thenReturn(Mono.just(12));
+        when(routingProvider.getIfAvailable()).thenReturn(routing);
+
+        warmup.run(null);
+
+        verify(routing, never()).warmupReplica();
+    }
+
+    private static MysqlConnectionProperties.Pool pool(String name, boolean warmup) {
+        return new MysqlConnectionProperties.Pool(name, 12, 15, Duration.ofMinutes(30), Duration.ofHours(1),
+                Duration.ofSeconds(5), Duration.ofSeconds(5), Duration.ofSeconds(2), Duration.ofMinutes(1),
+                ValidationDepth.LOCAL, null, warmup, Duration.ofSeconds(1));
+    }
+}
@@ -0,0 +1,63 @@
+package co.com.pragma.r2dbc.config;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import io.r2dbc.h2.H2ConnectionFactory;
+import io.r2dbc.pool.ConnectionPoolConfiguration;
+import io.r2dbc.spi.Connection;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class InstrumentedConnectionPoolTest {
+
+    private static final String POOL_NAME = "test-pool";
+
+    private SimpleMeterRegistry meterRegistry;
+    private InstrumentedConnectionPool pool;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        ConnectionPoolConfiguration configuration = ConnectionPoolConfiguration.builder()
+                .connectionFactory(H2ConnectionFactory.inMemory("pool-test"))
+                .name(POOL_NAME)
+                .initialSize(2)
+                .maxSize(4)
+                .build();
+        pool = new InstrumentedConnectionPool(configuration, POOL_NAME, meterRegistry);
+    }
+
+    @AfterEach
+    void tearDown() {
+        pool.dispose();
+    }
+
+    @Test
+    void warmup_shouldOpenTheInitialConnections() {
+        StepVerifier.create(pool.warmup())
+                .expectNext(2)
+                .verifyComplete();
+
+        assertThat(gauge("idle")).isEqualTo(2.0);
+        assertThat(gauge("allocated")).isEqualTo(2.0);
+    }
+
+    @Test
+    void create_shouldRecordAcquireLatencyAndAcquiredConnections() {
+        Connection connection = pool.create().block();
+
+        assertThat(gauge("acquired")).isEqualTo(1.0);
+        assertThat(meterRegistry.get("r2dbc.pool.acquire").tag("name", POOL_NAME).timer().count()).isEqualTo(1);
+
+        Mono.from(connection.close()).block();
+        assertThat(gauge("acquired")).isZero();
+    }
+
+    private double gauge(String name) {
+        return meterRegistry.get("r2dbc.pool." + name).tag("name", POOL_NAME).gauge().value();
+    }
+}
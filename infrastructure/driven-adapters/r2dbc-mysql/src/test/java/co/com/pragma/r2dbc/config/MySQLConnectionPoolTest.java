@@ -1,36 +1,68 @@
 package co.com.pragma.r2dbc.config;
 
-import org.junit.jupiter.api.BeforeEach;
+import co.com.pragma.model.logs.gateways.LoggerPort;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import io.r2dbc.pool.ConnectionPool;
+import io.r2dbc.spi.ValidationDepth;
 import org.junit.jupiter.api.Test;
-import org.mockito.InjectMocks;
-import org.mockito.Mock;
-import org.mockito.MockitoAnnotations;
 
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.assertThat;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
-import static org.mockito.Mockito.when;
+import static org.mockito.Mockito.mock;
 
 class MySQLConnectionPoolTest {
 
-    @InjectMocks
-    private MySQLConnectionPool connectionPool;
+    private final MySQLConnectionPool connectionPool = new MySQLConnectionPool();
+
+    @Test
+    void getConnectionConfigSuccess() {
+        MysqlConnectionProperties properties = properties(null);
 
-    @Mock
-    private MysqlConnectionProperties properties;
+        ConnectionPool pool = connectionPool.getConnectionConfig(properties, new SimpleMeterRegistry());
 
+        assertNotNull(pool);
+        pool.dispose();
+    }
+
+    @Test
+    void getConnectionConfig_shouldRegisterPoolMetricsUnderThePoolName() {
+        SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
 
-    @BeforeEach
-    void setUp() {
-        MockitoAnnotations.openMocks(this);
+        ConnectionPool pool = connectionPool.getConnectionConfig(properties("SELECT 1"), meterRegistry);
 
-        when(properties.host()).thenReturn("localhost");
-        when(properties.port()).thenReturn(5432);
-        when(properties.database()).thenReturn("dbName");
-        when(properties.username()).thenReturn("username");
-        when(properties.password()).thenReturn("password");
+        assertThat(meterRegistry.get("r2dbc.pool.acquired").tag("name", "test-pool").gauge().value()).isZero();
+        assertThat(meterRegistry.get("r2dbc.pool.acquire").tag("name", "test-pool").timer().count()).isZero();
+        pool.dispose();
     }
 
     @Test
-    void getConnectionConfigSuccess() {
-        assertNotNull(connectionPool.getConnectionConfig(properties));
+    void readWriteRoutingConnectionFactory_shouldCreateAReplicaPoolNextToThePrimary() {
+        SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+        MysqlConnectionProperties properties = properties(null);
+        ConnectionPool primary = connectionPool.getConnectionConfig(properties, meterRegistry);
+
+        ReadWriteRoutingConnectionFactory routing = connectionPool.readWriteRoutingConnectionFactory(primary,
+                properties, meterRegistry, mock(LoggerPort.class));
+
+        assertThat(routing.getMetadata().getName()).isEqualTo(primary.getMetadata().getName());
+        assertThat(meterRegistry.find("r2dbc.pool.acquired").tag("name", "test-pool-replica").gauge()).isNotNull();
+        routing.dispose();
+        primary.dispose();
+    }
+
+    private static MysqlConnectionProperties properties(String validationQuery) {
+        MysqlConnectionProperties.Pool pool = pool("test-pool", validationQuery);
+        MysqlConnectionProperties.Replica replica = new MysqlConnectionProperties.Replica(true, "replica", null,
+                Duration.ofSeconds(5), Duration.ofMinutes(1), pool);
+        return new MysqlConnectionProperties("localhost", 3306, "dbName", "username", "password", pool, replica);
+    }
+
+    private static MysqlConnectionProperties.Pool pool(String name, String validationQuery) {
+        return new MysqlConnectionProperties.Pool(name, 1, 2,
+                Duration.ofMinutes(30), Duration.ofHours(1), Duration.ofSeconds(5), Duration.ofSeconds(5),
+                Duration.ofSeconds(2), Duration.ofMinutes(1), ValidationDepth.LOCAL, validationQuery, true,
+                Duration.ofSeconds(30));
     }
 }
@@ -0,0 +1,106 @@
+package co.com.pragma.r2dbc.config;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import io.r2dbc.h2.H2ConnectionFactory;
+import io.r2dbc.pool.ConnectionPool;
+import io.r2dbc.pool.ConnectionPoolConfiguration;
+import io.r2dbc.spi.Connection;
+import io.r2dbc.spi.ConnectionFactory;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.lenient;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class ReadWriteRoutingConnectionFactoryTest {
+
+    @Mock
+    private ReplicaLagMonitor lagMonitor;
+
+    private SimpleMeterRegistry meterRegistry;
+    private ConnectionPool primary;
+    private ConnectionPool replica;
+    private ReadWriteRoutingConnectionFactory routing;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        primary = pool(H2ConnectionFactory.inMemory("routing-primary"), 2);
+        replica = pool(H2ConnectionFactory.inMemory("routing-replica"), 1);
+        routing = new ReadWriteRoutingConnectionFactory(primary, replica, lagMonitor, meterRegistry);
+        lenient().when(lagMonitor.isWithinTolerance()).thenReturn(true);
+    }
+
+    @AfterEach
+    void tearDown() {
+        routing.dispose();
+        primary.dispose();
+    }
+
+    @Test
+    void create_shouldUseThePrimaryForUnmarkedPipelines() {
+        assertThat(databaseName(routing.create())).isEqualTo("ROUTING-PRIMARY");
+    }
+
+    @Test
+    void create_shouldUseTheReplicaForReadOnlyPipelines() {
+        assertThat(databaseName(routing.create().contextWrite(ReadOnlyRouting::markReadOnly))).isEqualTo("ROUTING-REPLICA");
+    }
+
+    @Test
+    void create_shouldFallBackToThePrimaryWhenTheReplicaLags() {
+        when(lagMonitor.isWithinTolerance()).thenReturn(false);
+
+        assertThat(databaseName(routing.create().contextWrite(ReadOnlyRouting::markReadOnly))).isEqualTo("ROUTING-PRIMARY");
+        assertThat(fallbacks("lag")).isEqualTo(1.0);
+    }
+
+    @Test
+    void create_shouldFallBackToThePrimaryWhenTheReplicaIsExhausted() {
+        Connection held = replica.create().block();
+
+        assertThat(databaseName(routing.create().contextWrite(ReadOnlyRouting::markReadOnly))).isEqualTo("ROUTING-PRIMARY");
+        assertThat(fallbacks("exhausted")).isEqualTo(1.0);
+        Mono.from(held.close()).block();
+    }
+
+    @Test
+    void create_shouldFallBackToThePrimaryWhenTheReplicaIsDown() {
+        replica.dispose();
+
+        assertThat(databaseName(routing.create().contextWrite(ReadOnlyRouting::markReadOnly))).isEqualTo("ROUTING-PRIMARY");
+        assertThat(fallbacks("error")).isEqualTo(1.0);
+    }
+
+    private static ConnectionPool pool(ConnectionFactory connectionFactory, int maxSize) {
+        return new ConnectionPool(ConnectionPoolConfiguration.builder()
+                .connectionFactory(connectionFactory)
+                .initialSize(0)
+                .maxSize(maxSize)
+                .maxAcquireTime(Duration.ofSeconds(1))
+                .build());
+    }
+
+    private static String databaseName(Mono<Connection> connectionMono) {
+        return Mono.usingWhen(connectionMono,
+                        connection -> Flux.from(connection.createStatement("SELECT DATABASE()").execute())
+                                .concatMap(result -> result.map((row, metadata) -> row.get(0, String.class)))
+                                .next(),
+                        Connection::close)
+                .block();
+    }
+
+    private double fallbacks(String reason) {
+        return meterRegistry.get("r2dbc.routing.replica.fallback").tag("reason", reason).counter().count();
+    }
+}
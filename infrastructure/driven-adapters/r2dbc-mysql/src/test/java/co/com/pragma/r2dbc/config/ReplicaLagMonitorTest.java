@@ -0,0 +1,115 @@
+package co.com.pragma.r2dbc.config;
+
+import co.com.pragma.model.constants.LogMessages;
+import co.com.pragma.model.logs.gateways.LoggerPort;
+import io.r2dbc.spi.Connection;
+import io.r2dbc.spi.ConnectionFactory;
+import io.r2dbc.spi.Result;
+import io.r2dbc.spi.Row;
+import io.r2dbc.spi.RowMetadata;
+import io.r2dbc.spi.Statement;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+import java.time.Duration;
+import java.util.function.BiFunction;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.lenient;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class ReplicaLagMonitorTest {
+
+    @Mock
+    private ConnectionFactory replica;
+    @Mock
+    private Connection connection;
+    @Mock
+    private Statement statement;
+    @Mock
+    private LoggerPort logger;
+
+    private ReplicaLagMonitor monitor;
+
+    @BeforeEach
+    void setUp() {
+        monitor = new ReplicaLagMonitor(replica, Duration.ofSeconds(5), logger);
+        lenient().doReturn(Mono.just(connection)).when(replica).create();
+        lenient().when(connection.createStatement(ReplicaLagMonitor.LAG_QUERY)).thenReturn(statement);
+        lenient().doReturn(Mono.empty()).when(connection).close();
+    }
+
+    @Test
+    void check_shouldBeWithinToleranceWhenLagIsBelowTheMaximum() {
+        replicationLag(2L);
+
+        StepVerifier.create(monitor.check())
+                .expectNext(true)
+                .verifyComplete();
+        assertThat(monitor.isWithinTolerance()).isTrue();
+    }
+
+    @Test
+    void check_shouldBeOutOfToleranceWhenLagIsAboveTheMaximum() {
+        replicationLag(30L);
+
+        StepVerifier.create(monitor.check())
+                .expectNext(false)
+                .verifyComplete();
+        assertThat(monitor.isWithinTolerance()).isFalse();
+        verify(logger).warn(LogMessages.REPLICA_OUT_OF_TOLERANCE, 5L);
+    }
+
+    @Test
+    void check_shouldBeOutOfToleranceWhenReplicationIsStopped() {
+        replicationLag(null);
+
+        StepVerifier.create(monitor.check())
+                .expectNext(false)
+                .verifyComplete();
+    }
+
+    @Test
+    void check_shouldBeWithinToleranceWhenTheServerIsNotAReplica() {
+        doReturn(Flux.empty()).when(statement).execute();
+
+        StepVerifier.create(monitor.check())
+                .expectNext(true)
+                .verifyComplete();
+    }
+
+    @Test
+    void check_shouldBeOutOfToleranceWhenTheReplicaIsUnreachable() {
+        doReturn(Mono.error(new IllegalStateException("Connection refused"))).when(replica).create();
+
+        StepVerifier.create(monitor.check())
+                .expectNext(false)
+                .verifyComplete();
+        verify(logger).warn(eq(LogMessages.REPLICA_LAG_CHECK_FAILED), anyString());
+    }
+
+    @SuppressWarnings("unchecked")
+    private void replicationLag(Long seconds) {
+        Result result = mock(Result.class);
+        Row row = mock(Row.class);
+        when(row.get(ReplicaLagMonitor.LAG_COLUMN, Long.class)).thenReturn(seconds);
+        when(result.map(any(BiFunction.class))).thenAnswer(invocation -> {
+            BiFunction<Row, RowMetadata, ?> mapper = invocation.getArgument(0);
+            return Flux.just(mapper.apply(row, mock(RowMetadata.class)));
+        });
+        doReturn(Flux.just(result)).when(statement).execute();
+    }
+}
@@ -108,4 +108,38 @@ class TransactionConfigTest {
             verify(mockTransactionManager, never()).commit(any());
         }
     }
-}
\ No newline at end of file
+
+    @Nested
+    @DisplayName("Read-only Tests")
+    class ReadOnlyTests {
+        @Test
+        @DisplayName("should flag the Mono as read-only without opening a transaction")
+        void readOnlyMono_shouldMarkContext() {
+            Mono<Boolean> readOnlyMono = transactionalPort.readOnly(Mono.deferContextual(context -> Mono.just(ReadOnlyRouting.isReadOnly(context))));
+
+            StepVerifier.create(readOnlyMono)
+                    .expectNext(true)
+                    .verifyComplete();
+
+            verify(mockTransactionManager, never()).getReactiveTransaction(any());
+        }
+
+        @Test
+        @DisplayName("should flag the Flux as read-only")
+        void readOnlyFlux_shouldMarkContext() {
+            Flux<Boolean> readOnlyFlux = transactionalPort.readOnly(Flux.deferContextual(context -> Flux.just(ReadOnlyRouting.isReadOnly(context))));
+
+            StepVerifier.create(readOnlyFlux)
+                    .expectNext(true)
+                    .verifyComplete();
+        }
+
+        @Test
+        @DisplayName("should not flag pipelines that were not marked")
+        void unmarkedMono_shouldNotBeReadOnly() {
+            StepVerifier.create(Mono.deferContextual(context -> Mono.just(ReadOnlyRouting.isReadOnly(context))))
+                    .expectNext(false)
+                    .verifyComplete();
+        }
+    }
+}
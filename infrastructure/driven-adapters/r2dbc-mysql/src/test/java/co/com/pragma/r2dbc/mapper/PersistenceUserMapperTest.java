@@ -3,6 +3,8 @@ package co.com.pragma.r2dbc.mapper;
 import co.com.pragma.model.role.Role;
 import co.com.pragma.model.user.User;
 import co.com.pragma.r2dbc.entity.UserEntity;
+import co.com.pragma.r2dbc.entity.UserProfileProjection;
+import co.com.pragma.r2dbc.entity.UserWithRoleEntity;
 import org.junit.jupiter.api.Nested;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
@@ -58,6 +60,43 @@ class PersistenceUserMapperTest {
             assertThat(domain.getRole().getDescription()).isNull();
         }
 
+        @Test
+        void toDomain_whenJoinedWithRole_shouldPopulateRoleAndNeverThePassword() {
+            UserWithRoleEntity entity = UserWithRoleEntity.builder()
+                    .userId(1)
+                    .name("John")
+                    .email("john.doe@example.com")
+                    .password("hashed_password")
+                    .rolId(10)
+                    .roleName("ADMIN")
+                    .roleDescription("Administrator")
+                    .build();
+
+            User domain = userMapper.toDomainWithRole(entity);
+
+            assertThat(domain.getUserId()).isEqualTo(1);
+            assertThat(domain.getEmail()).isEqualTo(entity.getEmail());
+            assertThat(domain.getPassword()).isNull();
+            assertThat(domain.getRole()).isEqualTo(Role.builder().rolId(10).name("ADMIN").description("Administrator").build());
+        }
+
+        @Test
+        void profileToDomain_shouldMapEveryProjectedColumn() {
+            UserProfileProjection profile = new UserProfileProjection(1, "John", "Doe", "john.doe@example.com",
+                    "123456789", 10, new BigDecimal("50000.00"), "1234567890", "123 Main St", LocalDate.of(1990, 1, 1));
+
+            User domain = userMapper.profileToDomain(profile);
+
+            assertThat(domain.getUserId()).isEqualTo(1);
+            assertThat(domain.getLastName()).isEqualTo("Doe");
+            assertThat(domain.getIdNumber()).isEqualTo("123456789");
+            assertThat(domain.getBaseSalary()).isEqualByComparingTo("50000.00");
+            assertThat(domain.getAddress()).isEqualTo("123 Main St");
+            assertThat(domain.getBirthDate()).isEqualTo(LocalDate.of(1990, 1, 1));
+            assertThat(domain.getRole().getRolId()).isEqualTo(10);
+            assertThat(domain.getPassword()).isNull();
+        }
+
         @Test
         void toDomain_whenEntityIsNull_shouldReturnNull() {
             User domain = userMapper.toDomain(null);
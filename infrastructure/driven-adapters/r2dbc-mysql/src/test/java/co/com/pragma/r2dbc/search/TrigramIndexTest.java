@@ -0,0 +1,73 @@
+package co.com.pragma.r2dbc.search;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class TrigramIndexTest {
+
+    @Test
+    void candidates_shouldReturnEveryIdWhoseTextContainsTheTerm() {
+        TrigramIndex index = TrigramIndex.builder()
+                .add(1, "Smith")
+                .add(2, "Smithers")
+                .add(3, "Goldsmith")
+                .add(4, "Jones")
+                .build();
+
+        assertThat(index.candidates("smith")).containsExactly(1, 2, 3);
+        assertThat(index.candidates("ers")).containsExactly(2);
+        assertThat(index.candidates("unknown")).isEmpty();
+    }
+
+    @Test
+    void candidates_shouldIgnoreCaseAndAccentsLikeTheColumnCollation() {
+        TrigramIndex index = TrigramIndex.builder()
+                .add(1, "Jos\u00e9 Mar\u00eda")
+                .build();
+
+        assertThat(index.candidates("JOSE")).containsExactly(1);
+        assertThat(index.candidates("mar\u00eda")).containsExactly(1);
+    }
+
+    @Test
+    void builder_shouldSortAndDeduplicateIdsStreamedOutOfOrder() {
+        TrigramIndex index = TrigramIndex.builder()
+                .add(9, "anna")
+                .add(3, "hanna")
+                .add(3, "annabel")
+                .build();
+
+        assertThat(index.candidates("ann")).containsExactly(3, 9);
+    }
+
+    @Test
+    void add_shouldInsertIdsIntoExistingPostingsInOrder() {
+        TrigramIndex index = TrigramIndex.builder()
+                .add(1, "carlos")
+                .add(5, "carla")
+                .build();
+
+        index.add(3, "Carlota");
+        index.add(3, "Carlota");
+        index.add(7, "Oscar");
+
+        assertThat(index.candidates("carl")).containsExactly(1, 3, 5);
+        assertThat(index.candidates("car")).containsExactly(1, 3, 5, 7);
+    }
+
+    @Test
+    void intersect_shouldKeepOnlyCommonIds() {
+        int[] result = TrigramIndex.intersect(new int[]{1, 2, 3, 5, 8}, new int[]{2, 3, 4, 8}, new int[]{3, 8, 13});
+
+        assertThat(result).containsExactly(3, 8);
+        assertThat(TrigramIndex.intersect()).isEmpty();
+    }
+
+    @Test
+    void isSearchable_shouldRequireAFullTrigram() {
+        assertThat(TrigramIndex.isSearchable("abc")).isTrue();
+        assertThat(TrigramIndex.isSearchable(" ab ")).isFalse();
+        assertThat(TrigramIndex.isSearchable(null)).isFalse();
+    }
+}
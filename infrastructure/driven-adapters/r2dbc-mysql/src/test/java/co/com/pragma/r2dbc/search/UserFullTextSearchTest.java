@@ -0,0 +1,135 @@
+package co.com.pragma.r2dbc.search;
+
+import co.com.pragma.model.user.filters.MatchMode;
+import co.com.pragma.model.user.filters.UserFilter;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+import org.springframework.data.r2dbc.convert.MappingR2dbcConverter;
+import org.springframework.data.r2dbc.convert.R2dbcConverter;
+import org.springframework.data.r2dbc.dialect.H2Dialect;
+import org.springframework.data.r2dbc.dialect.MySqlDialect;
+import org.springframework.data.r2dbc.mapping.R2dbcMappingContext;
+import org.springframework.data.relational.core.sql.Expressions;
+import org.springframework.data.relational.core.sql.Select;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.r2dbc.core.PreparedOperation;
+import org.springframework.r2dbc.core.binding.BindTarget;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+
+class UserFullTextSearchTest {
+
+    private static final String MATCH = "MATCH (nombre, apellido) AGAINST (? IN BOOLEAN MODE)";
+
+    private final R2dbcConverter converter = new MappingR2dbcConverter(new R2dbcMappingContext());
+    private final UserFullTextSearch mysqlSearch =
+            new UserFullTextSearch(mock(DatabaseClient.class), MySqlDialect.INSTANCE, converter);
+
+    @Nested
+    @DisplayName("Applies")
+    class Applies {
+
+        @Test
+        void applies_shouldRequireTheFullTextModeAndAnIndexedWord() {
+            assertThat(mysqlSearch.applies(filter("john"))).isTrue();
+            assertThat(mysqlSearch.applies(UserFilter.builder().name("john").build())).isFalse();
+            assertThat(mysqlSearch.applies(filter("jo li"))).isFalse();
+            assertThat(mysqlSearch.applies(filter("+-*"))).isFalse();
+        }
+
+        @Test
+        @DisplayName("should leave H2 on the criteria search, which has no full text index")
+        void applies_shouldBeFalseOnH2() {
+            UserFullTextSearch h2Search = new UserFullTextSearch(mock(DatabaseClient.class), H2Dialect.INSTANCE, converter);
+
+            assertThat(h2Search.applies(filter("john"))).isFalse();
+        }
+    }
+
+    @ParameterizedTest
+    @CsvSource(delimiter = '|', value = {
+            "John Smith       | +john* +smith*",
+            "  MARIA   Jose    | +maria* +jose*",
+            "jean-luc         | +jean* +luc*",
+            "+john -smith*    | +john* +smith*",
+            "\"o'neil\" (x) ab | +o'neil*",
+    })
+    void booleanModeQuery_shouldRequireEveryIndexedWordAsAPrefix(String name, String expected) {
+        assertThat(UserFullTextSearch.booleanModeQuery(name)).isEqualTo(expected);
+    }
+
+    @Nested
+    @DisplayName("Statement")
+    class Statement {
+
+        @Test
+        @DisplayName("should match against the index and order by relevance, then id")
+        void prepare_shouldRankByRelevance() {
+            PreparedOperation<Select> operation =
+                    mysqlSearch.prepare(filter("john smith"), List.of(Expressions.asterisk()), true, 21);
+
+            assertThat(operation.toQuery())
+                    .contains("WHERE " + MATCH)
+                    .contains("ORDER BY " + MATCH + " DESC, Usuario.id_usuario ASC")
+                    .contains("LIMIT 21")
+                    .doesNotContain("LIKE");
+            assertThat(bound(operation)).containsExactly("+john* +smith*", "+john* +smith*");
+        }
+
+        @Test
+        @DisplayName("should keep short words and other filters as criteria, bound before the match terms")
+        void prepare_shouldCombineTheOtherFilters() {
+            UserFilter filter = filter("li john").toBuilder()
+                    .salaryGreaterThan(new BigDecimal("1000"))
+                    .build();
+
+            PreparedOperation<Select> operation = mysqlSearch.prepare(filter, List.of(Expressions.asterisk()), false, null);
+
+            assertThat(operation.toQuery())
+                    .contains("nombre_normalizado LIKE ?")
+                    .contains("salario_base > ?")
+                    .contains(MATCH)
+                    .doesNotContain("ORDER BY")
+                    .doesNotContain("LIMIT");
+            assertThat(bound(operation)).containsExactly("%li%", "%li%", new BigDecimal("1000"), "+john*");
+        }
+    }
+
+    private static UserFilter filter(String name) {
+        return UserFilter.builder().name(name).nameMatch(MatchMode.FULLTEXT).build();
+    }
+
+    private static List<Object> bound(PreparedOperation<?> operation) {
+        List<Object> values = new ArrayList<>();
+        operation.bindTo(new BindTarget() {
+            @Override
+            public void bind(String identifier, Object value) {
+                values.add(value);
+            }
+
+            @Override
+            public void bind(int index, Object value) {
+                values.add(value);
+            }
+
+            @Override
+            public void bindNull(String identifier, Class<?> type) {
+                values.add(null);
+            }
+
+            @Override
+            public void bindNull(int index, Class<?> type) {
+                values.add(null);
+            }
+        });
+        return values;
+    }
+}
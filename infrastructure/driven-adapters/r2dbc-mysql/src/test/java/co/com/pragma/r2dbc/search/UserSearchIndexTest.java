@@ -0,0 +1,155 @@
+package co.com.pragma.r2dbc.search;
+
+import co.com.pragma.model.constants.LogMessages;
+import co.com.pragma.model.logs.gateways.LoggerPort;
+import co.com.pragma.model.user.User;
+import co.com.pragma.model.user.filters.MatchMode;
+import co.com.pragma.model.user.filters.UserFilter;
+import co.com.pragma.r2dbc.entity.UserEntity;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Answers;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.r2dbc.core.R2dbcEntityTemplate;
+import org.springframework.data.relational.core.query.Query;
+import reactor.core.publisher.Flux;
+import reactor.test.StepVerifier;
+
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class UserSearchIndexTest {
+
+    @Mock(answer = Answers.RETURNS_DEEP_STUBS)
+    private R2dbcEntityTemplate entityTemplate;
+    @Mock
+    private LoggerPort logger;
+
+    private UserSearchIndex searchIndex;
+
+    @BeforeEach
+    void setUp() {
+        searchIndex = new UserSearchIndex(entityTemplate, new UserSearchIndexProperties(true, 2, Duration.ofMinutes(2)), logger);
+    }
+
+    @Test
+    void candidates_whenNotBuilt_shouldLeaveTheFilterToTheDatabase() {
+        assertThat(searchIndex.isReady()).isFalse();
+        assertThat(searchIndex.candidates(UserFilter.builder().name("smith").build())).isEmpty();
+    }
+
+    @Test
+    void rebuild_shouldIndexNamesAndEmailsOfEveryUser() {
+        givenTable(user(1, "John", "Smith", "john@example.com"), user(2, "Ana", "Goldsmith", "ana@example.org"),
+                user(3, "Pedro", "Perez", "pedro@example.com"));
+
+        StepVerifier.create(searchIndex.rebuild()).verifyComplete();
+
+        assertThat(searchIndex.isReady()).isTrue();
+        assertThat(searchIndex.candidates(UserFilter.builder().name("smith").build())).hasValueSatisfying(
+                candidates -> assertThat(candidates.ids()).containsExactly(1, 2));
+        assertThat(searchIndex.candidates(UserFilter.builder().name("john smith").build())).hasValueSatisfying(
+                candidates -> assertThat(candidates.ids()).containsExactly(1));
+        assertThat(searchIndex.candidates(UserFilter.builder().email("example.org").emailMatch(MatchMode.CONTAINS).build()))
+                .hasValueSatisfying(candidates -> assertThat(candidates.ids()).containsExactly(2));
+        assertThat(searchIndex.candidates(UserFilter.builder().name("nobody").build())).hasValueSatisfying(
+                candidates -> assertThat(candidates.ids()).isEmpty());
+        verify(logger).info(eq(LogMessages.USER_SEARCH_INDEX_BUILT), eq(3), any());
+    }
+
+    @Test
+    void candidates_shouldCarryTheHighestIdTheBuildRead() {
+        givenTable(user(2, "Ana", "Goldsmith", "ana@example.org"), user(9, "John", "Smith", "john@example.com"));
+        searchIndex.rebuild().block();
+
+        assertThat(searchIndex.candidates(UserFilter.builder().name("nobody").build())).hasValueSatisfying(candidates -> {
+            assertThat(candidates.ids()).isEmpty();
+            assertThat(candidates.indexedUpTo()).isEqualTo(9);
+        });
+    }
+
+    @Test
+    void candidates_shouldLeaveFiltersTheIndexCannotNarrowToTheDatabase() {
+        givenTable(user(1, "John", "Smith", "john@example.com"), user(2, "Jo", "Li", "jo@example.com"),
+                user(3, "Johnny", "Cash", "cash@example.com"));
+        searchIndex.rebuild().block();
+
+        // Too short for a trigram
+        assertThat(searchIndex.candidates(UserFilter.builder().name("jo").build())).isEmpty();
+        // Served by the database indexes
+        assertThat(searchIndex.candidates(UserFilter.builder().name("john").nameMatch(MatchMode.PREFIX).build())).isEmpty();
+        assertThat(searchIndex.candidates(UserFilter.builder().email("john").build())).isEmpty();
+        // More candidates than maxCandidates
+        assertThat(searchIndex.candidates(UserFilter.builder().email("example").emailMatch(MatchMode.CONTAINS).build()))
+                .isEmpty();
+    }
+
+    @Test
+    void index_shouldAddSavedUsersToTheBuiltIndex() {
+        givenTable(user(1, "John", "Smith", "john@example.com"));
+        searchIndex.rebuild().block();
+
+        searchIndex.index(User.builder().userId(7).name("Maria").lastName("Smithson").email("maria@example.com").build());
+
+        assertThat(searchIndex.candidates(UserFilter.builder().name("smith").build())).hasValueSatisfying(
+                candidates -> assertThat(candidates.ids()).containsExactly(1, 7));
+    }
+
+    @Test
+    void rebuild_shouldReplayRecentSavesTheTableReadMissed() {
+        givenTable(user(1, "John", "Smith", "john@example.com"));
+        searchIndex.rebuild().block();
+        // Saved in a transaction not yet committed when the next build reads the table
+        searchIndex.index(User.builder().userId(7).name("Maria").lastName("Smithson").email("maria@example.com").build());
+
+        searchIndex.rebuild().block();
+
+        assertThat(searchIndex.candidates(UserFilter.builder().name("smith").build())).hasValueSatisfying(
+                candidates -> assertThat(candidates.ids()).containsExactly(1, 7));
+    }
+
+    @Test
+    void run_whenTheTableCannotBeRead_shouldLogAndStayUnbuilt() {
+        when(entityTemplate.select(UserEntity.class).from(anyString()).matching(any(Query.class)).all())
+                .thenReturn(Flux.error(new IllegalStateException("DB is down")));
+
+        searchIndex.run(null);
+
+        assertThat(searchIndex.isReady()).isFalse();
+        verify(logger).warn(eq(LogMessages.USER_SEARCH_INDEX_BUILD_FAILED), any(IllegalStateException.class));
+    }
+
+    @Test
+    void run_whenDisabled_shouldNotReadTheTable() {
+        UserSearchIndex disabled = new UserSearchIndex(entityTemplate, new UserSearchIndexProperties(false, 2, Duration.ofMinutes(2)), logger);
+
+        disabled.run(null);
+
+        assertThat(disabled.isReady()).isFalse();
+        verify(entityTemplate, never()).select(UserEntity.class);
+    }
+
+    private void givenTable(UserEntity... users) {
+        when(entityTemplate.select(UserEntity.class).from(anyString()).matching(any(Query.class)).all())
+                .thenReturn(Flux.just(users));
+    }
+
+    private static UserEntity user(int id, String name, String lastName, String email) {
+        UserEntity entity = new UserEntity();
+        entity.setUserId(id);
+        entity.setName(name);
+        entity.setLastName(lastName);
+        entity.setEmail(email);
+        return entity;
+    }
+}
@@ -0,0 +1,171 @@
+package co.com.pragma.r2dbc.util;
+
+import co.com.pragma.model.user.filters.MatchMode;
+import co.com.pragma.model.user.filters.UserFilter;
+import co.com.pragma.r2dbc.UserEntityRepository;
+import co.com.pragma.r2dbc.entity.UserEntity;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.SpringBootConfiguration;
+import org.springframework.boot.test.autoconfigure.data.r2dbc.DataR2dbcTest;
+import org.springframework.data.r2dbc.core.R2dbcEntityTemplate;
+import org.springframework.data.r2dbc.core.StatementMapper;
+import org.springframework.data.r2dbc.repository.config.EnableR2dbcRepositories;
+import org.springframework.data.relational.core.query.Criteria;
+import org.springframework.data.relational.core.query.Query;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.r2dbc.core.PreparedOperation;
+import org.springframework.r2dbc.core.binding.BindTarget;
+import reactor.test.StepVerifier;
+
+import java.math.BigDecimal;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Query plans of the user search on a seeded table. H2 stands in for MySQL here, so these tests check that the
+ * criteria target indexed columns the way an index can serve them, not the exact MySQL plan.
+ */
+@DataR2dbcTest
+class UserSearchQueryPlanTest {
+
+    private static final int SEEDED_USERS = 1000;
+
+    @SpringBootConfiguration
+    @EnableR2dbcRepositories(basePackageClasses = UserEntityRepository.class)
+    static class Config {
+    }
+
+    @Autowired
+    private R2dbcEntityTemplate entityTemplate;
+    @Autowired
+    private DatabaseClient databaseClient;
+
+    @BeforeEach
+    void seed() {
+        databaseClient.sql("DELETE FROM Usuario").then()
+                .then(databaseClient.sql("""
+                        INSERT INTO Usuario (nombre, apellido, email, documento_identidad, id_rol, salario_base, password)
+                        SELECT CONCAT('Name', X), CONCAT('Last', X), CONCAT('User', X, '@Example.com'),
+                               CAST(100000 + X AS VARCHAR), MOD(X, 3) + 1, X * 1000, 'hash'
+                        FROM SYSTEM_RANGE(1, %d)""".formatted(SEEDED_USERS)).then())
+                .then(databaseClient.sql("ANALYZE").then())
+                .block();
+    }
+
+    @Test
+    void salaryRange_shouldUseTheSalaryIndex() {
+        Criteria criteria = EntityUtils.buildCriteria(UserFilter.builder()
+                .salaryGreaterThan(new BigDecimal("990000"))
+                .build());
+
+        assertThat(explain(criteria)).containsIgnoringCase("IDX_USUARIO_SALARIO_BASE");
+    }
+
+    @Test
+    void prefixOnNormalizedColumn_shouldUseItsIndex() {
+        Criteria criteria = Criteria.where(EntityUtils.NAME_NORMALIZED_COLUMN_NAME).like("name12%");
+
+        assertThat(explain(criteria)).containsIgnoringCase("IDX_USUARIO_NOMBRE_NORMALIZADO");
+    }
+
+    @Test
+    void emailAndIdNumber_shouldDefaultToIndexedPrefixSearches() {
+        assertThat(explain(EntityUtils.buildCriteria(UserFilter.builder().email("USER12").build())))
+                .containsIgnoringCase("IDX_USUARIO_EMAIL_NORMALIZADO");
+        assertThat(explain(EntityUtils.buildCriteria(UserFilter.builder().idNumber("10012").build())))
+                .containsIgnoringCase("UK_USUARIO_DOCUMENTO_IDENTIDAD");
+    }
+
+    @Test
+    void exactMatch_shouldSeekTheIndex() {
+        Criteria criteria = EntityUtils.buildCriteria(UserFilter.builder()
+                .name("name12")
+                .nameMatch(MatchMode.EXACT)
+                .build());
+
+        // The name filter ORs nombre and apellido, which H2 cannot serve with two indexes (MySQL merges them)
+        assertThat(explain(EntityUtils.match(EntityUtils.NAME_NORMALIZED_COLUMN_NAME, "name12", MatchMode.EXACT)))
+                .containsIgnoringCase("IDX_USUARIO_NOMBRE_NORMALIZADO");
+        assertThat(count(criteria)).isEqualTo(1);
+    }
+
+    @Test
+    void matchModes_shouldSelectTheExpectedRows() {
+        assertThat(count(EntityUtils.buildCriteria(UserFilter.builder().email("user1").build())))
+                .as("prefix: user1, user10..user19, user100..user199, user1000").isEqualTo(112);
+        assertThat(count(EntityUtils.buildCriteria(UserFilter.builder().email("1@example.com").build())))
+                .as("prefix does not match inside the value").isZero();
+        assertThat(count(EntityUtils.buildCriteria(UserFilter.builder().email("1@example.com").emailMatch(MatchMode.CONTAINS).build())))
+                .isEqualTo(100);
+        assertThat(count(EntityUtils.buildCriteria(UserFilter.builder().email("user7@example.com").emailMatch(MatchMode.EXACT).build())))
+                .isEqualTo(1);
+    }
+
+    @Test
+    void wildcardsTypedByTheUser_shouldMatchLiterally() {
+        assertThat(count(EntityUtils.buildCriteria(UserFilter.builder().email("user%").build()))).isZero();
+        assertThat(count(EntityUtils.buildCriteria(UserFilter.builder().name("na_e1").nameMatch(MatchMode.PREFIX).build()))).isZero();
+    }
+
+    @Test
+    void textFilters_shouldCompareNormalizedColumnsWithoutWrappingThem() {
+        Criteria criteria = EntityUtils.buildCriteria(UserFilter.builder()
+                .name("NAME7")
+                .nameMatch(MatchMode.EXACT)
+                .email("USER7@EXAMPLE.COM")
+                .build());
+
+        String sql = select(criteria).toQuery();
+
+        assertThat(sql).doesNotContainIgnoringCase("UPPER(")
+                .contains(EntityUtils.NAME_NORMALIZED_COLUMN_NAME)
+                .contains(EntityUtils.EMAIL_NORMALIZED_COLUMN_NAME);
+        StepVerifier.create(entityTemplate.select(UserEntity.class)
+                        .from(EntityUtils.USER_TABLE_NAME)
+                        .matching(Query.query(criteria))
+                        .all())
+                .assertNext(user -> assertThat(user.getEmail()).isEqualTo("User7@Example.com"))
+                .verifyComplete();
+    }
+
+    private long count(Criteria criteria) {
+        return entityTemplate.select(UserEntity.class)
+                .from(EntityUtils.USER_TABLE_NAME)
+                .matching(Query.query(criteria))
+                .count()
+                .block();
+    }
+
+    private PreparedOperation<?> select(Criteria criteria) {
+        StatementMapper statementMapper = entityTemplate.getDataAccessStrategy().getStatementMapper();
+        return statementMapper.getMappedObject(statementMapper.createSelect(EntityUtils.USER_TABLE_NAME)
+                .withProjection(EntityUtils.USER_ID_COLUMN_NAME)
+                .withCriteria(criteria));
+    }
+
+    private String explain(Criteria criteria) {
+        PreparedOperation<?> select = select(criteria);
+        PreparedOperation<Object> explain = new PreparedOperation<>() {
+            @Override
+            public Object getSource() {
+                return select.getSource();
+            }
+
+            @Override
+            public void bindTo(BindTarget target) {
+                select.bindTo(target);
+            }
+
+            @Override
+            public String toQuery() {
+                return "EXPLAIN " + select.toQuery();
+            }
+        };
+        return databaseClient.sql(explain)
+                .map(row -> row.get(0, String.class))
+                .one()
+                .block();
+    }
+}
@@ -1,3 +1,4 @@
+DROP TABLE IF EXISTS TokenRefresco;
 DROP TABLE IF EXISTS Usuario;
 DROP TABLE IF EXISTS Rol;
 
@@ -12,7 +13,7 @@ CREATE TABLE Rol (
     id_usuario INT NOT NULL AUTO_INCREMENT,
     nombre VARCHAR(50) NOT NULL,
     apellido VARCHAR(50) NOT NULL,
-    email VARCHAR(100) NOT NULL UNIQUE,
+    email VARCHAR(100) NOT NULL,
     documento_identidad VARCHAR(50) NULL,
     id_rol INT NOT NULL,
     salario_base DECIMAL(10, 2) NOT NULL,
@@ -20,13 +21,40 @@ CREATE TABLE Rol (
     direccion VARCHAR(255) NULL,
     fecha_nacimiento DATE NULL,
     password VARCHAR(255) NOT NULL,
+    nombre_normalizado VARCHAR(50) GENERATED ALWAYS AS (LOWER(nombre)),
+    apellido_normalizado VARCHAR(50) GENERATED ALWAYS AS (LOWER(apellido)),
+    email_normalizado VARCHAR(100) GENERATED ALWAYS AS (LOWER(email)),
     PRIMARY KEY (id_usuario),
+    CONSTRAINT uk_usuario_email UNIQUE (email),
+    CONSTRAINT uk_usuario_documento_identidad UNIQUE (documento_identidad),
     CONSTRAINT fk_usuario_rol
       FOREIGN KEY (id_rol)
       REFERENCES Rol (UniqueID)
   );
 
+  CREATE INDEX idx_usuario_nombre_normalizado ON Usuario (nombre_normalizado);
+  CREATE INDEX idx_usuario_apellido_normalizado ON Usuario (apellido_normalizado);
+  CREATE INDEX idx_usuario_email_normalizado ON Usuario (email_normalizado);
+  CREATE INDEX idx_usuario_salario_base ON Usuario (salario_base);
+  CREATE INDEX idx_usuario_rol ON Usuario (id_rol);
+
   INSERT INTO Rol (nombre, descripcion) VALUES
   ('ADMIN', 'Administrador del sistema'),
   ('ASESOR', 'Asesor'),
-  ('CLIENTE', 'Cliente Solicitante');
\ No newline at end of file
+  ('CLIENTE', 'Cliente Solicitante');
+
+  CREATE TABLE TokenRefresco (
+    id_token_refresco BIGINT NOT NULL AUTO_INCREMENT,
+    hash_token CHAR(64) NOT NULL,
+    id_familia CHAR(36) NOT NULL,
+    id_usuario INT NOT NULL,
+    fecha_creacion TIMESTAMP(6) NOT NULL,
+    fecha_expiracion TIMESTAMP(6) NOT NULL,
+    fecha_revocacion TIMESTAMP(6) NULL,
+    PRIMARY KEY (id_token_refresco),
+    CONSTRAINT uk_token_refresco_hash UNIQUE (hash_token),
+    CONSTRAINT fk_token_refresco_usuario
+      FOREIGN KEY (id_usuario)
+      REFERENCES Usuario (id_usuario)
+      ON DELETE CASCADE
+  );
@@ -3,19 +3,19 @@ package co.com.pragma.api;
 import co.com.pragma.api.constants.ApiConstants;
 import co.com.pragma.api.dto.*;
 import co.com.pragma.api.mapper.FilterMapper;
+import co.com.pragma.api.mapper.PageMapper;
 import co.com.pragma.api.mapper.UserMapper;
 import co.com.pragma.model.exceptions.KeyException;
 import co.com.pragma.model.jwt.gateways.JwtProviderPort;
 import co.com.pragma.model.logs.gateways.LoggerPort;
-import co.com.pragma.model.user.filters.UserFilter;
+import co.com.pragma.model.user.User;
 import co.com.pragma.usecase.auth.AuthUseCase;
+import co.com.pragma.usecase.refreshtoken.RefreshTokenUseCase;
 import co.com.pragma.usecase.user.UserUseCase;
-import com.nimbusds.jose.JWSAlgorithm;
-import com.nimbusds.jose.jwk.JWKSet;
-import com.nimbusds.jose.jwk.KeyUse;
-import com.nimbusds.jose.jwk.RSAKey;
+import com.fasterxml.jackson.databind.node.TextNode;
 import lombok.RequiredArgsConstructor;
 import org.springframework.core.ParameterizedTypeReference;
+import org.springframework.http.CacheControl;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
 import org.springframework.stereotype.Component;
@@ -24,7 +24,7 @@ import org.springframework.web.reactive.function.server.ServerResponse;
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 
-import java.security.interfaces.RSAPublicKey;
+import java.time.Duration;
 import java.time.Instant;
 import java.util.List;
 
@@ -36,6 +36,7 @@ import static co.com.pragma.model.constants.ErrorMessage.USER_NOT_FOUND_CODE;
 public class Handler {
     private final UserUseCase userUseCase;
     private final AuthUseCase authUseCase;
+    private final RefreshTokenUseCase refreshTokenUseCase;
     private final JwtProviderPort jwtProvider;
     private final UserMapper userMapper;
     private final LoggerPort logger;
@@ -52,6 +53,20 @@ public class Handler {
                 );
     }
 
+    /**
+     * The body is read element by element, from a JSON array or an NDJSON stream, and results are written back as
+     * each chunk is saved, so neither side of a large import is held in memory.
+     */
+    public Mono<ServerResponse> listenPOSTImportUsersUseCase(ServerRequest serverRequest) {
+        Flux<UserImportResultDTO> resultsFlux = userUseCase
+                .importUsers(serverRequest.bodyToFlux(UserRequestDTO.class).map(userMapper::toDomain))
+                .map(userMapper::toImportResultDto);
+
+        return ServerResponse.ok()
+                .contentType(streamingContentType(serverRequest))
+                .body(resultsFlux, UserImportResultDTO.class);
+    }
+
     public Mono<ServerResponse> listenGETUserByIdNumberUseCase(ServerRequest serverRequest) {
         String idNumber = serverRequest.pathVariable(ApiConstants.ApiParams.ID_NUMBER_PARAM);
         return userUseCase.findByIdNumber(idNumber)
@@ -77,13 +92,14 @@ public class Handler {
     public Mono<ServerResponse> listenPOSTLoginUseCase(ServerRequest serverRequest) {
         return serverRequest.bodyToMono(LoginRequestDTO.class)
                 .flatMap(loginRequest -> authUseCase.authenticate(loginRequest.getEmail(), loginRequest.getPassword()))
-                .flatMap(authenticatedUser -> {
-                    String token = jwtProvider.generateToken(authenticatedUser);
-                    LoginResponseDTO loginResponse = LoginResponseDTO.builder().token(token).email(authenticatedUser.getEmail()).build();
-                    return ServerResponse.ok()
-                            .contentType(MediaType.APPLICATION_JSON)
-                            .bodyValue(loginResponse);
-                });
+                .flatMap(authenticatedUser -> refreshTokenUseCase.issue(authenticatedUser)
+                        .flatMap(refreshToken -> loginResponse(authenticatedUser, refreshToken)));
+    }
+
+    public Mono<ServerResponse> listenPOSTRefreshTokenUseCase(ServerRequest serverRequest) {
+        return serverRequest.bodyToMono(RefreshTokenRequestDTO.class)
+                .flatMap(refreshRequest -> refreshTokenUseCase.refresh(refreshRequest.getRefreshToken()))
+                .flatMap(session -> loginResponse(session.user(), session.refreshToken()));
     }
 
     public Mono<ServerResponse> listenPOSTUsersByEmailsUseCase(ServerRequest serverRequest) {
@@ -94,24 +110,21 @@ public class Handler {
                 .map(userMapper::toResponseDto);
 
         return ServerResponse.ok()
-                .contentType(MediaType.APPLICATION_JSON)
+                .contentType(streamingContentType(serverRequest))
                 .body(usersFlux, UserResponseDTO.class);
     }
 
     public Mono<ServerResponse> listenPOSTFindUserEmailsByFilterUseCase(ServerRequest serverRequest) {
-        Mono<List<String>> emailsListMono = serverRequest
+        // Wrapped as JSON nodes: streamed plain strings would be written raw, without quotes nor separators
+        Flux<TextNode> emailsFlux = serverRequest
                 .bodyToMono(FindUsersRequestDTO.class)
                 .map(userMapper::toUserFilter)
                 .flatMapMany(userUseCase::findUserEmailsByFilter)
-                .distinct()
-                .collectList();
+                .map(TextNode::valueOf);
 
-        return emailsListMono
-                .flatMap(emails ->
-                        ServerResponse.ok()
-                                .contentType(MediaType.APPLICATION_JSON)
-                                .bodyValue(emails)
-                );
+        return ServerResponse.ok()
+                .contentType(streamingContentType(serverRequest))
+                .body(emailsFlux, TextNode.class);
     }
 
     public Mono<ServerResponse> listenGETUserByEmailUseCase(ServerRequest serverRequest) {
@@ -137,30 +150,44 @@ public class Handler {
     }
 
     public Mono<ServerResponse> listenGETUsersByFilterUseCase(ServerRequest serverRequest) {
-        UserFilter filter = FilterMapper.toFilter(serverRequest.queryParams());
-        Flux<UserResponseDTO> usersFlux = userUseCase.findUsersByFilter(filter)
-                .distinct()
-                .map(userMapper::toResponseDto);
-        return usersFlux.collectList()
-                .flatMap(userList -> ServerResponse.ok()
+        if (acceptsNdjson(serverRequest)) {
+            return Mono.fromCallable(() -> PageMapper.toPageRequest(serverRequest.queryParams()))
+                    .flatMap(pageRequest -> ServerResponse.ok()
+                            .contentType(MediaType.APPLICATION_NDJSON)
+                            .body(userUseCase.streamUsersByFilter(FilterMapper.toFilter(serverRequest.queryParams()),
+                                            pageRequest.afterId())
+                                    .map(userMapper::toResponseDto), UserResponseDTO.class));
+        }
+        return Mono.fromCallable(() -> PageMapper.toPageRequest(serverRequest.queryParams()))
+                .flatMap(pageRequest -> userUseCase.findUsersByFilter(FilterMapper.toFilter(serverRequest.queryParams()), pageRequest))
+                .flatMap(page -> ServerResponse.ok()
                         .contentType(MediaType.APPLICATION_JSON)
-                        .bodyValue(userList));
+                        .headers(headers -> {
+                            if (page.hasNext()) {
+                                headers.set(ApiConstants.ApiHeaders.NEXT_CURSOR_HEADER, PageMapper.encodeCursor(page.nextAfterId()));
+                            }
+                            if (page.totalCount() != null) {
+                                headers.set(ApiConstants.ApiHeaders.TOTAL_COUNT_HEADER, String.valueOf(page.totalCount()));
+                            }
+                        })
+                        .bodyValue(page.items().stream().map(userMapper::toResponseDto).toList()));
     }
 
     public Mono<ServerResponse> listenGETJWKSKey(ServerRequest serverRequest) {
-        return Mono.fromCallable(() -> (RSAPublicKey) jwtProvider.getPublicKey())
-                .flatMap(publicKey -> Mono.fromCallable(() -> {
-                    logger.info("Key requested by {} with public algorithm {}", serverRequest.remoteAddress(), publicKey.getAlgorithm());
-                    RSAKey rsaJwk = new RSAKey.Builder(publicKey)
-                            .keyUse(KeyUse.SIGNATURE)
-                            .algorithm(JWSAlgorithm.RS256)
-                            .keyIDFromThumbprint()
-                            .build();
-                    return new JWKSet(rsaJwk.toPublicJWK()).toJSONObject();
-                }))
-                .flatMap(jwksMap -> ServerResponse.ok()
-                        .contentType(MediaType.APPLICATION_JSON)
-                        .bodyValue(jwksMap))
+        return Mono.fromCallable(jwtProvider::getJwks)
+                .flatMap(jwks -> {
+                    logger.debug("Key set requested by {}", serverRequest.remoteAddress());
+                    CacheControl cacheControl = CacheControl.maxAge(Duration.ofSeconds(jwks.maxAgeSeconds())).cachePublic();
+                    return serverRequest.checkNotModified(jwks.etag())
+                            .flatMap(notModified -> ServerResponse.from(notModified)
+                                    .cacheControl(cacheControl)
+                                    .build())
+                            .switchIfEmpty(Mono.defer(() -> ServerResponse.ok()
+                                    .contentType(MediaType.APPLICATION_JSON)
+                                    .eTag(jwks.etag())
+                                    .cacheControl(cacheControl)
+                                    .bodyValue(jwks.content())));
+                })
                 .onErrorResume(KeyException.class, Mono::error);
     }
 
@@ -169,4 +196,35 @@ public class Handler {
                 .flatMap(response -> ServerResponse.ok().bodyValue(response))
                 .onErrorResume(KeyException.class, Mono::error);
     }
+
+    // START Private methods ***********************************************************
+
+    /**
+     * NDJSON is only served when asked for explicitly, so clients accepting any media type keep getting JSON.
+     */
+    private static boolean acceptsNdjson(ServerRequest serverRequest) {
+        return serverRequest.headers().accept().stream()
+                .anyMatch(mediaType -> mediaType.equalsTypeAndSubtype(MediaType.APPLICATION_NDJSON));
+    }
+
+    /**
+     * Both content types are written element by element as the rows are read: NDJSON one per line, JSON as an
+     * array the encoder opens and closes around the stream.
+     */
+    private static MediaType streamingContentType(ServerRequest serverRequest) {
+        return acceptsNdjson(serverRequest) ? MediaType.APPLICATION_NDJSON : MediaType.APPLICATION_JSON;
+    }
+
+    private Mono<ServerResponse> loginResponse(User user, String refreshToken) {
+        LoginResponseDTO loginResponse = LoginResponseDTO.builder()
+                .token(jwtProvider.generateToken(user))
+                .refreshToken(refreshToken)
+                .email(user.getEmail())
+                .build();
+        return ServerResponse.ok()
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(loginResponse);
+    }
+
+    // END Private methods ***********************************************************
 }
@@ -17,9 +17,15 @@ public class RouterRest {
         return RouterFunctions.route(
                 POST(ApiConstants.ApiPaths.USERS_PATH).and(accept(MediaType.APPLICATION_JSON)),
                 handler::listenPOSTSaveUserUseCase
+        ).andRoute(
+                POST(ApiConstants.ApiPaths.USERS_IMPORT_PATH),
+                handler::listenPOSTImportUsersUseCase
         ).andRoute(
                 POST(ApiConstants.ApiPaths.LOGIN_PATH).and(accept(MediaType.APPLICATION_JSON)),
                 handler::listenPOSTLoginUseCase
+        ).andRoute(
+                POST(ApiConstants.ApiPaths.REFRESH_TOKEN_PATH).and(accept(MediaType.APPLICATION_JSON)),
+                handler::listenPOSTRefreshTokenUseCase
         ).andRoute(
                 GET(ApiConstants.ApiPaths.USER_BY_ID_NUMBER_PATH),
                 handler::listenGETUserByIdNumberUseCase
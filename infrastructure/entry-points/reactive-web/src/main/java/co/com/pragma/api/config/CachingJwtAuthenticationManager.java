@@ -0,0 +1,107 @@
+package co.com.pragma.api.config;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.security.authentication.ReactiveAuthenticationManager;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.oauth2.server.resource.authentication.BearerTokenAuthenticationToken;
+import org.springframework.security.oauth2.server.resource.authentication.JwtAuthenticationToken;
+import reactor.core.publisher.Mono;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Base64;
+
+/**
+ * Caches the authentication built for a bearer token so repeated calls with the same token skip the signature
+ * verification and the authorities conversion. Entries are keyed by the SHA-256 of the token, never outlive the
+ * token {@code exp} nor {@code maxTtl}, and the cache is bounded by an estimate of the retained bytes.
+ */
+public class CachingJwtAuthenticationManager implements ReactiveAuthenticationManager {
+
+    public static final String CACHE_NAME = "jwt.authentication";
+
+    private static final String DIGEST_ALGORITHM = "SHA-256";
+    // Rough per-entry footprint of the key, the Jwt claim/header maps and the authorities
+    private static final int ENTRY_OVERHEAD_BYTES = 1024;
+
+    private final ReactiveAuthenticationManager delegate;
+    private final Duration maxTtl;
+    private final Clock clock;
+    private final Cache<String, JwtAuthenticationToken> cache;
+
+    public CachingJwtAuthenticationManager(ReactiveAuthenticationManager delegate, JwtCacheProperties properties,
+                                           MeterRegistry meterRegistry) {
+        this(delegate, properties, meterRegistry, Clock.systemUTC());
+    }
+
+    CachingJwtAuthenticationManager(ReactiveAuthenticationManager delegate, JwtCacheProperties properties,
+                                    MeterRegistry meterRegistry, Clock clock) {
+        this.delegate = delegate;
+        this.maxTtl = properties.getMaxTtl();
+        this.clock = clock;
+        this.cache = Caffeine.newBuilder()
+                .maximumWeight(properties.getMaxSize().toBytes())
+                .weigher((String key, JwtAuthenticationToken value) ->
+                        ENTRY_OVERHEAD_BYTES + 2 * value.getToken().getTokenValue().length())
+                .expireAfter(Expiry.creating((String key, JwtAuthenticationToken value) -> timeToLive(value)))
+                .recordStats()
+                .build();
+        if (meterRegistry != null) {
+            CaffeineCacheMetrics.monitor(meterRegistry, cache, CACHE_NAME);
+        }
+    }
+
+    @Override
+    public Mono<Authentication> authenticate(Authentication authentication) {
+        if (!(authentication instanceof BearerTokenAuthenticationToken bearer)) {
+            return delegate.authenticate(authentication);
+        }
+        String key = digest(bearer.getToken());
+        JwtAuthenticationToken cached = cache.getIfPresent(key);
+        if (cached != null) {
+            return Mono.just(cached);
+        }
+        return delegate.authenticate(authentication)
+                .doOnNext(authenticated -> {
+                    if (authenticated instanceof JwtAuthenticationToken jwtAuthentication
+                            && timeToLive(jwtAuthentication).compareTo(Duration.ZERO) > 0) {
+                        cache.put(key, jwtAuthentication);
+                    }
+                });
+    }
+
+    long estimatedSize() {
+        cache.cleanUp();
+        return cache.estimatedSize();
+    }
+
+    // START Private methods ****
+
+    private Duration timeToLive(JwtAuthenticationToken authentication) {
+        Instant expiresAt = authentication.getToken().getExpiresAt();
+        if (expiresAt == null) {
+            return maxTtl;
+        }
+        Duration untilExpiry = Duration.between(clock.instant(), expiresAt);
+        return untilExpiry.compareTo(maxTtl) < 0 ? untilExpiry : maxTtl;
+    }
+
+    private static String digest(String token) {
+        try {
+            byte[] hash = MessageDigest.getInstance(DIGEST_ALGORITHM).digest(token.getBytes(StandardCharsets.UTF_8));
+            return Base64.getEncoder().encodeToString(hash);
+        } catch (NoSuchAlgorithmException ex) {
+            throw new IllegalStateException(ex);
+        }
+    }
+
+    // END Private methods ****
+}
@@ -0,0 +1,16 @@
+package co.com.pragma.api.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.util.unit.DataSize;
+
+import java.time.Duration;
+
+@Data
+@ConfigurationProperties(prefix = "security.jwt.cache")
+public class JwtCacheProperties {
+
+    private Boolean enabled = true;
+    private Duration maxTtl = Duration.ofMinutes(5);
+    private DataSize maxSize = DataSize.ofMegabytes(16);
+}
@@ -1,5 +1,6 @@
 package co.com.pragma.api.config;
 
+import co.com.pragma.api.constants.ApiConstants;
 import org.springframework.http.HttpHeaders;
 import org.springframework.stereotype.Component;
 import org.springframework.web.server.ServerWebExchange;
@@ -17,8 +18,11 @@ public class SecurityHeadersConfig implements WebFilter {
         headers.set("Strict-Transport-Security", "max-age=31536000;");
         headers.set("X-Content-Type-Options", "nosniff");
         headers.set("Server", "");
-        headers.set("Cache-Control", "no-store");
-        headers.set("Pragma", "no-cache");
+        // The key set is public and versioned by ETag, its handler sets its own cache headers
+        if (!ApiConstants.ApiPaths.JWKS_PATH.equals(exchange.getRequest().getPath().value())) {
+            headers.set("Cache-Control", "no-store");
+            headers.set("Pragma", "no-cache");
+        }
         headers.set("Referrer-Policy", "strict-origin-when-cross-origin");
         return chain.filter(exchange);
     }
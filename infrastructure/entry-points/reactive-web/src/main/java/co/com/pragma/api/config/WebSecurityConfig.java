@@ -3,32 +3,48 @@ package co.com.pragma.api.config;
 import co.com.pragma.api.constants.ApiConstants;
 import co.com.pragma.api.constants.ApiConstants.ApiPathMatchers;
 import co.com.pragma.api.exception.handler.CustomAccessDeniedHandler;
+import co.com.pragma.model.jwt.JwtData;
+import co.com.pragma.model.jwt.gateways.JwtProviderPort;
+import io.micrometer.core.instrument.MeterRegistry;
 import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.core.convert.converter.Converter;
 import org.springframework.security.authentication.AbstractAuthenticationToken;
+import org.springframework.security.authentication.ReactiveAuthenticationManager;
 import org.springframework.security.config.annotation.web.reactive.EnableWebFluxSecurity;
 import org.springframework.security.config.web.server.ServerHttpSecurity;
+import org.springframework.security.oauth2.jose.jws.SignatureAlgorithm;
+import org.springframework.security.oauth2.jwt.BadJwtException;
+import org.springframework.security.oauth2.jwt.JoseHeaderNames;
 import org.springframework.security.oauth2.jwt.Jwt;
+import org.springframework.security.oauth2.jwt.ReactiveJwtDecoder;
 import org.springframework.security.oauth2.server.resource.authentication.JwtAuthenticationToken;
+import org.springframework.security.oauth2.server.resource.authentication.JwtReactiveAuthenticationManager;
 import org.springframework.security.web.server.SecurityWebFilterChain;
 import reactor.core.publisher.Mono;
 
 import java.util.Collection;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
 import java.util.Set;
 import java.util.stream.Collectors;
 
 @Configuration
 @EnableWebFluxSecurity
+@EnableConfigurationProperties(JwtCacheProperties.class)
 @RequiredArgsConstructor
 public class WebSecurityConfig {
 
     private final CustomAccessDeniedHandler accessDeniedHandler;
 
     @Bean
-    public SecurityWebFilterChain securityWebFilterChain(ServerHttpSecurity http) {
+    public SecurityWebFilterChain securityWebFilterChain(ServerHttpSecurity http, ReactiveJwtDecoder jwtDecoder,
+                                                         JwtCacheProperties cacheProperties,
+                                                         ObjectProvider<MeterRegistry> meterRegistry) {
 
         return http
                 .csrf(ServerHttpSecurity.CsrfSpec::disable)
@@ -36,7 +52,9 @@ public class WebSecurityConfig {
                 .formLogin(ServerHttpSecurity.FormLoginSpec::disable)
                 .oauth2ResourceServer(spec ->
                         spec.jwt(jwt ->
-                                jwt.jwtAuthenticationConverter(jwtAuthenticationConverter())
+                                jwt.authenticationManager(
+                                        jwtAuthenticationManager(jwtDecoder, cacheProperties, meterRegistry.getIfAvailable())
+                                )
                         )
                 )
                 .authorizeExchange(spec -> spec
@@ -79,6 +97,47 @@ public class WebSecurityConfig {
                 .build();
     }
 
+    /**
+     * Verifies bearer tokens with the in-process key ring instead of fetching this service's own JWKS over HTTP.
+     */
+    @Bean
+    public ReactiveJwtDecoder jwtDecoder(JwtProviderPort jwtProvider) {
+        return token -> Mono.fromCallable(() -> toJwt(token, jwtProvider.getClaims(token)))
+                .onErrorMap(ex -> !(ex instanceof BadJwtException), ex -> new BadJwtException(ex.getMessage(), ex));
+    }
+
+    private Jwt toJwt(String token, JwtData claims) {
+        return Jwt.withTokenValue(token)
+                .header(JoseHeaderNames.ALG, Objects.requireNonNullElse(claims.algorithm(), SignatureAlgorithm.RS256.getName()))
+                .subject(claims.subject())
+                .issuedAt(claims.issuedAt())
+                .expiresAt(claims.expiresAt())
+                .claims(map -> {
+                    putIfPresent(map, "role", claims.role());
+                    putIfPresent(map, "roleId", claims.roleId());
+                    putIfPresent(map, "name", claims.name());
+                    putIfPresent(map, "idNumber", claims.idNumber());
+                })
+                .build();
+    }
+
+    private void putIfPresent(Map<String, Object> claims, String name, Object value) {
+        if (value != null) {
+            claims.put(name, value);
+        }
+    }
+
+    private ReactiveAuthenticationManager jwtAuthenticationManager(ReactiveJwtDecoder jwtDecoder,
+                                                                   JwtCacheProperties cacheProperties,
+                                                                   MeterRegistry meterRegistry) {
+        JwtReactiveAuthenticationManager manager = new JwtReactiveAuthenticationManager(jwtDecoder);
+        manager.setJwtAuthenticationConverter(jwtAuthenticationConverter());
+        if (!Boolean.TRUE.equals(cacheProperties.getEnabled())) {
+            return manager;
+        }
+        return new CachingJwtAuthenticationManager(manager, cacheProperties, meterRegistry);
+    }
+
     private Converter<Jwt, Mono<AbstractAuthenticationToken>> jwtAuthenticationConverter() {
         return jwt -> {
             Collection<String> roles = extractRoles(jwt);
@@ -5,6 +5,7 @@ import co.com.pragma.api.constants.ApiConstants;
 import co.com.pragma.api.dto.ErrorDTO;
 import co.com.pragma.api.dto.LoginRequestDTO;
 import co.com.pragma.api.dto.LoginResponseDTO;
+import co.com.pragma.api.dto.RefreshTokenRequestDTO;
 import co.com.pragma.model.constants.ErrorMessage;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.media.Content;
@@ -60,6 +61,35 @@ public class AuthDocumentationConfig {
                                     )
                             }
                     )
+            ),
+            @RouterOperation(
+                    path = ApiConstants.ApiPaths.REFRESH_TOKEN_PATH,
+                    produces = {MediaType.APPLICATION_JSON_VALUE},
+                    method = RequestMethod.POST,
+                    beanClass = Handler.class,
+                    beanMethod = "listenPOSTRefreshTokenUseCase",
+                    operation = @Operation(
+                            summary = ApiConstants.Operations.REFRESH_TOKEN_SUMMARY,
+                            description = ApiConstants.Operations.REFRESH_TOKEN_DESCRIPTION,
+                            operationId = ApiConstants.Operations.REFRESH_TOKEN_OPERATION_ID,
+                            requestBody = @RequestBody(
+                                    content = @Content(schema = @Schema(implementation = RefreshTokenRequestDTO.class)),
+                                    required = true,
+                                    description = ApiConstants.Operations.REFRESH_TOKEN_REQUEST_BODY_DESC
+                            ),
+                            responses = {
+                                    @ApiResponse(
+                                            responseCode = ApiConstants.Responses.SUCCESS_OK_CODE,
+                                            description = ApiConstants.Responses.REFRESH_TOKEN_SUCCESS_DESC,
+                                            content = @Content(schema = @Schema(implementation = LoginResponseDTO.class))
+                                    ),
+                                    @ApiResponse(
+                                            responseCode = ApiConstants.Responses.UNAUTHORIZED_CODE,
+                                            description = ErrorMessage.INVALID_REFRESH_TOKEN,
+                                            content = @Content(schema = @Schema(implementation = ErrorDTO.class))
+                                    )
+                            }
+                    )
             )
     })
     public RouterFunction<ServerResponse> authDocumentationRoutes() {
@@ -4,6 +4,7 @@ import co.com.pragma.api.Handler;
 import co.com.pragma.api.constants.ApiConstants;
 import co.com.pragma.api.dto.ErrorDTO;
 import co.com.pragma.api.dto.FindUsersRequestDTO;
+import co.com.pragma.api.dto.UserImportResultDTO;
 import co.com.pragma.api.dto.UserRequestDTO;
 import co.com.pragma.api.dto.UserResponseDTO;
 import co.com.pragma.model.constants.ErrorMessage;
@@ -68,6 +69,33 @@ public class UserDocumentationConfig {
                             }
                     )
             ),
+            @RouterOperation(
+                    path = ApiConstants.ApiPaths.USERS_IMPORT_PATH,
+                    produces = {MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_NDJSON_VALUE},
+                    method = RequestMethod.POST,
+                    beanClass = Handler.class,
+                    beanMethod = "listenPOSTImportUsersUseCase",
+                    operation = @Operation(
+                            operationId = ApiConstants.Operations.IMPORT_USERS_OPERATION_ID,
+                            summary = ApiConstants.Operations.IMPORT_USERS_SUMMARY,
+                            description = ApiConstants.Operations.IMPORT_USERS_DESCRIPTION,
+                            security = @SecurityRequirement(name = ApiConstants.ApiConfig.NAME_BEARER_AUTH),
+                            requestBody = @RequestBody(
+                                    content = {
+                                            @Content(mediaType = MediaType.APPLICATION_JSON_VALUE, array = @ArraySchema(schema = @Schema(implementation = UserRequestDTO.class))),
+                                            @Content(mediaType = MediaType.APPLICATION_NDJSON_VALUE, schema = @Schema(implementation = UserRequestDTO.class))
+                                    },
+                                    required = true,
+                                    description = ApiConstants.Operations.IMPORT_USERS_REQUEST_BODY_DESC
+                            ),
+                            responses = {
+                                    @ApiResponse(responseCode = ApiConstants.Responses.SUCCESS_OK_CODE, description = ApiConstants.Responses.IMPORT_USERS_SUCCESS_DESC,
+                                            content = @Content(array = @ArraySchema(schema = @Schema(implementation = UserImportResultDTO.class)))
+                                    ),
+                                    @ApiResponse(responseCode = ApiConstants.Responses.BAD_REQUEST_CODE, description = ApiConstants.Responses.BAD_REQUEST_DESC, content = @Content(schema = @Schema(implementation = ErrorDTO.class)))
+                            }
+                    )
+            ),
             @RouterOperation(
                     path = ApiConstants.ApiPaths.USER_BY_ID_NUMBER_PATH,
                     produces = {MediaType.APPLICATION_JSON_VALUE},
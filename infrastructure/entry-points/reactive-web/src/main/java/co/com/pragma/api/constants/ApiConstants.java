@@ -14,6 +14,18 @@ public class ApiConstants {
         public static final String NAME_PARAM = "name";
         public static final String MIN_BASE_SALARY_PARAM = "minBaseSalary";
         public static final String MAX_BASE_SALARY_PARAM = "maxBaseSalary";
+        public static final String ID_NUMBER_MATCH_PARAM = "idNumberMatch";
+        public static final String EMAIL_MATCH_PARAM = "emailMatch";
+        public static final String NAME_MATCH_PARAM = "nameMatch";
+        public static final String CURSOR_PARAM = "cursor";
+        public static final String SIZE_PARAM = "size";
+        public static final String INCLUDE_TOTAL_PARAM = "includeTotal";
+    }
+
+    @NoArgsConstructor(access = AccessLevel.PRIVATE)
+    public static final class ApiHeaders {
+        public static final String NEXT_CURSOR_HEADER = "X-Next-Cursor";
+        public static final String TOTAL_COUNT_HEADER = "X-Total-Count";
     }
 
     @NoArgsConstructor(access = AccessLevel.PRIVATE)
@@ -24,9 +36,11 @@ public class ApiConstants {
         public static final String SEARCHES_PATH = BASE_PATH + "/busquedas";
         public static final String USERS_BY_FILTER_PATH = SEARCHES_PATH + "/filtro";
         public static final String LOGIN_PATH = BASE_PATH + "/login";
+        public static final String REFRESH_TOKEN_PATH = LOGIN_PATH + "/refresh";
         public static final String REPORT_ADMINS_PATH = BASE_PATH + "/report-admins";
         public static final String JWKS_PATH = "/.well-known/jwks.json";
         public static final String USER_BY_ID_NUMBER_PATH = USERS_PATH + "/{"+ApiParams.ID_NUMBER_PARAM+"}";
+        public static final String USERS_IMPORT_PATH = USERS_PATH + "/importacion";
         public static final String USERS_BY_EMAIL_PATH = SEARCHES_PATH + "/emails";
         public static final String USER_EMAILS_BY_FILTER_PATH = SEARCHES_PATH + "/filtro";
         public static final String USER_BY_EMAIL_PATH = SEARCHES_PATH + "/email/{"+ApiParams.EMAIL_PARAM+"}";
@@ -64,6 +78,10 @@ public class ApiConstants {
         public static final String LOGIN_DESCRIPTION = "Endpoint designated for user authentication.";
         public static final String LOGIN_OPERATION_ID = "login";
         public static final String LOGIN_REQUEST_BODY_DESC = "User credentials for authentication";
+        public static final String REFRESH_TOKEN_SUMMARY = "Exchange a refresh token for a new access token.";
+        public static final String REFRESH_TOKEN_DESCRIPTION = "Consumes the refresh token and returns a new access token together with its replacement refresh token.";
+        public static final String REFRESH_TOKEN_OPERATION_ID = "refreshToken";
+        public static final String REFRESH_TOKEN_REQUEST_BODY_DESC = "Refresh token returned by the last login or refresh";
         public static final String SAVE_USER_REQUEST_BODY_DESC = "User Requested Data";
         public static final String FIND_USERS_BY_EMAIL_OPERATION_ID = "findUsersByEmail";
         public static final String FIND_USER_EMAILS_BY_FILTER_OPERATION_ID = "findUserEmailsByFilter";
@@ -76,6 +94,10 @@ public class ApiConstants {
         public static final String FIND_USER_BY_ID_NUMBER_OPERATION_ID = "findUserByIdNumber";
         public static final String FIND_USER_BY_ID_NUMBER_SUMMARY = "Find a user by their ID number";
         public static final String FIND_USER_BY_ID_NUMBER_DESCRIPTION = "Retrieves a single user's details. Requires ADMIN or ADVISOR role.";
+        public static final String IMPORT_USERS_OPERATION_ID = "importUsers";
+        public static final String IMPORT_USERS_SUMMARY = "Create many users at once, for admin and advisor's role only";
+        public static final String IMPORT_USERS_DESCRIPTION = "Creates every user of a JSON array or NDJSON stream and streams back one result per row, in input order, as NDJSON when asked for. Rejected rows carry their error and do not stop the import. Requires admin or advisor role.";
+        public static final String IMPORT_USERS_REQUEST_BODY_DESC = "A JSON array or NDJSON stream of users to create.";
     }
 
     @NoArgsConstructor(access = AccessLevel.PRIVATE)
@@ -89,8 +111,10 @@ public class ApiConstants {
         public static final String FIND_USER_EMAILS_BY_FILTER_SUCCESS_DESC = "Successfully retrieved user emails matching the provided filters.";
         public static final String LOGIN_SUCCESS_DESC = "Authentication successful, JWT returned";
         public static final String LOGIN_BAD_REQUEST_DESC = "Invalid request (e.g. missing email or password)";
+        public static final String REFRESH_TOKEN_SUCCESS_DESC = "Refresh successful, new JWT and refresh token returned";
         public static final String CONFLICT_CODE = "409";
         public static final String FIND_USER_SUCCESS_DESC = "User Found Successfully";
+        public static final String IMPORT_USERS_SUCCESS_DESC = "One result per row: the created user or the error that rejected the row.";
         public static final String SUCCESS_OK_CODE = "200";
         public static final String NOT_FOUND_CODE = "404";
         public static final String UNAUTHORIZED_CODE = "401";
@@ -135,9 +159,14 @@ public class ApiConstants {
 
         public static final String EXAMPLE_TOKEN = "eyJhbGciOiJIUzI1NiIsInR5cCI6IkpXVCJ9";
         public static final String DESCRIPTION_TOKEN = "Token for authentication";
+        public static final String EXAMPLE_REFRESH_TOKEN = "kq3Xy0cF7b9vR2mN8sT1uW4zA6dE5gH0jL3pQ7rS9tU";
+        public static final String DESCRIPTION_REFRESH_TOKEN = "Single-use token to obtain a new access token without logging in again";
 
         public static final String DESCRIPTION_SALARY_LOWER_THAN = "Filter for users with a salary lower than this value.";
         public static final String DESCRIPTION_SALARY_GREATER_THAN = "Filter for users with a salary greater than this value.";
+        public static final String DESCRIPTION_ID_NUMBER_MATCH = "How the id number is matched: EXACT, PREFIX (default) or CONTAINS.";
+        public static final String DESCRIPTION_EMAIL_MATCH = "How the email is matched: EXACT, PREFIX (default) or CONTAINS.";
+        public static final String DESCRIPTION_NAME_MATCH = "How each word of the name is matched: EXACT, PREFIX, CONTAINS (default) or FULLTEXT, which ranks the results by relevance and returns a single page.";
     }
 
     @NoArgsConstructor(access = AccessLevel.PRIVATE)
@@ -204,6 +233,17 @@ public class ApiConstants {
         public static final String DESCRIPTION_API = "This is the API for Crediya Auth Microservice";
     }
 
+    @NoArgsConstructor(access = AccessLevel.PRIVATE)
+    public static final class UserImport {
+        public static final String NAME_DTO = "UserImportResult";
+        public static final String DESCRIPTION_DTO = "Outcome of one row of a user import.";
+        public static final String DESCRIPTION_INDEX = "Zero-based position of the row in the request.";
+        public static final String EXAMPLE_INDEX = "0";
+        public static final String DESCRIPTION_USER = "The created user, absent when the row was rejected.";
+        public static final String EXAMPLE_ERROR_CODE = "U005";
+        public static final String EXAMPLE_ERROR_MESSAGE = "Email is already taken.";
+    }
+
     @NoArgsConstructor(access = AccessLevel.PRIVATE)
     public static final class UsersByEmailRequest {
         public static final String NAME_DTO = "UsersByEmailRequest";
@@ -1,6 +1,7 @@
 package co.com.pragma.api.dto;
 
 import co.com.pragma.api.constants.ApiConstants;
+import co.com.pragma.model.user.filters.MatchMode;
 import com.fasterxml.jackson.annotation.JsonInclude;
 import io.swagger.v3.oas.annotations.media.Schema;
 import lombok.*;
@@ -30,4 +31,13 @@ public class FindUsersRequestDTO {
 
     @Schema(description = ApiConstants.User.DESCRIPTION_SALARY_GREATER_THAN, example = "2000000")
     private BigDecimal salaryGreaterThan;
+
+    @Schema(description = ApiConstants.User.DESCRIPTION_ID_NUMBER_MATCH, example = "PREFIX")
+    private MatchMode idNumberMatch;
+
+    @Schema(description = ApiConstants.User.DESCRIPTION_EMAIL_MATCH, example = "PREFIX")
+    private MatchMode emailMatch;
+
+    @Schema(description = ApiConstants.User.DESCRIPTION_NAME_MATCH, example = "CONTAINS")
+    private MatchMode nameMatch;
 }
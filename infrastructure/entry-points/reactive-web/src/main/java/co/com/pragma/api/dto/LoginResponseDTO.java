@@ -18,4 +18,7 @@ public class LoginResponseDTO {
 
     @Schema(description = ApiConstants.User.DESCRIPTION_TOKEN, example = ApiConstants.User.EXAMPLE_TOKEN)
     private String token;
+
+    @Schema(description = ApiConstants.User.DESCRIPTION_REFRESH_TOKEN, example = ApiConstants.User.EXAMPLE_REFRESH_TOKEN)
+    private String refreshToken;
 }
@@ -0,0 +1,18 @@
+package co.com.pragma.api.dto;
+
+import co.com.pragma.api.constants.ApiConstants;
+import com.fasterxml.jackson.annotation.JsonInclude;
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.*;
+
+@Getter
+@Setter
+@Builder(toBuilder = true)
+@AllArgsConstructor
+@NoArgsConstructor
+@JsonInclude(JsonInclude.Include.NON_NULL)
+@Schema(name = "Refresh Token Request", description = "Refresh Token Request")
+public class RefreshTokenRequestDTO {
+    @Schema(description = ApiConstants.User.DESCRIPTION_REFRESH_TOKEN, example = ApiConstants.User.EXAMPLE_REFRESH_TOKEN)
+    private String refreshToken;
+}
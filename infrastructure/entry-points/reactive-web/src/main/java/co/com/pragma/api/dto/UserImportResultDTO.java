@@ -0,0 +1,30 @@
+package co.com.pragma.api.dto;
+
+import co.com.pragma.api.constants.ApiConstants;
+import com.fasterxml.jackson.annotation.JsonInclude;
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@JsonInclude(JsonInclude.Include.NON_NULL)
+@Schema(name = ApiConstants.UserImport.NAME_DTO, description = ApiConstants.UserImport.DESCRIPTION_DTO)
+public class UserImportResultDTO {
+
+    @Schema(description = ApiConstants.UserImport.DESCRIPTION_INDEX, example = ApiConstants.UserImport.EXAMPLE_INDEX)
+    private Long index;
+
+    @Schema(description = ApiConstants.UserImport.DESCRIPTION_USER)
+    private UserResponseDTO user;
+
+    @Schema(description = ApiConstants.Error.DESCRIPTION_CODE, example = ApiConstants.UserImport.EXAMPLE_ERROR_CODE)
+    private String errorCode;
+
+    @Schema(description = ApiConstants.Error.DESCRIPTION_MESSAGE, example = ApiConstants.UserImport.EXAMPLE_ERROR_MESSAGE)
+    private String errorMessage;
+}
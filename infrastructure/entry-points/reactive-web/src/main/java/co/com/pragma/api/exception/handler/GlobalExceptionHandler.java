@@ -4,12 +4,14 @@ import co.com.pragma.api.dto.ErrorDTO;
 import co.com.pragma.model.constants.ErrorMessage;
 import co.com.pragma.model.constants.LogMessages;
 import co.com.pragma.model.exceptions.CustomException;
+import co.com.pragma.model.exceptions.TooManyRequestsException;
 import co.com.pragma.model.logs.gateways.LoggerPort;
 import org.springframework.boot.autoconfigure.web.WebProperties;
 import org.springframework.boot.autoconfigure.web.reactive.error.AbstractErrorWebExceptionHandler;
 import org.springframework.boot.web.reactive.error.ErrorAttributes;
 import org.springframework.context.ApplicationContext;
 import org.springframework.core.annotation.Order;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
 import org.springframework.http.codec.ServerCodecConfigurer;
@@ -53,6 +55,11 @@ public class GlobalExceptionHandler extends AbstractErrorWebExceptionHandler {
         ErrorResponse errorResponse = buildErrorResponse(error, serverRequest.path());
 
         return ServerResponse.status(errorResponse.status())
+                .headers(headers -> {
+                    if (error instanceof TooManyRequestsException ex) {
+                        headers.set(HttpHeaders.RETRY_AFTER, String.valueOf(ex.getRetryAfterSeconds()));
+                    }
+                })
                 .contentType(MediaType.APPLICATION_JSON)
                 .bodyValue(errorResponse.body());
     }
@@ -1,12 +1,15 @@
 package co.com.pragma.api.mapper;
 
 import co.com.pragma.api.constants.ApiConstants.ApiParams;
+import co.com.pragma.model.exceptions.InvalidMatchModeException;
+import co.com.pragma.model.user.filters.MatchMode;
 import co.com.pragma.model.user.filters.UserFilter;
 import lombok.AccessLevel;
 import lombok.NoArgsConstructor;
 import org.springframework.util.MultiValueMap;
 
 import java.math.BigDecimal;
+import java.util.Locale;
 import java.util.Optional;
 
 @NoArgsConstructor(access = AccessLevel.PRIVATE)
@@ -19,6 +22,9 @@ public class FilterMapper {
         getParam(params, ApiParams.NAME_PARAM).ifPresent(builder::name);
         getBigDecimalParam(params, ApiParams.MIN_BASE_SALARY_PARAM).ifPresent(builder::salaryGreaterThan);
         getBigDecimalParam(params, ApiParams.MAX_BASE_SALARY_PARAM).ifPresent(builder::salaryLowerThan);
+        getMatchModeParam(params, ApiParams.ID_NUMBER_MATCH_PARAM).ifPresent(builder::idNumberMatch);
+        getMatchModeParam(params, ApiParams.EMAIL_MATCH_PARAM).ifPresent(builder::emailMatch);
+        getMatchModeParam(params, ApiParams.NAME_MATCH_PARAM).ifPresent(builder::nameMatch);
 
         return builder
                 .build();
@@ -37,4 +43,17 @@ public class FilterMapper {
             }
         });
     }
+
+    /**
+     * Unknown match modes are rejected, as the POST body does, rather than silently falling back to the default.
+     */
+    private static Optional<MatchMode> getMatchModeParam(MultiValueMap<String, String> params, String key) {
+        return getParam(params, key).map(s -> {
+            try {
+                return MatchMode.valueOf(s.trim().toUpperCase(Locale.ROOT));
+            } catch (IllegalArgumentException e) {
+                throw new InvalidMatchModeException();
+            }
+        });
+    }
 }
@@ -0,0 +1,64 @@
+package co.com.pragma.api.mapper;
+
+import co.com.pragma.api.constants.ApiConstants.ApiParams;
+import co.com.pragma.model.exceptions.InvalidCursorException;
+import co.com.pragma.model.exceptions.InvalidPageSizeException;
+import co.com.pragma.model.pagination.KeysetPageRequest;
+import lombok.AccessLevel;
+import lombok.NoArgsConstructor;
+import org.springframework.util.MultiValueMap;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.Optional;
+
+/**
+ * Maps the pagination query params. The cursor is opaque to clients: it wraps the id of the last user of the
+ * previous page, so its format can change without breaking them.
+ */
+@NoArgsConstructor(access = AccessLevel.PRIVATE)
+public class PageMapper {
+
+    private static final String CURSOR_PREFIX = "id:";
+
+    public static KeysetPageRequest toPageRequest(MultiValueMap<String, String> params) {
+        Integer afterId = getParam(params, ApiParams.CURSOR_PARAM).map(PageMapper::decodeCursor).orElse(null);
+        Integer size = getParam(params, ApiParams.SIZE_PARAM).map(PageMapper::parseSize).orElse(null);
+        boolean includeTotal = getParam(params, ApiParams.INCLUDE_TOTAL_PARAM).map(Boolean::parseBoolean).orElse(false);
+        return new KeysetPageRequest(afterId, size, includeTotal);
+    }
+
+    public static String encodeCursor(Integer afterId) {
+        return Base64.getUrlEncoder().withoutPadding()
+                .encodeToString((CURSOR_PREFIX + afterId).getBytes(StandardCharsets.UTF_8));
+    }
+
+    public static Integer decodeCursor(String cursor) {
+        try {
+            String decoded = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            if (!decoded.startsWith(CURSOR_PREFIX)) {
+                throw new InvalidCursorException();
+            }
+            return Integer.valueOf(decoded.substring(CURSOR_PREFIX.length()));
+        } catch (IllegalArgumentException e) {
+            throw new InvalidCursorException();
+        }
+    }
+
+    private static Optional<String> getParam(MultiValueMap<String, String> params, String key) {
+        return Optional.ofNullable(params.getFirst(key)).filter(s -> !s.isBlank());
+    }
+
+    private static Integer parseSize(String value) {
+        int size;
+        try {
+            size = Integer.parseInt(value.trim());
+        } catch (NumberFormatException e) {
+            throw new InvalidPageSizeException();
+        }
+        if (size < 1) {
+            throw new InvalidPageSizeException();
+        }
+        return size;
+    }
+}
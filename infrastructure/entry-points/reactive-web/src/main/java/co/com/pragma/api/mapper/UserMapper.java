@@ -1,9 +1,11 @@
 package co.com.pragma.api.mapper;
 
 import co.com.pragma.api.dto.FindUsersRequestDTO;
+import co.com.pragma.api.dto.UserImportResultDTO;
 import co.com.pragma.api.dto.UserRequestDTO;
 import co.com.pragma.api.dto.UserResponseDTO;
 import co.com.pragma.model.user.User;
+import co.com.pragma.model.user.UserImportResult;
 import co.com.pragma.model.user.filters.UserFilter;
 import org.mapstruct.InjectionStrategy;
 import org.mapstruct.Mapper;
@@ -21,5 +23,7 @@ public interface UserMapper {
 
     UserResponseDTO toResponseDto(User user);
 
+    UserImportResultDTO toImportResultDto(UserImportResult result);
+
     UserFilter toUserFilter(FindUsersRequestDTO dto);
 }
\ No newline at end of file
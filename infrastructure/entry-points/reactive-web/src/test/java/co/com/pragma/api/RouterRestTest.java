@@ -6,24 +6,36 @@ import co.com.pragma.api.dto.*;
 import co.com.pragma.api.exception.handler.CustomAccessDeniedHandler;
 import co.com.pragma.api.exception.handler.GlobalExceptionHandler;
 import co.com.pragma.api.mapper.FilterMapper;
+import co.com.pragma.api.mapper.PageMapper;
 import co.com.pragma.api.mapper.UserMapper;
 import co.com.pragma.model.constants.DefaultValues;
 import co.com.pragma.model.constants.ErrorMessage;
 import co.com.pragma.model.exceptions.EmailTakenException;
 import co.com.pragma.model.exceptions.FieldBlankException;
 import co.com.pragma.model.exceptions.InvalidCredentialsException;
+import co.com.pragma.model.exceptions.InvalidRefreshTokenException;
+import co.com.pragma.model.exceptions.TooManyRequestsException;
+import co.com.pragma.model.jwt.JwksDocument;
 import co.com.pragma.model.jwt.gateways.JwtProviderPort;
 import co.com.pragma.model.logs.gateways.LoggerPort;
+import co.com.pragma.model.pagination.KeysetPage;
+import co.com.pragma.model.pagination.KeysetPageRequest;
+import co.com.pragma.model.refreshtoken.RefreshSession;
 import co.com.pragma.model.role.Role;
 import co.com.pragma.model.user.User;
+import co.com.pragma.model.user.UserImportResult;
 import co.com.pragma.model.user.filters.UserFilter;
 import co.com.pragma.usecase.auth.AuthUseCase;
+import co.com.pragma.usecase.refreshtoken.RefreshTokenUseCase;
 import co.com.pragma.usecase.user.UserUseCase;
 import org.assertj.core.api.Assertions;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.reactive.WebFluxTest;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
 import org.springframework.security.test.context.support.WithMockUser;
@@ -32,11 +44,16 @@ import org.springframework.test.context.bean.override.mockito.MockitoBean;
 import org.springframework.test.web.reactive.server.WebTestClient;
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
 
 import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
 import java.util.List;
 
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 @ContextConfiguration(classes = {
@@ -65,6 +82,9 @@ class RouterRestTest {
     @MockitoBean
     private AuthUseCase authUseCase;
 
+    @MockitoBean
+    private RefreshTokenUseCase refreshTokenUseCase;
+
     @MockitoBean
     private JwtProviderPort jwtProvider;
 
@@ -237,6 +257,7 @@ class RouterRestTest {
 
         when(authUseCase.authenticate(loginRequest.getEmail(), loginRequest.getPassword())).thenReturn(Mono.just(authenticatedUser));
         when(jwtProvider.generateToken(authenticatedUser)).thenReturn(jwtToken);
+        when(refreshTokenUseCase.issue(authenticatedUser)).thenReturn(Mono.just("refresh-token"));
 
         webTestClient.post()
                 .uri(ApiConstants.ApiPaths.LOGIN_PATH)
@@ -247,10 +268,45 @@ class RouterRestTest {
                 .expectBody(LoginResponseDTO.class)
                 .value(response -> {
                     Assertions.assertThat(response.getToken()).isEqualTo(jwtToken);
+                    Assertions.assertThat(response.getRefreshToken()).isEqualTo("refresh-token");
                     Assertions.assertThat(response.getEmail()).isEqualTo(loginRequest.getEmail());
                 });
     }
 
+    @Test
+    void refreshToken_shouldReturnNewTokens_whenRefreshTokenIsValid() {
+        User user = User.builder().email("test@example.com").build();
+        when(refreshTokenUseCase.refresh("refresh-token")).thenReturn(Mono.just(new RefreshSession(user, "rotated-token")));
+        when(jwtProvider.generateToken(user)).thenReturn("fake.jwt.token");
+
+        webTestClient.post()
+                .uri(ApiConstants.ApiPaths.REFRESH_TOKEN_PATH)
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(new RefreshTokenRequestDTO("refresh-token"))
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody(LoginResponseDTO.class)
+                .value(response -> {
+                    Assertions.assertThat(response.getToken()).isEqualTo("fake.jwt.token");
+                    Assertions.assertThat(response.getRefreshToken()).isEqualTo("rotated-token");
+                    Assertions.assertThat(response.getEmail()).isEqualTo("test@example.com");
+                });
+    }
+
+    @Test
+    void refreshToken_shouldReturnUnauthorized_whenRefreshTokenIsInvalid() {
+        when(refreshTokenUseCase.refresh(any(String.class))).thenReturn(Mono.error(new InvalidRefreshTokenException()));
+
+        webTestClient.post()
+                .uri(ApiConstants.ApiPaths.REFRESH_TOKEN_PATH)
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(new RefreshTokenRequestDTO("reused-token"))
+                .exchange()
+                .expectStatus().isUnauthorized()
+                .expectBody(ErrorDTO.class)
+                .value(error -> Assertions.assertThat(error.getCode()).isEqualTo(ErrorMessage.INVALID_REFRESH_TOKEN_CODE));
+    }
+
     @Test
     void login_shouldReturnUnauthorized_whenCredentialsAreInvalid() {
         LoginRequestDTO loginRequest = new LoginRequestDTO("test@example.com", "wrong-password");
@@ -264,6 +320,22 @@ class RouterRestTest {
                 .expectStatus().isUnauthorized();
     }
 
+    @Test
+    void login_shouldReturnTooManyRequestsWithRetryAfter_whenHashingIsSaturated() {
+        LoginRequestDTO loginRequest = new LoginRequestDTO("test@example.com", "password");
+        when(authUseCase.authenticate(any(String.class), any(String.class))).thenReturn(Mono.error(new TooManyRequestsException(2)));
+
+        webTestClient.post()
+                .uri(ApiConstants.ApiPaths.LOGIN_PATH)
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(loginRequest)
+                .exchange()
+                .expectStatus().isEqualTo(HttpStatus.TOO_MANY_REQUESTS)
+                .expectHeader().valueEquals(HttpHeaders.RETRY_AFTER, "2")
+                .expectBody(ErrorDTO.class)
+                .value(error -> Assertions.assertThat(error.getCode()).isEqualTo(ErrorMessage.TOO_MANY_REQUESTS_CODE));
+    }
+
     @Test
     @WithMockUser(authorities = "ASESOR")
     void findUsersByEmails_shouldReturnOkWithUserList() {
@@ -296,7 +368,29 @@ class RouterRestTest {
                 .contentType(MediaType.APPLICATION_JSON)
                 .bodyValue(filterRequest)
                 .exchange()
-                .expectStatus().isOk();
+                .expectStatus().isOk()
+                .expectHeader().contentType(MediaType.APPLICATION_JSON)
+                .expectBody()
+                .json("[\"test@example.com\"]");
+    }
+
+    @Test
+    @WithMockUser(authorities = "ASESOR")
+    void findUserEmailsByFilter_whenNdjsonIsAccepted_shouldStreamOneEmailPerLine() {
+        when(userMapper.toUserFilter(any(FindUsersRequestDTO.class))).thenReturn(UserFilter.builder().build());
+        when(userUseCase.findUserEmailsByFilter(any(UserFilter.class)))
+                .thenReturn(Flux.just("first@example.com", "second@example.com"));
+
+        webTestClient.post()
+                .uri(ApiConstants.ApiPaths.USER_EMAILS_BY_FILTER_PATH)
+                .contentType(MediaType.APPLICATION_JSON)
+                .accept(MediaType.APPLICATION_NDJSON)
+                .bodyValue(new FindUsersRequestDTO())
+                .exchange()
+                .expectStatus().isOk()
+                .expectHeader().contentType(MediaType.APPLICATION_NDJSON)
+                .expectBody(String.class)
+                .isEqualTo("\"first@example.com\"\n\"second@example.com\"\n");
     }
 
     @Test
@@ -318,7 +412,8 @@ class RouterRestTest {
     @Test
     @WithMockUser(authorities = "ASESOR")
     void findUsersByFilter_shouldReturnOkWithUserList() {
-        when(userUseCase.findUsersByFilter(any())).thenReturn(Flux.just(User.builder().build()));
+        when(userUseCase.findUsersByFilter(any(), any()))
+                .thenReturn(Mono.just(new KeysetPage<>(List.of(User.builder().build()), null, null)));
         when(userMapper.toResponseDto(any())).thenReturn(responseDto);
 
         webTestClient.get()
@@ -326,7 +421,218 @@ class RouterRestTest {
                 .accept(MediaType.APPLICATION_JSON)
                 .exchange()
                 .expectStatus().isOk()
+                .expectHeader().doesNotExist(ApiConstants.ApiHeaders.NEXT_CURSOR_HEADER)
+                .expectHeader().doesNotExist(ApiConstants.ApiHeaders.TOTAL_COUNT_HEADER)
                 .expectBodyList(UserResponseDTO.class)
                 .hasSize(1);
     }
+
+    @Test
+    @WithMockUser(authorities = "ASESOR")
+    void findUsersByFilter_whenMorePagesFollow_shouldReturnCursorAndTotalHeaders() {
+        when(userUseCase.findUsersByFilter(any(), eq(new KeysetPageRequest(5, 1, true))))
+                .thenReturn(Mono.just(new KeysetPage<>(List.of(User.builder().userId(6).build()), 6, 10L)));
+        when(userMapper.toResponseDto(any())).thenReturn(responseDto);
+
+        webTestClient.get()
+                .uri(uriBuilder -> uriBuilder.path(ApiConstants.ApiPaths.USERS_BY_FILTER_PATH)
+                        .queryParam("name", "John")
+                        .queryParam("cursor", PageMapper.encodeCursor(5))
+                        .queryParam("size", 1)
+                        .queryParam("includeTotal", true)
+                        .build())
+                .accept(MediaType.APPLICATION_JSON)
+                .exchange()
+                .expectStatus().isOk()
+                .expectHeader().valueEquals(ApiConstants.ApiHeaders.NEXT_CURSOR_HEADER, PageMapper.encodeCursor(6))
+                .expectHeader().valueEquals(ApiConstants.ApiHeaders.TOTAL_COUNT_HEADER, "10")
+                .expectBodyList(UserResponseDTO.class)
+                .hasSize(1);
+    }
+
+    @Test
+    @WithMockUser(authorities = "ADMIN")
+    void importUsers_shouldDecodeEveryElementOfAJsonArrayAndReturnOneResultPerRow() {
+        stubImport();
+
+        webTestClient.post()
+                .uri(ApiConstants.ApiPaths.USERS_IMPORT_PATH)
+                .contentType(MediaType.APPLICATION_JSON)
+                .accept(MediaType.APPLICATION_JSON)
+                .bodyValue(List.of(requestDto, requestDto, requestDto))
+                .exchange()
+                .expectStatus().isOk()
+                .expectHeader().contentType(MediaType.APPLICATION_JSON)
+                .expectBodyList(UserImportResultDTO.class)
+                .hasSize(3)
+                .value(results -> Assertions.assertThat(results).extracting(UserImportResultDTO::getIndex)
+                        .containsExactly(0L, 1L, 2L));
+    }
+
+    @Test
+    @WithMockUser(authorities = "ASESOR")
+    void importUsers_whenNdjsonIsSentAndAccepted_shouldStreamTheResults() {
+        stubImport();
+        String body = "{\"email\":\"a@example.com\"}\n{\"email\":\"b@example.com\"}\n";
+
+        webTestClient.post()
+                .uri(ApiConstants.ApiPaths.USERS_IMPORT_PATH)
+                .contentType(MediaType.APPLICATION_NDJSON)
+                .accept(MediaType.APPLICATION_NDJSON)
+                .bodyValue(body)
+                .exchange()
+                .expectStatus().isOk()
+                .expectHeader().contentType(MediaType.APPLICATION_NDJSON)
+                .returnResult(UserImportResultDTO.class)
+                .getResponseBody()
+                .as(StepVerifier::create)
+                .expectNextCount(2)
+                .verifyComplete();
+    }
+
+    @Test
+    @WithMockUser(authorities = "CLIENTE")
+    void importUsers_whenRoleIsNotAllowed_shouldBeForbidden() {
+        webTestClient.post()
+                .uri(ApiConstants.ApiPaths.USERS_IMPORT_PATH)
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(List.of(requestDto))
+                .exchange()
+                .expectStatus().isForbidden();
+
+        verify(userUseCase, never()).importUsers(any());
+    }
+
+    @Test
+    @WithMockUser(authorities = "ASESOR")
+    void findUsersByFilter_whenNdjsonIsAccepted_shouldStreamEveryUserFromTheCursor() {
+        when(userUseCase.streamUsersByFilter(any(), eq(5)))
+                .thenReturn(Flux.just(User.builder().userId(6).build(), User.builder().userId(7).build()));
+        when(userMapper.toResponseDto(any())).thenReturn(responseDto);
+
+        webTestClient.get()
+                .uri(uriBuilder -> uriBuilder.path(ApiConstants.ApiPaths.USERS_BY_FILTER_PATH)
+                        .queryParam("name", "John")
+                        .queryParam("cursor", PageMapper.encodeCursor(5))
+                        .build())
+                .accept(MediaType.APPLICATION_NDJSON)
+                .exchange()
+                .expectStatus().isOk()
+                .expectHeader().contentType(MediaType.APPLICATION_NDJSON)
+                .returnResult(UserResponseDTO.class)
+                .getResponseBody()
+                .as(StepVerifier::create)
+                .expectNextCount(2)
+                .verifyComplete();
+
+        verify(userUseCase, never()).findUsersByFilter(any(), any());
+    }
+
+    @Test
+    @WithMockUser(authorities = "ASESOR")
+    void findUsersByFilter_whenCursorIsInvalid_shouldReturnBadRequest() {
+        webTestClient.get()
+                .uri(uriBuilder -> uriBuilder.path(ApiConstants.ApiPaths.USERS_BY_FILTER_PATH)
+                        .queryParam("name", "John")
+                        .queryParam("cursor", "tampered")
+                        .build())
+                .accept(MediaType.APPLICATION_JSON)
+                .exchange()
+                .expectStatus().isBadRequest();
+
+        verify(userUseCase, never()).findUsersByFilter(any(), any());
+    }
+
+    @Test
+    @WithMockUser(authorities = "ASESOR")
+    void findUsersByFilter_whenSizeIsNotANumber_shouldReturnBadRequest() {
+        webTestClient.get()
+                .uri(uriBuilder -> uriBuilder.path(ApiConstants.ApiPaths.USERS_BY_FILTER_PATH)
+                        .queryParam("name", "John")
+                        .queryParam("size", "many")
+                        .build())
+                .accept(MediaType.APPLICATION_JSON)
+                .exchange()
+                .expectStatus().isBadRequest()
+                .expectBody(ErrorDTO.class)
+                .value(error -> Assertions.assertThat(error.getCode()).isEqualTo(ErrorMessage.INVALID_PAGE_SIZE_CODE));
+
+        verify(userUseCase, never()).findUsersByFilter(any(), any());
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {"0", "-5"})
+    @WithMockUser(authorities = "ASESOR")
+    void findUsersByFilter_whenSizeIsNotPositive_shouldReturnBadRequest(String size) {
+        webTestClient.get()
+                .uri(uriBuilder -> uriBuilder.path(ApiConstants.ApiPaths.USERS_BY_FILTER_PATH)
+                        .queryParam("name", "John")
+                        .queryParam("size", size)
+                        .build())
+                .accept(MediaType.APPLICATION_JSON)
+                .exchange()
+                .expectStatus().isBadRequest()
+                .expectBody(ErrorDTO.class)
+                .value(error -> Assertions.assertThat(error.getCode()).isEqualTo(ErrorMessage.INVALID_PAGE_SIZE_CODE));
+
+        verify(userUseCase, never()).findUsersByFilter(any(), any());
+    }
+
+    @Test
+    @WithMockUser(authorities = "ASESOR")
+    void findUsersByFilter_whenMatchModeIsUnknown_shouldReturnBadRequest() {
+        webTestClient.get()
+                .uri(uriBuilder -> uriBuilder.path(ApiConstants.ApiPaths.USERS_BY_FILTER_PATH)
+                        .queryParam("email", "john@example.com")
+                        .queryParam("emailMatch", "EXCAT")
+                        .build())
+                .accept(MediaType.APPLICATION_JSON)
+                .exchange()
+                .expectStatus().isBadRequest()
+                .expectBody(ErrorDTO.class)
+                .value(error -> Assertions.assertThat(error.getCode()).isEqualTo(ErrorMessage.INVALID_MATCH_MODE_CODE));
+
+        verify(userUseCase, never()).findUsersByFilter(any(), any());
+    }
+
+    @Test
+    void jwks_shouldReturnPrecomputedDocumentWithCacheHeaders() {
+        byte[] content = "{\"keys\":[]}".getBytes(StandardCharsets.UTF_8);
+        when(jwtProvider.getJwks()).thenReturn(new JwksDocument(content, "\"v1\"", 900));
+
+        webTestClient.get()
+                .uri(ApiConstants.ApiPaths.JWKS_PATH)
+                .exchange()
+                .expectStatus().isOk()
+                .expectHeader().contentType(MediaType.APPLICATION_JSON)
+                .expectHeader().valueEquals(HttpHeaders.ETAG, "\"v1\"")
+                .expectHeader().valueEquals(HttpHeaders.CACHE_CONTROL, "max-age=900, public")
+                .expectBody().json("{\"keys\":[]}");
+    }
+
+    @Test
+    void jwks_shouldReturnNotModified_whenEtagMatches() {
+        byte[] content = "{\"keys\":[]}".getBytes(StandardCharsets.UTF_8);
+        when(jwtProvider.getJwks()).thenReturn(new JwksDocument(content, "\"v1\"", 900));
+
+        webTestClient.get()
+                .uri(ApiConstants.ApiPaths.JWKS_PATH)
+                .header(HttpHeaders.IF_NONE_MATCH, "\"v1\"")
+                .exchange()
+                .expectStatus().isNotModified()
+                .expectHeader().valueEquals(HttpHeaders.ETAG, "\"v1\"")
+                .expectHeader().valueEquals(HttpHeaders.CACHE_CONTROL, "max-age=900, public")
+                .expectBody().isEmpty();
+    }
+
+    @SuppressWarnings("unchecked")
+    private void stubImport() {
+        when(userUseCase.importUsers(any())).thenAnswer(invocation -> ((Flux<User>) invocation.getArgument(0))
+                .index()
+                .map(row -> UserImportResult.imported(row.getT1(), row.getT2())));
+        when(userMapper.toImportResultDto(any(UserImportResult.class))).thenAnswer(invocation -> UserImportResultDTO.builder()
+                .index(invocation.<UserImportResult>getArgument(0).index())
+                .user(responseDto)
+                .build());
+    }
 }
@@ -0,0 +1,109 @@
+package co.com.pragma.api.config;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.security.authentication.ReactiveAuthenticationManager;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.oauth2.jwt.BadJwtException;
+import org.springframework.security.oauth2.jwt.Jwt;
+import org.springframework.security.oauth2.server.resource.authentication.BearerTokenAuthenticationToken;
+import org.springframework.security.oauth2.server.resource.authentication.JwtAuthenticationToken;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+import java.time.Clock;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class CachingJwtAuthenticationManagerTest {
+
+    private static final Instant NOW = Instant.parse("2026-01-01T00:00:00Z");
+    private static final String TOKEN = "header.payload.signature";
+
+    @Mock
+    private ReactiveAuthenticationManager delegate;
+
+    private SimpleMeterRegistry meterRegistry;
+    private CachingJwtAuthenticationManager manager;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        manager = new CachingJwtAuthenticationManager(delegate, new JwtCacheProperties(), meterRegistry,
+                Clock.fixed(NOW, ZoneOffset.UTC));
+    }
+
+    @Test
+    void authenticate_shouldVerifyOnceAndServeRepeatedTokensFromCache() {
+        JwtAuthenticationToken authenticated = authentication(NOW.plusSeconds(3600));
+        when(delegate.authenticate(any())).thenReturn(Mono.just(authenticated));
+
+        StepVerifier.create(manager.authenticate(new BearerTokenAuthenticationToken(TOKEN)))
+                .expectNext(authenticated)
+                .verifyComplete();
+        StepVerifier.create(manager.authenticate(new BearerTokenAuthenticationToken(TOKEN)))
+                .expectNext(authenticated)
+                .verifyComplete();
+
+        verify(delegate, times(1)).authenticate(any());
+        assertThat(meterRegistry.get("cache.gets").tag("cache", CachingJwtAuthenticationManager.CACHE_NAME)
+                .tag("result", "hit").functionCounter().count()).isEqualTo(1.0);
+    }
+
+    @Test
+    void authenticate_shouldNotCacheTokensThatAlreadyExpired() {
+        JwtAuthenticationToken authenticated = authentication(NOW.minusSeconds(1));
+        when(delegate.authenticate(any())).thenReturn(Mono.just(authenticated));
+
+        manager.authenticate(new BearerTokenAuthenticationToken(TOKEN)).block();
+        manager.authenticate(new BearerTokenAuthenticationToken(TOKEN)).block();
+
+        verify(delegate, times(2)).authenticate(any());
+        assertThat(manager.estimatedSize()).isZero();
+    }
+
+    @Test
+    void authenticate_shouldNotCacheFailures() {
+        when(delegate.authenticate(any())).thenReturn(Mono.error(new BadJwtException("Invalid signature")));
+
+        StepVerifier.create(manager.authenticate(new BearerTokenAuthenticationToken(TOKEN)))
+                .expectError(BadJwtException.class)
+                .verify();
+
+        assertThat(manager.estimatedSize()).isZero();
+    }
+
+    @Test
+    void authenticate_shouldDelegateOtherAuthenticationTypes() {
+        UsernamePasswordAuthenticationToken credentials = new UsernamePasswordAuthenticationToken("user", "pass");
+        when(delegate.authenticate(credentials)).thenReturn(Mono.just(credentials));
+
+        StepVerifier.create(manager.authenticate(credentials))
+                .expectNext(credentials)
+                .verifyComplete();
+
+        assertThat(manager.estimatedSize()).isZero();
+    }
+
+    private static JwtAuthenticationToken authentication(Instant expiresAt) {
+        Jwt jwt = Jwt.withTokenValue(TOKEN)
+                .header("alg", "RS256")
+                .subject("admin@example.com")
+                .issuedAt(expiresAt.minusSeconds(3600))
+                .expiresAt(expiresAt)
+                .build();
+        return new JwtAuthenticationToken(jwt, List.of());
+    }
+}
@@ -7,6 +7,7 @@ import co.com.pragma.api.mapper.UserMapper;
 import co.com.pragma.model.jwt.gateways.JwtProviderPort;
 import co.com.pragma.model.logs.gateways.LoggerPort;
 import co.com.pragma.usecase.auth.AuthUseCase;
+import co.com.pragma.usecase.refreshtoken.RefreshTokenUseCase;
 import co.com.pragma.usecase.user.UserUseCase;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -36,6 +37,9 @@ class ConfigTest {
     @MockitoBean
     private AuthUseCase authUseCase;
 
+    @MockitoBean
+    private RefreshTokenUseCase refreshTokenUseCase;
+
     @MockitoBean
     private JwtProviderPort jwtProvider;
 
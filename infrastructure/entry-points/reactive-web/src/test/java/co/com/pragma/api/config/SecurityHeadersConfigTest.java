@@ -7,12 +7,15 @@ import org.springframework.boot.autoconfigure.security.reactive.ReactiveSecurity
 import org.springframework.boot.test.autoconfigure.web.reactive.WebFluxTest;
 import org.springframework.boot.test.context.TestConfiguration;
 import org.springframework.context.annotation.Bean;
+import org.springframework.http.CacheControl;
 import org.springframework.test.context.ContextConfiguration;
 import org.springframework.test.web.reactive.server.WebTestClient;
 import org.springframework.web.reactive.function.server.RouterFunction;
 import org.springframework.web.reactive.function.server.RouterFunctions;
 import org.springframework.web.reactive.function.server.ServerResponse;
 
+import java.time.Duration;
+
 import static org.springframework.web.reactive.function.server.RequestPredicates.GET;
 
 @WebFluxTest(excludeAutoConfiguration = ReactiveSecurityAutoConfiguration.class)
@@ -27,7 +30,9 @@ class SecurityHeadersConfigTest {
         @Bean
         public RouterFunction<ServerResponse> testRoute() {
             return RouterFunctions.route(GET(ApiConstants.ApiPathMatchers.TEST_MATCHER),
-                    request -> ServerResponse.ok().build());
+                            request -> ServerResponse.ok().build())
+                    .andRoute(GET(ApiConstants.ApiPaths.JWKS_PATH),
+                            request -> ServerResponse.ok().cacheControl(CacheControl.maxAge(Duration.ofMinutes(15))).build());
         }
     }
 
@@ -45,4 +50,15 @@ class SecurityHeadersConfigTest {
                 .expectHeader().valueEquals("Pragma", "no-cache")
                 .expectHeader().valueEquals("Referrer-Policy", "strict-origin-when-cross-origin");
     }
-}
\ No newline at end of file
+
+    @Test
+    void filter_shouldLeaveCacheHeadersToTheJwksHandler() {
+        webTestClient.get()
+                .uri(ApiConstants.ApiPaths.JWKS_PATH)
+                .exchange()
+                .expectStatus().isOk()
+                .expectHeader().valueEquals("X-Content-Type-Options", "nosniff")
+                .expectHeader().valueEquals("Cache-Control", "max-age=900")
+                .expectHeader().doesNotExist("Pragma");
+    }
+}
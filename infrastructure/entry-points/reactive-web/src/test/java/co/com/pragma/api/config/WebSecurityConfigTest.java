@@ -39,8 +39,8 @@ class WebSecurityConfigTest {
 
     @ParameterizedTest
     @ValueSource(strings = {
-            "/v3/api-docs",
-            "/swagger-ui.html"
+            "/auth/api-docs",
+            "/auth/swagger-ui.html"
     })
     void publicEndpoints_shouldBeAccessibleWithoutAuth(String publicPath) {
         webTestClient.get()
@@ -116,4 +116,16 @@ class WebSecurityConfigTest {
                 .exchange()
                 .expectStatus().isUnauthorized();
     }
-}
\ No newline at end of file
+
+    @Test
+    void protectedEndpoint_shouldReturnUnauthorized_whenTokenIsMalformed() {
+        String malformedToken = "malformed-jwt";
+        when(jwtProvider.getClaims(malformedToken)).thenThrow(new IllegalArgumentException("Malformed"));
+
+        webTestClient.post()
+                .uri(ApiConstants.ApiPaths.USERS_PATH)
+                .header(HttpHeaders.AUTHORIZATION, "Bearer " + malformedToken)
+                .exchange()
+                .expectStatus().isUnauthorized();
+    }
+}
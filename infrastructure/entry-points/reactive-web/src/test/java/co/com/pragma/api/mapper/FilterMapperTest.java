@@ -0,0 +1,60 @@
+package co.com.pragma.api.mapper;
+
+import co.com.pragma.model.exceptions.InvalidMatchModeException;
+import co.com.pragma.model.user.filters.MatchMode;
+import co.com.pragma.model.user.filters.UserFilter;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.util.LinkedMultiValueMap;
+import org.springframework.util.MultiValueMap;
+
+import java.math.BigDecimal;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class FilterMapperTest {
+
+    @Test
+    @DisplayName("toFilter should map every filter and match mode param")
+    void toFilter_shouldMapParams() {
+        MultiValueMap<String, String> params = new LinkedMultiValueMap<>();
+        params.add("idNumber", "123");
+        params.add("email", "john");
+        params.add("name", "John Doe");
+        params.add("minBaseSalary", "1000");
+        params.add("idNumberMatch", "exact");
+        params.add("emailMatch", "CONTAINS");
+        params.add("nameMatch", "Prefix");
+
+        UserFilter filter = FilterMapper.toFilter(params);
+
+        assertThat(filter.getIdNumber()).isEqualTo("123");
+        assertThat(filter.getEmail()).isEqualTo("john");
+        assertThat(filter.getName()).isEqualTo("John Doe");
+        assertThat(filter.getSalaryGreaterThan()).isEqualByComparingTo(new BigDecimal("1000"));
+        assertThat(filter.getIdNumberMatch()).isEqualTo(MatchMode.EXACT);
+        assertThat(filter.getEmailMatch()).isEqualTo(MatchMode.CONTAINS);
+        assertThat(filter.getNameMatch()).isEqualTo(MatchMode.PREFIX);
+    }
+
+    @Test
+    @DisplayName("toFilter should reject unknown match modes instead of falling back to the defaults")
+    void toFilter_whenMatchModeIsUnknown_shouldThrow() {
+        MultiValueMap<String, String> params = new LinkedMultiValueMap<>();
+        params.add("email", "john");
+        params.add("emailMatch", "EXCAT");
+
+        assertThatThrownBy(() -> FilterMapper.toFilter(params))
+                .isInstanceOf(InvalidMatchModeException.class);
+    }
+
+    @Test
+    @DisplayName("toFilter should leave absent match modes unset so the defaults apply")
+    void toFilter_whenMatchModeIsAbsent_shouldLeaveItUnset() {
+        MultiValueMap<String, String> params = new LinkedMultiValueMap<>();
+        params.add("email", "john");
+
+        assertThat(FilterMapper.toFilter(params).getEmailMatch()).isNull();
+    }
+}
@@ -0,0 +1,79 @@
+package co.com.pragma.api.mapper;
+
+import co.com.pragma.model.exceptions.InvalidCursorException;
+import co.com.pragma.model.exceptions.InvalidPageSizeException;
+import co.com.pragma.model.pagination.KeysetPageRequest;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+import org.springframework.util.LinkedMultiValueMap;
+import org.springframework.util.MultiValueMap;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class PageMapperTest {
+
+    @Test
+    @DisplayName("toPageRequest should resume after the id wrapped in the cursor")
+    void toPageRequest_shouldDecodeCursorSizeAndTotal() {
+        MultiValueMap<String, String> params = new LinkedMultiValueMap<>();
+        params.add("cursor", PageMapper.encodeCursor(42));
+        params.add("size", "50");
+        params.add("includeTotal", "true");
+
+        KeysetPageRequest pageRequest = PageMapper.toPageRequest(params);
+
+        assertThat(pageRequest.afterId()).isEqualTo(42);
+        assertThat(pageRequest.size()).isEqualTo(50);
+        assertThat(pageRequest.includeTotal()).isTrue();
+    }
+
+    @Test
+    @DisplayName("toPageRequest should default to the first page when no param is given")
+    void toPageRequest_whenParamsAreMissing_shouldRequestFirstPage() {
+        KeysetPageRequest pageRequest = PageMapper.toPageRequest(new LinkedMultiValueMap<>());
+
+        assertThat(pageRequest).isEqualTo(KeysetPageRequest.first());
+    }
+
+    @Test
+    @DisplayName("toPageRequest should reject a size that is not a number")
+    void toPageRequest_whenSizeIsNotANumber_shouldFail() {
+        MultiValueMap<String, String> params = new LinkedMultiValueMap<>();
+        params.add("size", "many");
+
+        assertThatThrownBy(() -> PageMapper.toPageRequest(params)).isInstanceOf(InvalidPageSizeException.class);
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {"0", "-5"})
+    @DisplayName("toPageRequest should reject a size lower than one")
+    void toPageRequest_whenSizeIsNotPositive_shouldFail(String size) {
+        MultiValueMap<String, String> params = new LinkedMultiValueMap<>();
+        params.add("size", size);
+
+        assertThatThrownBy(() -> PageMapper.toPageRequest(params)).isInstanceOf(InvalidPageSizeException.class);
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {"not base64!", "aWQ6YWJj", "MTA"})
+    @DisplayName("decodeCursor should reject cursors it did not issue")
+    void decodeCursor_whenCursorIsTampered_shouldFail(String cursor) {
+        assertThatThrownBy(() -> PageMapper.decodeCursor(cursor)).isInstanceOf(InvalidCursorException.class);
+    }
+
+    @Test
+    @DisplayName("encodeCursor should not expose the raw id")
+    void encodeCursor_shouldBeOpaque() {
+        String cursor = PageMapper.encodeCursor(7);
+
+        assertThat(cursor).isNotEqualTo("7");
+        assertThat(new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8)).isEqualTo("id:7");
+        assertThat(PageMapper.decodeCursor(cursor)).isEqualTo(7);
+    }
+}
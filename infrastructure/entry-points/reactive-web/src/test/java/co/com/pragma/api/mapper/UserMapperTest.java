@@ -2,10 +2,15 @@ package co.com.pragma.api.mapper;
 
 import co.com.pragma.api.dto.FindUsersRequestDTO;
 import co.com.pragma.api.dto.RoleDTO;
+import co.com.pragma.api.dto.UserImportResultDTO;
 import co.com.pragma.api.dto.UserRequestDTO;
 import co.com.pragma.api.dto.UserResponseDTO;
+import co.com.pragma.model.constants.ErrorMessage;
+import co.com.pragma.model.exceptions.EmailTakenException;
 import co.com.pragma.model.role.Role;
 import co.com.pragma.model.user.User;
+import co.com.pragma.model.user.UserImportResult;
+import co.com.pragma.model.user.filters.MatchMode;
 import co.com.pragma.model.user.filters.UserFilter;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
@@ -152,6 +157,8 @@ class UserMapperTest {
                 .salaryLowerThan(new BigDecimal("50000"))
                 .salaryGreaterThan(new BigDecimal("20000"))
                 .name("John")
+                .emailMatch(MatchMode.EXACT)
+                .nameMatch(MatchMode.PREFIX)
                 .build();
         UserFilter userFilter = userMapper.toUserFilter(request);
         assertNotNull(userFilter);
@@ -160,6 +167,9 @@ class UserMapperTest {
         assertThat(userFilter.getSalaryGreaterThan()).isEqualTo(request.getSalaryGreaterThan());
         assertThat(userFilter.getSalaryLowerThan()).isEqualTo(request.getSalaryLowerThan());
         assertThat(userFilter.getName()).isEqualTo(request.getName());
+        assertThat(userFilter.getIdNumberMatch()).isNull();
+        assertThat(userFilter.getEmailMatch()).isEqualTo(MatchMode.EXACT);
+        assertThat(userFilter.getNameMatch()).isEqualTo(MatchMode.PREFIX);
     }
 
     @Test
@@ -167,4 +177,20 @@ class UserMapperTest {
         UserFilter userFilter = userMapper.toUserFilter(null);
         assertThat(userFilter).isNull();
     }
-}
\ No newline at end of file
+
+    @Test
+    void toImportResultDto_shouldMapTheSavedUserOrTheError() {
+        User saved = User.builder().userId(7).email("john.doe@example.com").password("hash").build();
+
+        UserImportResultDTO imported = userMapper.toImportResultDto(UserImportResult.imported(0, saved));
+        UserImportResultDTO rejected = userMapper.toImportResultDto(UserImportResult.rejected(1, new EmailTakenException()));
+
+        assertEquals(0L, imported.getIndex());
+        assertEquals(7, imported.getUser().getUserId());
+        assertNull(imported.getErrorCode());
+        assertEquals(1L, rejected.getIndex());
+        assertNull(rejected.getUser());
+        assertEquals(ErrorMessage.EMAIL_TAKEN_CODE, rejected.getErrorCode());
+        assertEquals(ErrorMessage.EMAIL_TAKEN, rejected.getErrorMessage());
+    }
+}